@@ -0,0 +1,248 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.benchmarks.cdi;
+
+import com.kumuluz.ee.configuration.cdi.ConfigBundle;
+import com.kumuluz.ee.configuration.cdi.ConfigValue;
+import com.kumuluz.ee.configuration.cdi.interceptors.ConfigBundleInterceptor;
+import com.kumuluz.ee.configuration.utils.ConfigurationImpl;
+import com.kumuluz.ee.configuration.utils.ConfigurationUtil;
+import org.openjdk.jmh.annotations.*;
+
+import javax.interceptor.InvocationContext;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the initialisation of a <tt>@ConfigBundle</tt> bean by the {@link ConfigBundleInterceptor}, which replays
+ * the cached binding plan of the bean class (<tt>plan</tt>), with the reflective binding used before the plans were
+ * introduced (<tt>reflective</tt>, see {@link ReflectiveConfigBundleBinder}). The bean has scalar values, a list and
+ * a nested object. The interceptor is invoked directly with a minimal {@link InvocationContext}, the CDI container is
+ * not started, so the numbers exclude the bean creation and interception overhead of Weld.
+ *
+ * @since 3.10.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConfigBundleBenchmark {
+
+    @Param({"plan", "reflective"})
+    public String binding;
+
+    private Path configurationFile;
+
+    private ConfigBundleInterceptor interceptor;
+    private ReflectiveConfigBundleBinder reflectiveBinder;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        String yaml = "rest-config:\n" +
+                "  url: http://localhost:8080/v1\n" +
+                "  timeout: 1500\n" +
+                "  enabled: true\n" +
+                "  hosts:\n" +
+                "    - host-a\n" +
+                "    - host-b\n" +
+                "    - host-c\n" +
+                "  pool:\n" +
+                "    max-size: 20\n" +
+                "    max-idle-time: 60000\n";
+
+        configurationFile = Files.createTempFile("kumuluzee-benchmark", ".yml");
+        Files.write(configurationFile, yaml.getBytes(StandardCharsets.UTF_8));
+
+        // the configuration util is initialised once per JVM, as in the EeApplication
+        System.setProperty("com.kumuluz.ee.configuration.file", configurationFile.toString());
+
+        try {
+            ConfigurationUtil.initialize(new ConfigurationImpl());
+
+            interceptor = new ConfigBundleInterceptor();
+            reflectiveBinder = new ReflectiveConfigBundleBinder();
+        } finally {
+            System.clearProperty("com.kumuluz.ee.configuration.file");
+        }
+
+        RestConfig config = bind();
+
+        if (!"http://localhost:8080/v1".equals(config.getUrl()) || config.getPool() == null) {
+            throw new IllegalStateException("The benchmark configuration was not loaded from " + configurationFile);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(configurationFile);
+    }
+
+    @Benchmark
+    public RestConfig bind() throws Exception {
+
+        RestConfig config = new RestConfig();
+
+        if ("plan".equals(binding)) {
+            interceptor.loadConfiguration(new TargetInvocationContext(config));
+        } else {
+            reflectiveBinder.bind(config);
+        }
+
+        return config;
+    }
+
+    @ConfigBundle("rest-config")
+    public static class RestConfig {
+
+        private String url;
+        private Integer timeout;
+        private Boolean enabled;
+        private String[] hosts;
+
+        @ConfigValue("pool")
+        private PoolConfig pool;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public Integer getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Integer timeout) {
+            this.timeout = timeout;
+        }
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String[] getHosts() {
+            return hosts;
+        }
+
+        public void setHosts(String[] hosts) {
+            this.hosts = hosts;
+        }
+
+        public PoolConfig getPool() {
+            return pool;
+        }
+
+        public void setPool(PoolConfig pool) {
+            this.pool = pool;
+        }
+    }
+
+    public static class PoolConfig {
+
+        private Integer maxSize;
+        private Long maxIdleTime;
+
+        public Integer getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(Integer maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Long getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Long maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+    }
+
+    /**
+     * Invocation context of a <tt>@PostConstruct</tt> callback of the given target, without further interceptors.
+     */
+    private static class TargetInvocationContext implements InvocationContext {
+
+        private final Object target;
+        private final Map<String, Object> contextData = new HashMap<>();
+
+        TargetInvocationContext(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object getTarget() {
+            return target;
+        }
+
+        @Override
+        public Object getTimer() {
+            return null;
+        }
+
+        @Override
+        public Method getMethod() {
+            return null;
+        }
+
+        @Override
+        public Constructor<?> getConstructor() {
+            return null;
+        }
+
+        @Override
+        public Object[] getParameters() {
+            throw new IllegalStateException("Lifecycle callbacks have no parameters");
+        }
+
+        @Override
+        public void setParameters(Object[] params) {
+            throw new IllegalStateException("Lifecycle callbacks have no parameters");
+        }
+
+        @Override
+        public Map<String, Object> getContextData() {
+            return contextData;
+        }
+
+        @Override
+        public Object proceed() {
+            return null;
+        }
+    }
+}
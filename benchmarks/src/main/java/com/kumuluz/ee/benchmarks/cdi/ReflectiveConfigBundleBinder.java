@@ -0,0 +1,197 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.benchmarks.cdi;
+
+import com.kumuluz.ee.common.utils.StringUtils;
+import com.kumuluz.ee.configuration.cdi.ConfigBundle;
+import com.kumuluz.ee.configuration.cdi.ConfigValue;
+import com.kumuluz.ee.configuration.utils.ConfigurationUtil;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Baseline of the {@link ConfigBundleBenchmark}: the reflective binding of the <tt>ConfigBundleInterceptor</tt> before
+ * binding plans were introduced, which inspects the class and builds the keys for every bean instance. Watches are
+ * not supported, the benchmarked bundles do not use them.
+ *
+ * @since 3.10.0
+ */
+class ReflectiveConfigBundleBinder {
+
+    private static final Class[] PRIMITIVES = {String.class, Boolean.class, Float.class, Double.class, Integer.class,
+            Long.class, boolean.class, float.class, double.class, int.class, long.class};
+
+    private final ConfigurationUtil configurationUtil = ConfigurationUtil.getInstance();
+
+    void bind(Object target) throws Exception {
+
+        Class targetClass = target.getClass();
+
+        processSetters(target, targetClass, getKeyPrefix(targetClass), new HashMap<>());
+    }
+
+    private boolean processSetters(Object target, Class targetClass, String keyPrefix,
+                                   Map<Class, Class> processedClassRelations) throws Exception {
+
+        boolean isConfigBundleEmpty = true;
+
+        for (Method method : targetClass.getMethods()) {
+
+            if (method.getName().substring(0, 3).equals("set") && method.getParameters().length == 1) {
+
+                Class parameterType = method.getParameters()[0].getType();
+
+                if (Arrays.asList(PRIMITIVES).contains(parameterType)) {
+
+                    Optional<?> value = getValueOfPrimitive(parameterType,
+                            getKeyName(targetClass, method.getName(), keyPrefix));
+
+                    if (value.isPresent()) {
+                        isConfigBundleEmpty = false;
+                        method.invoke(target, value.get());
+                    }
+                } else if (!parameterType.isArray()) {
+
+                    processedClassRelations.put(targetClass, parameterType);
+
+                    Object nestedTarget = processNestedObject(targetClass, method, parameterType, keyPrefix,
+                            processedClassRelations, -1);
+
+                    if (nestedTarget != null) {
+                        method.invoke(target, nestedTarget);
+                    }
+                } else {
+
+                    Class componentType = parameterType.getComponentType();
+
+                    Object array = Array.newInstance(componentType, configurationUtil.getListSize(
+                            getKeyName(targetClass, method.getName(), keyPrefix)).orElse(0));
+
+                    if (Arrays.asList(PRIMITIVES).contains(componentType)) {
+                        for (int i = 0; i < Array.getLength(array); i++) {
+                            Optional<?> value = getValueOfPrimitive(componentType,
+                                    getKeyName(targetClass, method.getName(), keyPrefix) + "[" + i + "]");
+                            if (value.isPresent()) {
+                                Array.set(array, i, value.get());
+                            }
+                        }
+                    } else {
+                        for (int i = 0; i < Array.getLength(array); i++) {
+                            Object nestedTarget = processNestedObject(targetClass, method, componentType, keyPrefix,
+                                    processedClassRelations, i);
+                            if (nestedTarget != null) {
+                                Array.set(array, i, nestedTarget);
+                            }
+                        }
+                    }
+
+                    method.invoke(target, array);
+                }
+            }
+        }
+
+        return isConfigBundleEmpty;
+    }
+
+    private Optional<?> getValueOfPrimitive(Class type, String key) {
+
+        if (type.equals(String.class)) {
+            return configurationUtil.get(key);
+        } else if (type.equals(Boolean.class) || type.equals(boolean.class)) {
+            return configurationUtil.getBoolean(key);
+        } else if (type.equals(Float.class) || type.equals(float.class)) {
+            return configurationUtil.getFloat(key);
+        } else if (type.equals(Double.class) || type.equals(double.class)) {
+            return configurationUtil.getDouble(key);
+        } else if (type.equals(Integer.class) || type.equals(int.class)) {
+            return configurationUtil.getInteger(key);
+        } else if (type.equals(Long.class) || type.equals(long.class)) {
+            return configurationUtil.getLong(key);
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    private Object processNestedObject(Class targetClass, Method method, Class parameterType, String keyPrefix,
+                                       Map<Class, Class> processedClassRelations, int arrayIndex) throws Exception {
+
+        Object nestedTarget = parameterType.getConstructor().newInstance();
+        Class nestedTargetClass = nestedTarget.getClass();
+
+        if (processedClassRelations.containsKey(nestedTargetClass) &&
+                processedClassRelations.get(nestedTargetClass).equals(targetClass)) {
+            return nestedTarget;
+        }
+
+        String key = getKeyName(targetClass, method.getName(), keyPrefix);
+
+        if (arrayIndex >= 0) {
+            key += "[" + arrayIndex + "]";
+        }
+
+        return processSetters(nestedTarget, nestedTargetClass, key, processedClassRelations) ? null : nestedTarget;
+    }
+
+    private String getKeyName(Class targetClass, String setter, String keyPrefix) throws Exception {
+
+        StringBuilder key = new StringBuilder();
+        key.append(keyPrefix);
+        if (!key.toString().isEmpty()) {
+            key.append(".");
+        }
+
+        Field field = targetClass.getDeclaredField(setterToField(setter));
+        ConfigValue fieldAnnotation = field.getAnnotation(ConfigValue.class);
+
+        if (fieldAnnotation != null && !fieldAnnotation.value().isEmpty()) {
+            key.append(StringUtils.camelCaseToHyphenCase(fieldAnnotation.value()));
+        } else {
+            key.append(StringUtils.camelCaseToHyphenCase(setter.substring(3)));
+        }
+
+        return key.toString();
+    }
+
+    private String getKeyPrefix(Class targetClass) {
+
+        String prefix = ((ConfigBundle) targetClass.getAnnotation(ConfigBundle.class)).value();
+
+        if (prefix.isEmpty()) {
+            prefix = StringUtils.camelCaseToHyphenCase(targetClass.getSimpleName());
+        }
+
+        if (".".equals(prefix)) {
+            prefix = "";
+        }
+
+        return prefix;
+    }
+
+    private String setterToField(String setter) {
+        return Character.toLowerCase(setter.charAt(3)) + setter.substring(4);
+    }
+}
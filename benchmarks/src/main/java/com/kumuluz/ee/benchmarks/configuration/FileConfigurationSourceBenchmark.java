@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.benchmarks.configuration;
+
+import com.kumuluz.ee.configuration.sources.FileConfigurationSource;
+import com.kumuluz.ee.configuration.utils.ConfigurationDispatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the lookups of the {@link FileConfigurationSource} walking the parsed YAML tree (<tt>tree</tt>) with the
+ * lookups answered by the flat key index (<tt>index</tt>, <tt>com.kumuluz.ee.configuration.file.index=true</tt>).
+ * The configuration file has {@link #services} nested service sections, each with scalar values, a list and a map.
+ *
+ * @since 3.10.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FileConfigurationSourceBenchmark {
+
+    @Param({"tree", "index"})
+    public String lookup;
+
+    @Param({"10", "100"})
+    public int services;
+
+    private FileConfigurationSource source;
+    private Path configurationFile;
+
+    private String valueKey;
+    private String integerKey;
+    private String listElementKey;
+    private String listKey;
+    private String mapKey;
+
+    @Setup
+    public void setUp() throws IOException {
+
+        StringBuilder yaml = new StringBuilder("kumuluzee:\n  name: benchmark\n  services:\n");
+
+        for (int i = 0; i < services; i++) {
+            yaml.append("    service-").append(i).append(":\n")
+                    .append("      url: http://localhost:").append(8000 + i).append("/v1\n")
+                    .append("      timeout: ").append(1000 + i).append("\n")
+                    .append("      enabled: true\n")
+                    .append("      hosts:\n")
+                    .append("        - host-a-").append(i).append("\n")
+                    .append("        - host-b-").append(i).append("\n")
+                    .append("        - host-c-").append(i).append("\n")
+                    .append("      headers:\n")
+                    .append("        accept: application/json\n")
+                    .append("        x-service: service-").append(i).append("\n");
+        }
+
+        configurationFile = Files.createTempFile("kumuluzee-benchmark", ".yml");
+        Files.write(configurationFile, yaml.toString().getBytes(StandardCharsets.UTF_8));
+
+        System.setProperty("com.kumuluz.ee.configuration.file", configurationFile.toString());
+        System.setProperty("com.kumuluz.ee.configuration.file.index", String.valueOf("index".equals(lookup)));
+
+        try {
+            source = new FileConfigurationSource();
+            source.init(new ConfigurationDispatcher());
+            source.postInit();
+        } finally {
+            System.clearProperty("com.kumuluz.ee.configuration.file");
+            System.clearProperty("com.kumuluz.ee.configuration.file.index");
+        }
+
+        String service = "kumuluzee.services.service-" + (services - 1);
+
+        valueKey = service + ".url";
+        integerKey = service + ".timeout";
+        listElementKey = service + ".hosts[2]";
+        listKey = service + ".hosts";
+        mapKey = service + ".headers";
+
+        if (!source.get(valueKey).isPresent()) {
+            throw new IllegalStateException("The benchmark configuration was not loaded from " + configurationFile);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(configurationFile);
+    }
+
+    @Benchmark
+    public Optional<String> getValue() {
+        return source.get(valueKey);
+    }
+
+    @Benchmark
+    public Optional<String> getListElement() {
+        return source.get(listElementKey);
+    }
+
+    @Benchmark
+    public Optional<Integer> getInteger() {
+        return source.getInteger(integerKey);
+    }
+
+    @Benchmark
+    public Optional<Integer> getListSize() {
+        return source.getListSize(listKey);
+    }
+
+    @Benchmark
+    public Optional<List<String>> getMapKeys() {
+        return source.getMapKeys(mapKey);
+    }
+}
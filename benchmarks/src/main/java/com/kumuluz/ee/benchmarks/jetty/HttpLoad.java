@@ -0,0 +1,156 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.benchmarks.jetty;
+
+import org.eclipse.jetty.client.HttpClient;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clients of the load harnesses, sending requests back to back, each recording the latencies of its requests during
+ * the measurement.
+ *
+ * @since 3.10.0
+ */
+class HttpLoad {
+
+    private final HttpClient httpClient;
+    private final String uri;
+    private final List<Thread> clients = new ArrayList<>();
+    private final List<long[]> clientLatencies = new ArrayList<>();
+    private final int[] clientSamples;
+    private final CountDownLatch stopped;
+    private final AtomicLong errors = new AtomicLong();
+
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    HttpLoad(HttpClient httpClient, String uri, int concurrency) {
+
+        this.httpClient = httpClient;
+        this.uri = uri;
+        this.clientSamples = new int[concurrency];
+        this.stopped = new CountDownLatch(concurrency);
+
+        for (int i = 0; i < concurrency; i++) {
+
+            int client = i;
+
+            clientLatencies.add(new long[1024]);
+            clients.add(new Thread(() -> runClient(client), "load-client-" + i));
+        }
+    }
+
+    /**
+     * @param latencies sorted latencies in nanoseconds
+     * @param percentile percentile between 0 and 1
+     * @return latency of the percentile in milliseconds
+     */
+    static double percentile(long[] latencies, double percentile) {
+
+        if (latencies.length == 0) {
+            return 0;
+        }
+
+        int index = (int) Math.ceil(percentile * latencies.length) - 1;
+
+        return latencies[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    void start() {
+        clients.forEach(Thread::start);
+    }
+
+    void startMeasurement() {
+        measuring = true;
+    }
+
+    /**
+     * Stops the clients and waits until they complete their requests.
+     *
+     * @return latencies of the requests completed during the measurement, in nanoseconds
+     */
+    long[] stop() throws InterruptedException {
+
+        measuring = false;
+        running = false;
+        stopped.await();
+
+        int samples = Arrays.stream(clientSamples).sum();
+        long[] latencies = new long[samples];
+        int offset = 0;
+
+        for (int i = 0; i < clientSamples.length; i++) {
+            System.arraycopy(clientLatencies.get(i), 0, latencies, offset, clientSamples[i]);
+            offset += clientSamples[i];
+        }
+
+        return latencies;
+    }
+
+    long getErrors() {
+        return errors.get();
+    }
+
+    private void runClient(int client) {
+
+        try {
+            while (running) {
+
+                long start = System.nanoTime();
+
+                try {
+                    if (httpClient.GET(uri).getStatus() != 200) {
+                        errors.incrementAndGet();
+                        continue;
+                    }
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                    continue;
+                }
+
+                long latency = System.nanoTime() - start;
+
+                if (measuring) {
+                    record(client, latency);
+                }
+            }
+        } finally {
+            stopped.countDown();
+        }
+    }
+
+    private void record(int client, long latency) {
+
+        long[] latencies = clientLatencies.get(client);
+
+        if (clientSamples[client] == latencies.length) {
+            latencies = Arrays.copyOf(latencies, latencies.length * 2);
+            clientLatencies.set(client, latencies);
+        }
+
+        latencies[clientSamples[client]++] = latency;
+    }
+}
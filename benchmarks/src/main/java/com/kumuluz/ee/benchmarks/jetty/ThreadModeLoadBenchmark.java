@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.benchmarks.jetty;
+
+import com.kumuluz.ee.common.config.ServerConfig;
+import com.kumuluz.ee.common.config.ServerConnectorConfig;
+import com.kumuluz.ee.jetty.JettyFactory;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.kumuluz.ee.benchmarks.jetty.HttpLoad.percentile;
+
+/**
+ * Load harness comparing the platform and virtual thread modes of the Jetty server. Every request blocks for a fixed
+ * time, like a JDBC call, and a fixed number of clients send requests back to back. The harness reports the
+ * throughput and the latency percentiles of every thread mode.
+ * <p>
+ * Run with <tt>java -cp benchmarks/target/benchmarks.jar com.kumuluz.ee.benchmarks.jetty.ThreadModeLoadBenchmark
+ * [platform] [virtual]</tt> on JDK 21 or later. The load is configured with the system properties <tt>concurrency</tt>
+ * (default 1000), <tt>blocking</tt> (milliseconds per request, default 20), <tt>max-threads</tt> (default 100),
+ * <tt>warmup</tt> and <tt>duration</tt> (seconds, default 10 and 30).
+ *
+ * @since 3.10.0
+ */
+public class ThreadModeLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+
+        int concurrency = Integer.getInteger("concurrency", 1000);
+        long blockingMillis = Long.getLong("blocking", 20L);
+        int maxThreads = Integer.getInteger("max-threads", 100);
+        int warmupSeconds = Integer.getInteger("warmup", 10);
+        int durationSeconds = Integer.getInteger("duration", 30);
+
+        List<String> threadModes = (args.length > 0) ? Arrays.asList(args) :
+                Arrays.asList(ServerConfig.THREAD_MODE_PLATFORM, ServerConfig.THREAD_MODE_VIRTUAL);
+
+        System.out.printf("concurrency=%d blocking=%dms max-threads=%d warmup=%ds duration=%ds%n", concurrency,
+                blockingMillis, maxThreads, warmupSeconds, durationSeconds);
+
+        for (String threadMode : threadModes) {
+            run(threadMode, concurrency, blockingMillis, maxThreads, warmupSeconds, durationSeconds);
+        }
+    }
+
+    private static void run(String threadMode, int concurrency, long blockingMillis, int maxThreads,
+                            int warmupSeconds, int durationSeconds) throws Exception {
+
+        ServerConfig serverConfig = new ServerConfig.Builder()
+                .threadMode(threadMode)
+                .maxThreads(maxThreads)
+                .http(new ServerConnectorConfig.Builder().port(0))
+                .build();
+
+        Server server = new JettyFactory(serverConfig).create();
+
+        ServletContextHandler context = new ServletContextHandler();
+        context.addServlet(new ServletHolder(new BlockingServlet(blockingMillis)), "/*");
+        server.setHandler(context);
+        server.start();
+
+        String uri = "http://localhost:" + ((ServerConnector) server.getConnectors()[0]).getLocalPort() + "/";
+
+        HttpClient httpClient = new HttpClient();
+        httpClient.setMaxConnectionsPerDestination(concurrency);
+        httpClient.setMaxRequestsQueuedPerDestination(concurrency);
+        httpClient.start();
+
+        try {
+            HttpLoad load = new HttpLoad(httpClient, uri, concurrency);
+
+            load.start();
+
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+            load.startMeasurement();
+            TimeUnit.SECONDS.sleep(durationSeconds);
+            long[] latencies = load.stop();
+
+            Arrays.sort(latencies);
+
+            System.out.printf("%-8s throughput=%.0f req/s p50=%.1fms p99=%.1fms p99.9=%.1fms max=%.1fms errors=%d%n",
+                    threadMode, latencies.length / (double) durationSeconds, percentile(latencies, 0.5),
+                    percentile(latencies, 0.99), percentile(latencies, 0.999), percentile(latencies, 1.0),
+                    load.getErrors());
+        } finally {
+            httpClient.stop();
+            server.stop();
+        }
+    }
+
+    private static class BlockingServlet extends HttpServlet {
+
+        private final long blockingMillis;
+
+        BlockingServlet(long blockingMillis) {
+            this.blockingMillis = blockingMillis;
+        }
+
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+
+            try {
+                Thread.sleep(blockingMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            resp.setContentType("text/plain");
+            resp.getWriter().write("ok");
+        }
+    }
+}
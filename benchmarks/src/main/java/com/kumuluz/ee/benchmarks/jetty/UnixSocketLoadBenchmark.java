@@ -0,0 +1,179 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.benchmarks.jetty;
+
+import com.kumuluz.ee.common.config.ServerConfig;
+import com.kumuluz.ee.common.config.ServerConnectorConfig;
+import com.kumuluz.ee.jetty.JettyFactory;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.unixsocket.client.HttpClientTransportOverUnixSocket;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.kumuluz.ee.benchmarks.jetty.HttpLoad.percentile;
+
+/**
+ * Load harness comparing the TCP loopback connector with the unix domain socket connector of the Jetty server
+ * (<tt>kumuluzee.server.unix-socket</tt>), as used by a sidecar proxy on the same host. Requests return a fixed
+ * response without blocking, so the latency is dominated by the transport, and a fixed number of clients send requests
+ * back to back. The harness reports the throughput, the latency percentiles and the CPU time per request of every
+ * transport. The clients run in the same process as the server, so the CPU time includes both sides.
+ * <p>
+ * Run with <tt>java -cp benchmarks/target/benchmarks.jar com.kumuluz.ee.benchmarks.jetty.UnixSocketLoadBenchmark
+ * [tcp] [unix]</tt> on Linux or macOS. The load is configured with the system properties <tt>concurrency</tt>
+ * (default 16), <tt>response-size</tt> (bytes, default 512), <tt>warmup</tt> and <tt>duration</tt> (seconds, default
+ * 10 and 30).
+ *
+ * @since 3.10.0
+ */
+public class UnixSocketLoadBenchmark {
+
+    private static final String TRANSPORT_TCP = "tcp";
+    private static final String TRANSPORT_UNIX = "unix";
+
+    public static void main(String[] args) throws Exception {
+
+        int concurrency = Integer.getInteger("concurrency", 16);
+        int responseSize = Integer.getInteger("response-size", 512);
+        int warmupSeconds = Integer.getInteger("warmup", 10);
+        int durationSeconds = Integer.getInteger("duration", 30);
+
+        List<String> transports = (args.length > 0) ? Arrays.asList(args) :
+                Arrays.asList(TRANSPORT_TCP, TRANSPORT_UNIX);
+
+        System.out.printf("concurrency=%d response-size=%dB warmup=%ds duration=%ds%n", concurrency, responseSize,
+                warmupSeconds, durationSeconds);
+
+        for (String transport : transports) {
+            run(transport, concurrency, responseSize, warmupSeconds, durationSeconds);
+        }
+    }
+
+    private static void run(String transport, int concurrency, int responseSize, int warmupSeconds,
+                            int durationSeconds) throws Exception {
+
+        Path socketDirectory = Files.createTempDirectory("kumuluzee-benchmark");
+        Path socketPath = socketDirectory.resolve("server.sock");
+
+        ServerConfig.Builder serverConfig = new ServerConfig.Builder();
+
+        if (TRANSPORT_TCP.equals(transport)) {
+            serverConfig.http(new ServerConnectorConfig.Builder().port(0).address("127.0.0.1"));
+        } else if (TRANSPORT_UNIX.equals(transport)) {
+            serverConfig.http(new ServerConnectorConfig.Builder().enabled(false))
+                    .unixSocket(new ServerConnectorConfig.Builder().enabled(true).path(socketPath.toString()));
+        } else {
+            throw new IllegalArgumentException("Unknown transport: " + transport);
+        }
+
+        Server server = new JettyFactory(serverConfig.build()).create();
+
+        ServletContextHandler context = new ServletContextHandler();
+        context.addServlet(new ServletHolder(new FixedResponseServlet(responseSize)), "/*");
+        server.setHandler(context);
+        server.start();
+
+        HttpClient httpClient;
+        String uri;
+
+        if (TRANSPORT_TCP.equals(transport)) {
+            httpClient = new HttpClient();
+            uri = "http://127.0.0.1:" + ((ServerConnector) server.getConnectors()[0]).getLocalPort() + "/";
+        } else {
+            httpClient = new HttpClient(new HttpClientTransportOverUnixSocket(socketPath.toString()), null);
+            uri = "http://localhost/";
+        }
+
+        httpClient.setMaxConnectionsPerDestination(concurrency);
+        httpClient.setMaxRequestsQueuedPerDestination(concurrency);
+        httpClient.start();
+
+        try {
+            HttpLoad load = new HttpLoad(httpClient, uri, concurrency);
+
+            load.start();
+
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+            load.startMeasurement();
+            long cpuStart = getProcessCpuTime();
+            TimeUnit.SECONDS.sleep(durationSeconds);
+            long cpuTime = getProcessCpuTime() - cpuStart;
+            long[] latencies = load.stop();
+
+            Arrays.sort(latencies);
+
+            System.out.printf("%-4s throughput=%.0f req/s p50=%.3fms p99=%.3fms p99.9=%.3fms max=%.3fms " +
+                            "cpu=%.1fus/req errors=%d%n",
+                    transport, latencies.length / (double) durationSeconds, percentile(latencies, 0.5),
+                    percentile(latencies, 0.99), percentile(latencies, 0.999), percentile(latencies, 1.0),
+                    latencies.length == 0 ? 0 : cpuTime / 1000.0 / latencies.length, load.getErrors());
+        } finally {
+            httpClient.stop();
+            server.stop();
+            Files.deleteIfExists(socketPath);
+            Files.deleteIfExists(socketDirectory);
+        }
+    }
+
+    /**
+     * @return CPU time used by the process in nanoseconds, or -1 if the JVM does not report it
+     */
+    private static long getProcessCpuTime() {
+
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                    .getProcessCpuTime();
+        }
+
+        return -1;
+    }
+
+    private static class FixedResponseServlet extends HttpServlet {
+
+        private final byte[] response;
+
+        FixedResponseServlet(int responseSize) {
+            this.response = new byte[responseSize];
+            Arrays.fill(response, (byte) 'x');
+        }
+
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+
+            resp.setContentType("text/plain");
+            resp.setContentLength(response.length);
+            resp.getOutputStream().write(response);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.benchmarks.logs;
+
+import com.kumuluz.ee.logs.impl.JavaUtilFormatter;
+import com.kumuluz.ee.logs.impl.JavaUtilJsonFormatter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Compares the formatting of log records by the {@link JavaUtilFormatter} (<tt>text</tt>), which formats the
+ * timestamp once per second and reuses a per-thread buffer, with the previous implementation (<tt>baseline</tt>, see
+ * {@link BaselineFormatter}) and with the JSON-lines {@link JavaUtilJsonFormatter} (<tt>json</tt>). Successive
+ * records are one millisecond apart, so most of them fall in the second of the previous record, as under load.
+ *
+ * @since 3.10.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LogFormatterBenchmark {
+
+    @Param({"baseline", "text", "json"})
+    public String formatter;
+
+    @Param({"false", "true"})
+    public boolean parameters;
+
+    private Formatter logFormatter;
+    private LogRecord record;
+    private long millis;
+
+    @Setup
+    public void setUp() {
+
+        switch (formatter) {
+            case "baseline":
+                logFormatter = new BaselineFormatter();
+                break;
+            case "text":
+                logFormatter = new JavaUtilFormatter();
+                break;
+            case "json":
+                logFormatter = new JavaUtilJsonFormatter();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown formatter: " + formatter);
+        }
+
+        if (parameters) {
+            record = new LogRecord(Level.INFO, "Request {0} completed with status {1} in {2} ms");
+            record.setParameters(new Object[]{"GET /v1/customers", 200, 12});
+        } else {
+            record = new LogRecord(Level.INFO, "Request GET /v1/customers completed with status 200 in 12 ms");
+        }
+
+        record.setLoggerName("com.kumuluz.ee.samples.CustomerResource");
+        record.setSourceClassName("com.kumuluz.ee.samples.CustomerResource");
+        record.setSourceMethodName("getCustomers");
+
+        millis = System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public String format() {
+
+        record.setMillis(++millis);
+
+        return logFormatter.format(record);
+    }
+
+    /**
+     * The {@link JavaUtilFormatter} before the timestamp and buffer caching, which converts the timestamp and
+     * concatenates the line for every record.
+     */
+    static class BaselineFormatter extends Formatter {
+
+        private static final DateTimeFormatter timestampFormat =
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+        @Override
+        public String format(LogRecord record) {
+
+            ZonedDateTime zonedDateTime = Instant.ofEpochMilli(record.getMillis()).atZone(ZoneId.systemDefault());
+
+            String source = record.getSourceClassName() != null ? record.getSourceClassName() :
+                    record.getLoggerName();
+            String message = formatMessage(record);
+            String throwable = "";
+
+            if (record.getThrown() != null) {
+
+                StringWriter sw = new StringWriter();
+                PrintWriter pw = new PrintWriter(sw);
+                pw.println();
+                record.getThrown().printStackTrace(pw);
+                pw.close();
+                throwable = sw.toString();
+            }
+
+            return zonedDateTime.format(timestampFormat) + " " +
+                    record.getLevel().getName() + " -- " +
+                    source + " -- " +
+                    message + throwable + "\n";
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.common.config;
+
+import java.util.List;
+
+/**
+ * Configuration of the admission control, which limits the number of requests handled concurrently and queues or
+ * rejects the excess requests by their priority.
+ *
+ * @since 3.10.0
+ */
+public class AdmissionConfig {
+
+    public static class Builder {
+
+        private Boolean enabled = false;
+        private Integer maxConcurrentRequests;
+        private Integer maxQueueSize = 100;
+        private Long queueTimeout = 1000L;
+        private Integer retryAfter = 1;
+        private String priorityHeader;
+        private List<String> priorityHeaderTrustedProxies;
+        private List<String> highPriorityPaths;
+        private List<String> lowPriorityPaths;
+        private List<String> highPriorityMethods;
+        private List<String> lowPriorityMethods;
+
+        public Builder enabled(Boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder maxConcurrentRequests(Integer maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        public Builder maxQueueSize(Integer maxQueueSize) {
+            this.maxQueueSize = maxQueueSize;
+            return this;
+        }
+
+        public Builder queueTimeout(Long queueTimeout) {
+            this.queueTimeout = queueTimeout;
+            return this;
+        }
+
+        public Builder retryAfter(Integer retryAfter) {
+            this.retryAfter = retryAfter;
+            return this;
+        }
+
+        public Builder priorityHeader(String priorityHeader) {
+            this.priorityHeader = priorityHeader;
+            return this;
+        }
+
+        public Builder priorityHeaderTrustedProxies(List<String> priorityHeaderTrustedProxies) {
+            this.priorityHeaderTrustedProxies = priorityHeaderTrustedProxies;
+            return this;
+        }
+
+        public Builder highPriorityPaths(List<String> highPriorityPaths) {
+            this.highPriorityPaths = highPriorityPaths;
+            return this;
+        }
+
+        public Builder lowPriorityPaths(List<String> lowPriorityPaths) {
+            this.lowPriorityPaths = lowPriorityPaths;
+            return this;
+        }
+
+        public Builder highPriorityMethods(List<String> highPriorityMethods) {
+            this.highPriorityMethods = highPriorityMethods;
+            return this;
+        }
+
+        public Builder lowPriorityMethods(List<String> lowPriorityMethods) {
+            this.lowPriorityMethods = lowPriorityMethods;
+            return this;
+        }
+
+        public AdmissionConfig build() {
+
+            AdmissionConfig admissionConfig = new AdmissionConfig();
+            admissionConfig.enabled = enabled;
+            admissionConfig.maxConcurrentRequests = maxConcurrentRequests;
+            admissionConfig.maxQueueSize = maxQueueSize;
+            admissionConfig.queueTimeout = queueTimeout;
+            admissionConfig.retryAfter = retryAfter;
+            admissionConfig.priorityHeader = priorityHeader;
+            admissionConfig.priorityHeaderTrustedProxies = priorityHeaderTrustedProxies;
+            admissionConfig.highPriorityPaths = highPriorityPaths;
+            admissionConfig.lowPriorityPaths = lowPriorityPaths;
+            admissionConfig.highPriorityMethods = highPriorityMethods;
+            admissionConfig.lowPriorityMethods = lowPriorityMethods;
+
+            return admissionConfig;
+        }
+    }
+
+    private Boolean enabled;
+    private Integer maxConcurrentRequests;
+    private Integer maxQueueSize;
+    private Long queueTimeout;
+    private Integer retryAfter;
+    private String priorityHeader;
+    private List<String> priorityHeaderTrustedProxies;
+    private List<String> highPriorityPaths;
+    private List<String> lowPriorityPaths;
+    private List<String> highPriorityMethods;
+    private List<String> lowPriorityMethods;
+
+    private AdmissionConfig() {
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return maximum number of requests handled concurrently or null, if it defaults to the maximum number of server
+     * threads, or is unlimited when requests are handled by virtual threads
+     */
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * @return maximum number of requests waiting for admission
+     */
+    public Integer getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * @return maximum time in milliseconds a request waits for admission
+     */
+    public Long getQueueTimeout() {
+        return queueTimeout;
+    }
+
+    /**
+     * @return value of the <tt>Retry-After</tt> header of rejected requests in seconds
+     */
+    public Integer getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * The priority header is set by clients, so any client can claim the high priority and take the place of queued
+     * requests. It should only be configured if a trusted proxy sets or strips the header, or together with
+     * {@link #getPriorityHeaderTrustedProxies()}.
+     *
+     * @return name of the request header with the priority (<tt>high</tt>, <tt>normal</tt> or <tt>low</tt>) or null
+     */
+    public String getPriorityHeader() {
+        return priorityHeader;
+    }
+
+    /**
+     * @return remote addresses from which the priority header is accepted or null, if it is accepted from all clients
+     */
+    public List<String> getPriorityHeaderTrustedProxies() {
+        return priorityHeaderTrustedProxies;
+    }
+
+    public List<String> getHighPriorityPaths() {
+        return highPriorityPaths;
+    }
+
+    public List<String> getLowPriorityPaths() {
+        return lowPriorityPaths;
+    }
+
+    public List<String> getHighPriorityMethods() {
+        return highPriorityMethods;
+    }
+
+    public List<String> getLowPriorityMethods() {
+        return lowPriorityMethods;
+    }
+}
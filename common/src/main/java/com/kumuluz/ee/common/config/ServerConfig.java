@@ -26,6 +26,9 @@ package com.kumuluz.ee.common.config;
  */
 public class ServerConfig {
 
+    public static final String THREAD_MODE_PLATFORM = "platform";
+    public static final String THREAD_MODE_VIRTUAL = "virtual";
+
     public static class Builder {
 
         private String baseUrl;
@@ -34,14 +37,17 @@ public class ServerConfig {
         private Boolean etags = false;
         private Integer minThreads = 5;
         private Integer maxThreads = 100;
+        private String threadMode = THREAD_MODE_PLATFORM;
         private Boolean forceHttps = false;
         private Boolean showServerInfo = true;
         private Boolean forwardStartupException;
 
         private ServerConnectorConfig.Builder http = new ServerConnectorConfig.Builder();
         private ServerConnectorConfig.Builder https;
+        private ServerConnectorConfig.Builder unixSocket;
 
         private GzipConfig.Builder gzip;
+        private AdmissionConfig.Builder admission;
 
         public Builder baseUrl(String baseUrl) {
             this.baseUrl = baseUrl;
@@ -73,6 +79,11 @@ public class ServerConfig {
             return this;
         }
 
+        public Builder threadMode(String threadMode) {
+            this.threadMode = threadMode;
+            return this;
+        }
+
         public Builder forceHttps(Boolean forceHttps) {
             this.forceHttps = forceHttps;
             return this;
@@ -88,11 +99,21 @@ public class ServerConfig {
             return this;
         }
 
+        public Builder unixSocket(ServerConnectorConfig.Builder unixSocket) {
+            this.unixSocket = unixSocket;
+            return this;
+        }
+
         public Builder gzip(GzipConfig.Builder gzip) {
             this.gzip = gzip;
             return this;
         }
 
+        public Builder admission(AdmissionConfig.Builder admission) {
+            this.admission = admission;
+            return this;
+        }
+
         public Builder showServerInfo(Boolean showServerInfo) {
             this.showServerInfo = showServerInfo;
             return this;
@@ -112,14 +133,17 @@ public class ServerConfig {
             serverConfig.etags = etags;
             serverConfig.minThreads = minThreads;
             serverConfig.maxThreads = maxThreads;
+            serverConfig.threadMode = threadMode;
             serverConfig.forceHttps = forceHttps;
             serverConfig.showServerInfo = showServerInfo;
             serverConfig.forwardStartupException = forwardStartupException;
 
             serverConfig.http = http.build();
             if (https != null) serverConfig.https = https.build();
+            if (unixSocket != null) serverConfig.unixSocket = unixSocket.build();
 
             if (gzip != null) serverConfig.gzip = gzip.build();
+            if (admission != null) serverConfig.admission = admission.build();
 
             return serverConfig;
         }
@@ -131,14 +155,17 @@ public class ServerConfig {
     private Boolean etags;
     private Integer minThreads;
     private Integer maxThreads;
+    private String threadMode;
     private Boolean forceHttps;
     private Boolean showServerInfo;
     private Boolean forwardStartupException;
 
     private ServerConnectorConfig http;
     private ServerConnectorConfig https;
+    private ServerConnectorConfig unixSocket;
 
     private GzipConfig gzip;
+    private AdmissionConfig admission;
 
     private ServerConfig() {
     }
@@ -167,6 +194,14 @@ public class ServerConfig {
         return maxThreads;
     }
 
+    /**
+     * @return {@link #THREAD_MODE_PLATFORM} or {@link #THREAD_MODE_VIRTUAL}
+     * @since 3.10.0
+     */
+    public String getThreadMode() {
+        return threadMode;
+    }
+
     public Boolean getForceHttps() {
         return forceHttps;
     }
@@ -187,7 +222,23 @@ public class ServerConfig {
         return https;
     }
 
+    /**
+     * @return configuration of the unix domain socket connector or null
+     * @since 3.10.0
+     */
+    public ServerConnectorConfig getUnixSocket() {
+        return unixSocket;
+    }
+
     public GzipConfig getGzip() {
         return gzip;
     }
+
+    /**
+     * @return configuration of the admission control or null
+     * @since 3.10.0
+     */
+    public AdmissionConfig getAdmission() {
+        return admission;
+    }
 }
@@ -36,12 +36,20 @@ public class ServerConnectorConfig {
 
         private Integer port;
         private String address;
+        private String path;
         private Boolean enabled;
         private Boolean http2 = false;
         private Boolean proxyForwarding = false;
         private Integer requestHeaderSize = 8 * 1024;
         private Integer responseHeaderSize = 8 * 1024;
         private Integer idleTimeout = 30 * 1000;
+        private Integer acceptors;
+        private Integer selectors;
+        private Integer acceptQueueSize;
+        private Boolean reusePort = false;
+        private Boolean tcpNoDelay = true;
+        private Integer soLingerTime;
+        private Integer connectors = 1;
 
         private String keystorePath;
         private String keystorePassword;
@@ -60,6 +68,11 @@ public class ServerConnectorConfig {
             return this;
         }
 
+        public Builder path(String path) {
+            this.path = path;
+            return this;
+        }
+
         public Builder enabled(Boolean enabled) {
             this.enabled = enabled;
             return this;
@@ -90,6 +103,41 @@ public class ServerConnectorConfig {
             return this;
         }
 
+        public Builder acceptors(Integer acceptors) {
+            this.acceptors = acceptors;
+            return this;
+        }
+
+        public Builder selectors(Integer selectors) {
+            this.selectors = selectors;
+            return this;
+        }
+
+        public Builder acceptQueueSize(Integer acceptQueueSize) {
+            this.acceptQueueSize = acceptQueueSize;
+            return this;
+        }
+
+        public Builder reusePort(Boolean reusePort) {
+            this.reusePort = reusePort;
+            return this;
+        }
+
+        public Builder tcpNoDelay(Boolean tcpNoDelay) {
+            this.tcpNoDelay = tcpNoDelay;
+            return this;
+        }
+
+        public Builder soLingerTime(Integer soLingerTime) {
+            this.soLingerTime = soLingerTime;
+            return this;
+        }
+
+        public Builder connectors(Integer connectors) {
+            this.connectors = connectors;
+            return this;
+        }
+
         public Builder keystorePath(String keystorePath) {
             this.keystorePath = keystorePath;
             return this;
@@ -125,12 +173,20 @@ public class ServerConnectorConfig {
             ServerConnectorConfig serverConnectorConfig = new ServerConnectorConfig();
             serverConnectorConfig.port = port;
             serverConnectorConfig.address = address;
+            serverConnectorConfig.path = path;
             serverConnectorConfig.enabled = enabled;
             serverConnectorConfig.http2 = http2;
             serverConnectorConfig.proxyForwarding = proxyForwarding;
             serverConnectorConfig.requestHeaderSize = requestHeaderSize;
             serverConnectorConfig.responseHeaderSize = responseHeaderSize;
             serverConnectorConfig.idleTimeout = idleTimeout;
+            serverConnectorConfig.acceptors = acceptors;
+            serverConnectorConfig.selectors = selectors;
+            serverConnectorConfig.acceptQueueSize = acceptQueueSize;
+            serverConnectorConfig.reusePort = reusePort;
+            serverConnectorConfig.tcpNoDelay = tcpNoDelay;
+            serverConnectorConfig.soLingerTime = soLingerTime;
+            serverConnectorConfig.connectors = connectors;
             serverConnectorConfig.keystorePath = keystorePath;
             serverConnectorConfig.keystorePassword = keystorePassword;
             serverConnectorConfig.keyAlias = keyAlias;
@@ -144,12 +200,20 @@ public class ServerConnectorConfig {
 
     private Integer port;
     private String address;
+    private String path;
     private Boolean enabled;
     private Boolean http2;
     private Boolean proxyForwarding;
     private Integer requestHeaderSize;
     private Integer responseHeaderSize;
     private Integer idleTimeout;
+    private Integer acceptors;
+    private Integer selectors;
+    private Integer acceptQueueSize;
+    private Boolean reusePort;
+    private Boolean tcpNoDelay;
+    private Integer soLingerTime;
+    private Integer connectors;
 
     private String keystorePath;
     private String keystorePassword;
@@ -169,6 +233,14 @@ public class ServerConnectorConfig {
         return address;
     }
 
+    /**
+     * @return file system path of the unix domain socket, only used by the unix socket connector
+     * @since 3.10.0
+     */
+    public String getPath() {
+        return path;
+    }
+
     public Boolean getEnabled() {
         return enabled;
     }
@@ -193,6 +265,62 @@ public class ServerConnectorConfig {
         return idleTimeout;
     }
 
+    /**
+     * @return number of acceptor threads or null, if the server default is used
+     * @since 3.10.0
+     */
+    public Integer getAcceptors() {
+        return acceptors;
+    }
+
+    /**
+     * @return number of selector threads or null, if the server default is used
+     * @since 3.10.0
+     */
+    public Integer getSelectors() {
+        return selectors;
+    }
+
+    /**
+     * @return backlog of the server socket or null, if the server default is used
+     * @since 3.10.0
+     */
+    public Integer getAcceptQueueSize() {
+        return acceptQueueSize;
+    }
+
+    /**
+     * @return whether the server socket is bound with <tt>SO_REUSEPORT</tt>
+     * @since 3.10.0
+     */
+    public Boolean getReusePort() {
+        return reusePort;
+    }
+
+    /**
+     * @return whether <tt>TCP_NODELAY</tt> is set on accepted connections
+     * @since 3.10.0
+     */
+    public Boolean getTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    /**
+     * @return <tt>SO_LINGER</tt> of accepted connections in seconds or null, if linger is disabled
+     * @since 3.10.0
+     */
+    public Integer getSoLingerTime() {
+        return soLingerTime;
+    }
+
+    /**
+     * @return number of identical connectors bound to the port, more than one requires <tt>SO_REUSEPORT</tt>
+     * @since 3.10.0
+     */
+    public Integer getConnectors() {
+        return connectors;
+    }
+
     public String getKeystorePath() {
         return keystorePath;
     }
@@ -0,0 +1,240 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.common.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Index of the servers, components and extensions on the classpath and of their dependencies, written at build time by
+ * the {@link EeIndexProcessor}. When the system property <tt>com.kumuluz.ee.loader.index</tt> is set to true and an
+ * index is present on the classpath, the loaders instantiate the indexed classes directly and the dependency metadata
+ * is read from the index, instead of iterating the {@link ServiceLoader} and reflecting on the annotations. The
+ * {@link ServiceLoader} is only used if no index is present. Since the index then replaces the
+ * <tt>META-INF/services</tt> registrations, index loading must only be enabled when all servers, components and
+ * extensions on the classpath were compiled with the processor; classes which are not indexed are not loaded and
+ * indexed classes which can not be instantiated are skipped with a warning.
+ * <p>
+ * The index is a UTF-8 text resource with one tab separated entry per line: kind, class name, dependencies and
+ * optional dependencies (see {@link EeIndexEntry}).
+ *
+ * @since 3.10.0
+ */
+public final class EeIndex {
+
+    private static final Logger log = Logger.getLogger(EeIndex.class.getName());
+
+    public static final String RESOURCE_NAME = "META-INF/kumuluzee/ee-index";
+
+    public enum Kind {
+
+        SERVER("server"),
+        COMPONENT("component"),
+        EXTENSION("extension"),
+        CONFIG_EXTENSION("config-extension"),
+        LOGS_EXTENSION("logs-extension");
+
+        private final String id;
+
+        Kind(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public static Optional<Kind> fromId(String id) {
+            return Arrays.stream(values()).filter(kind -> kind.id.equals(id)).findFirst();
+        }
+    }
+
+    private static volatile EeIndex instance;
+
+    private final boolean present;
+    private final List<EeIndexEntry> entries;
+    private final Map<String, EeIndexEntry> entriesByClassName = new HashMap<>();
+
+    private EeIndex(boolean present, List<EeIndexEntry> entries) {
+        this.present = present;
+        this.entries = Collections.unmodifiableList(entries);
+
+        entries.forEach(entry -> entriesByClassName.putIfAbsent(entry.getClassName(), entry));
+    }
+
+    /**
+     * Instantiates all indexed classes of the given kind. Classes which can not be instantiated are skipped.
+     *
+     * @param kind        kind of the indexed classes
+     * @param serviceType type the classes implement
+     * @param <T>         type the classes implement
+     * @return instances or empty, if index loading is not enabled or no index is present
+     */
+    public static <T> Optional<List<T>> loadServices(Kind kind, Class<T> serviceType) {
+
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        ClassLoader classLoader = getClassLoader();
+        List<T> services = new ArrayList<>();
+
+        for (EeIndexEntry entry : getInstance().getEntries(kind)) {
+
+            try {
+                Class<?> serviceClass = Class.forName(entry.getClassName(), true, classLoader);
+
+                services.add(serviceType.cast(serviceClass.getDeclaredConstructor().newInstance()));
+            } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+                log.warning("Skipping " + kind.getId() + " " + entry.getClassName() + " listed in the index " +
+                        RESOURCE_NAME + ", which could not be instantiated: " + e);
+            }
+        }
+
+        return Optional.of(services);
+    }
+
+    /**
+     * Returns the index entry of a loaded server, component or extension, which holds its dependency metadata.
+     *
+     * @param type class of the server, component or extension
+     * @return entry or empty, if index loading is not enabled, no index is present or the class is not indexed
+     */
+    public static Optional<EeIndexEntry> getEntry(Class<?> type) {
+
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(getInstance().entriesByClassName.get(type.getName()));
+    }
+
+    /**
+     * @return merged index of all index resources on the classpath, read once
+     */
+    public static EeIndex getInstance() {
+
+        EeIndex index = instance;
+
+        if (index == null) {
+            synchronized (EeIndex.class) {
+
+                index = instance;
+
+                if (index == null) {
+                    index = read(getClassLoader());
+                    instance = index;
+                }
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * @return true if at least one index resource is present on the classpath
+     */
+    public boolean isPresent() {
+        return present;
+    }
+
+    public List<EeIndexEntry> getEntries() {
+        return entries;
+    }
+
+    public List<EeIndexEntry> getEntries(Kind kind) {
+
+        List<EeIndexEntry> kindEntries = new ArrayList<>();
+
+        for (EeIndexEntry entry : entries) {
+            if (entry.getKind() == kind) {
+                kindEntries.add(entry);
+            }
+        }
+
+        return kindEntries;
+    }
+
+    static EeIndex read(ClassLoader classLoader) {
+
+        Map<String, EeIndexEntry> entries = new LinkedHashMap<>();
+        boolean present = false;
+
+        try {
+            Enumeration<URL> resources = classLoader.getResources(RESOURCE_NAME);
+
+            while (resources.hasMoreElements()) {
+
+                present = true;
+
+                try (Reader reader = new InputStreamReader(resources.nextElement().openStream(),
+                        StandardCharsets.UTF_8)) {
+
+                    for (EeIndexEntry entry : readEntries(reader)) {
+                        entries.putIfAbsent(entry.getClassName() + "\t" + entry.getKind().getId(), entry);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warning("Unable to read the index " + RESOURCE_NAME + ": " + e.getMessage());
+
+            return new EeIndex(false, Collections.emptyList());
+        }
+
+        return new EeIndex(present, new ArrayList<>(entries.values()));
+    }
+
+    static List<EeIndexEntry> readEntries(Reader reader) throws IOException {
+
+        List<EeIndexEntry> entries = new ArrayList<>();
+
+        BufferedReader bufferedReader = new BufferedReader(reader);
+        String line;
+
+        while ((line = bufferedReader.readLine()) != null) {
+
+            EeIndexEntry entry = EeIndexEntry.parse(line);
+
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+
+        return entries;
+    }
+
+    private static boolean isEnabled() {
+        return Boolean.getBoolean("com.kumuluz.ee.loader.index") && getInstance().present;
+    }
+
+    private static ClassLoader getClassLoader() {
+
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        return (classLoader != null) ? classLoader : ClassLoader.getSystemClassLoader();
+    }
+}
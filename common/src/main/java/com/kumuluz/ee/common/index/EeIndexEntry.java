@@ -0,0 +1,246 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.common.index;
+
+import com.kumuluz.ee.common.dependencies.EeComponentDependency;
+import com.kumuluz.ee.common.dependencies.EeComponentOptional;
+import com.kumuluz.ee.common.dependencies.EeComponentType;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * Server, component or extension listed in the {@link EeIndex}, with the {@link EeComponentDependency} and
+ * {@link EeComponentOptional} metadata of its class.
+ *
+ * @since 3.10.0
+ */
+public class EeIndexEntry {
+
+    private final EeIndex.Kind kind;
+    private final String className;
+    private final EeComponentDependency[] dependencies;
+    private final EeComponentOptional[] optionalDependencies;
+
+    public EeIndexEntry(EeIndex.Kind kind, String className, EeComponentDependency[] dependencies,
+                        EeComponentOptional[] optionalDependencies) {
+        this.kind = kind;
+        this.className = className;
+        this.dependencies = dependencies;
+        this.optionalDependencies = optionalDependencies;
+    }
+
+    public EeIndex.Kind getKind() {
+        return kind;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * @return dependencies, as declared on the class
+     */
+    public EeComponentDependency[] getDependencies() {
+        return dependencies.clone();
+    }
+
+    /**
+     * @return optional dependencies, as declared on the class
+     */
+    public EeComponentOptional[] getOptionalDependencies() {
+        return optionalDependencies.clone();
+    }
+
+    String toLine() {
+
+        StringJoiner dependencyFields = new StringJoiner(",");
+        StringJoiner optionalFields = new StringJoiner(",");
+
+        for (EeComponentDependency dependency : dependencies) {
+            dependencyFields.add(formatDependency(dependency.value(), dependency.implementations()));
+        }
+
+        for (EeComponentOptional optional : optionalDependencies) {
+            optionalFields.add(formatDependency(optional.value(), optional.implementations()));
+        }
+
+        return kind.getId() + "\t" + className + "\t" + dependencyFields + "\t" + optionalFields;
+    }
+
+    /**
+     * Parses an index line: kind, class name, dependencies and optional dependencies. Dependencies are separated by
+     * commas, each is a component type, optionally followed by a colon and the required implementations, separated by
+     * vertical bars (e.g. <tt>CDI,JPA:Hibernate|EclipseLink</tt>).
+     *
+     * @return entry or null, if the line is not a valid entry
+     */
+    static EeIndexEntry parse(String line) {
+
+        String[] fields = line.split("\t", -1);
+
+        if (fields.length < 4) {
+            return null;
+        }
+
+        EeIndex.Kind kind = EeIndex.Kind.fromId(fields[0]).orElse(null);
+
+        if (kind == null || fields[1].isEmpty()) {
+            return null;
+        }
+
+        try {
+            String[] dependencyFields = split(fields[2], ",");
+            String[] optionalFields = split(fields[3], ",");
+
+            EeComponentDependency[] dependencies = new EeComponentDependency[dependencyFields.length];
+            EeComponentOptional[] optionals = new EeComponentOptional[optionalFields.length];
+
+            for (int i = 0; i < dependencyFields.length; i++) {
+                dependencies[i] = new IndexedDependency(parseType(dependencyFields[i]),
+                        parseImplementations(dependencyFields[i]));
+            }
+
+            for (int i = 0; i < optionalFields.length; i++) {
+                optionals[i] = new IndexedOptional(parseType(optionalFields[i]),
+                        parseImplementations(optionalFields[i]));
+            }
+
+            return new EeIndexEntry(kind, fields[1], dependencies, optionals);
+        } catch (IllegalArgumentException e) {
+            // component type unknown to this version
+            return null;
+        }
+    }
+
+    private static String formatDependency(EeComponentType type, String[] implementations) {
+
+        if (implementations.length == 0) {
+            return type.name();
+        }
+
+        return type.name() + ":" + String.join("|", implementations);
+    }
+
+    private static EeComponentType parseType(String field) {
+
+        int separator = field.indexOf(':');
+
+        return EeComponentType.valueOf(separator < 0 ? field : field.substring(0, separator));
+    }
+
+    private static String[] parseImplementations(String field) {
+
+        int separator = field.indexOf(':');
+
+        return separator < 0 ? new String[0] : split(field.substring(separator + 1), "\\|");
+    }
+
+    private static String[] split(String field, String separator) {
+        return field.isEmpty() ? new String[0] : field.split(separator);
+    }
+
+    /**
+     * Instance of the {@link EeComponentDependency} annotation read from the index.
+     */
+    private static class IndexedDependency extends IndexedAnnotation implements EeComponentDependency {
+
+        IndexedDependency(EeComponentType value, String[] implementations) {
+            super(EeComponentDependency.class, value, implementations);
+        }
+    }
+
+    /**
+     * Instance of the {@link EeComponentOptional} annotation read from the index.
+     */
+    private static class IndexedOptional extends IndexedAnnotation implements EeComponentOptional {
+
+        IndexedOptional(EeComponentType value, String[] implementations) {
+            super(EeComponentOptional.class, value, implementations);
+        }
+    }
+
+    private abstract static class IndexedAnnotation implements Annotation {
+
+        private final Class<? extends Annotation> annotationType;
+        private final EeComponentType value;
+        private final String[] implementations;
+
+        IndexedAnnotation(Class<? extends Annotation> annotationType, EeComponentType value,
+                          String[] implementations) {
+            this.annotationType = annotationType;
+            this.value = value;
+            this.implementations = implementations;
+        }
+
+        public EeComponentType value() {
+            return value;
+        }
+
+        public String[] implementations() {
+            return implementations.clone();
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return annotationType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+
+            if (!annotationType.isInstance(o)) {
+                return false;
+            }
+
+            Object otherValue;
+            String[] otherImplementations;
+
+            if (o instanceof EeComponentDependency) {
+                otherValue = ((EeComponentDependency) o).value();
+                otherImplementations = ((EeComponentDependency) o).implementations();
+            } else {
+                otherValue = ((EeComponentOptional) o).value();
+                otherImplementations = ((EeComponentOptional) o).implementations();
+            }
+
+            return value == otherValue && Arrays.equals(implementations, otherImplementations);
+        }
+
+        @Override
+        public int hashCode() {
+            // as specified by Annotation#hashCode()
+            return (127 * "value".hashCode() ^ value.hashCode()) +
+                    (127 * "implementations".hashCode() ^ Arrays.hashCode(implementations));
+        }
+
+        @Override
+        public String toString() {
+            return "@" + annotationType.getName() + "(value=" + value + ", implementations=" +
+                    Arrays.toString(implementations) + ")";
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.common.index;
+
+import com.kumuluz.ee.common.ConfigExtension;
+import com.kumuluz.ee.common.LogsExtension;
+import com.kumuluz.ee.common.dependencies.EeComponentDef;
+import com.kumuluz.ee.common.dependencies.EeComponentDependency;
+import com.kumuluz.ee.common.dependencies.EeComponentOptional;
+import com.kumuluz.ee.common.dependencies.EeExtensionDef;
+import com.kumuluz.ee.common.dependencies.ServerDef;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Writes the {@link EeIndex} of the servers, components and extensions compiled in a module. Entries of a previous
+ * (incremental) compilation are kept, unless the class is compiled again, was deleted or is no longer annotated.
+ * <p>
+ * The processor is registered for discovery, so it runs in every compilation with this module on the classpath, but
+ * only writes an index if the compilation contains servers, components or extensions. Modules which configure their
+ * annotation processors explicitly must list it to be indexed.
+ *
+ * @since 3.10.0
+ */
+public class EeIndexProcessor extends AbstractProcessor {
+
+    private final Map<String, EeIndexEntry> entries = new LinkedHashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latest();
+    }
+
+    /**
+     * Supports all annotation types without claiming them, so that the processor also runs in compilations in which
+     * no class is annotated anymore and stale entries of a previous compilation are removed.
+     */
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        if (roundEnv.processingOver()) {
+            writeIndex();
+
+            return false;
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(ServerDef.class)) {
+            addEntry(element, EeIndex.Kind.SERVER);
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(EeComponentDef.class)) {
+            addEntry(element, EeIndex.Kind.COMPONENT);
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(EeExtensionDef.class)) {
+
+            EeIndex.Kind kind = EeIndex.Kind.EXTENSION;
+
+            if (isAssignable(element, ConfigExtension.class)) {
+                kind = EeIndex.Kind.CONFIG_EXTENSION;
+            } else if (isAssignable(element, LogsExtension.class)) {
+                kind = EeIndex.Kind.LOGS_EXTENSION;
+            }
+
+            addEntry(element, kind);
+        }
+
+        return false;
+    }
+
+    private void addEntry(Element element, EeIndex.Kind kind) {
+
+        if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+            return;
+        }
+
+        String className = processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString();
+
+        EeComponentDependency[] dependencies = element.getAnnotationsByType(EeComponentDependency.class);
+        EeComponentOptional[] optionals = element.getAnnotationsByType(EeComponentOptional.class);
+
+        entries.put(className, new EeIndexEntry(kind, className, dependencies, optionals));
+    }
+
+    private boolean isAssignable(Element element, Class<?> type) {
+
+        TypeElement typeElement = processingEnv.getElementUtils().getTypeElement(type.getName());
+
+        if (typeElement == null) {
+            return false;
+        }
+
+        TypeMirror elementType = processingEnv.getTypeUtils().erasure(element.asType());
+
+        return processingEnv.getTypeUtils().isAssignable(elementType, typeElement.asType());
+    }
+
+    /**
+     * Checks if the class of an entry from a previous compilation still exists and carries its annotation.
+     */
+    private boolean isStillIndexed(EeIndexEntry entry) {
+
+        TypeElement typeElement = processingEnv.getElementUtils()
+                .getTypeElement(entry.getClassName().replace('$', '.'));
+
+        if (typeElement == null) {
+            return false;
+        }
+
+        switch (entry.getKind()) {
+            case SERVER:
+                return typeElement.getAnnotation(ServerDef.class) != null;
+            case COMPONENT:
+                return typeElement.getAnnotation(EeComponentDef.class) != null;
+            default:
+                return typeElement.getAnnotation(EeExtensionDef.class) != null;
+        }
+    }
+
+    private void writeIndex() {
+
+        Map<String, EeIndexEntry> index = new LinkedHashMap<>();
+        boolean previousIndexFound = false;
+
+        try {
+            FileObject previous = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", EeIndex.RESOURCE_NAME);
+
+            try (Reader reader = previous.openReader(true)) {
+
+                previousIndexFound = true;
+
+                for (EeIndexEntry entry : EeIndex.readEntries(reader)) {
+                    if (isStillIndexed(entry)) {
+                        index.put(entry.getClassName(), entry);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException ignored) {
+            // no index from a previous compilation
+        }
+
+        index.putAll(entries);
+
+        if (index.isEmpty() && !previousIndexFound) {
+            return;
+        }
+
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", EeIndex.RESOURCE_NAME);
+
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (EeIndexEntry entry : index.values()) {
+                    writer.write(entry.toLine());
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Unable to write the KumuluzEE index " + EeIndex.RESOURCE_NAME + ": " + e.getMessage());
+        }
+    }
+}
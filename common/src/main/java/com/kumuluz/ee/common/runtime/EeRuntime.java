@@ -72,4 +72,12 @@ public class EeRuntime {
     public List<EeRuntimeExtension> getEeExtensions() {
         return internalRuntime.getEeExtensions();
     }
+
+    /**
+     * @return timeline of the startup phases
+     * @since 3.10.0
+     */
+    public EeStartupTimeline getStartupTimeline() {
+        return internalRuntime.getStartupTimeline();
+    }
 }
@@ -35,6 +35,7 @@ public class EeRuntimeInternal {
     private String version = ResourceBundle.getBundle("META-INF/kumuluzee/versions").getString("version");
     private List<EeRuntimeComponent> eeComponents = Collections.emptyList();
     private List<EeRuntimeExtension> eeExtensions = Collections.emptyList();
+    private EeStartupTimeline startupTimeline = new EeStartupTimeline();
 
     public String getInstanceId() {
         return instanceId;
@@ -67,4 +68,12 @@ public class EeRuntimeInternal {
     public void setEeExtensions(List<EeRuntimeExtension> eeExtensions) {
         this.eeExtensions = Collections.unmodifiableList(eeExtensions);
     }
+
+    public EeStartupTimeline getStartupTimeline() {
+        return startupTimeline;
+    }
+
+    public void setStartupTimeline(EeStartupTimeline startupTimeline) {
+        this.startupTimeline = startupTimeline;
+    }
 }
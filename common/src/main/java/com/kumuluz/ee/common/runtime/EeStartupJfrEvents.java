@@ -0,0 +1,109 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.common.runtime;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Emits startup phases as Java Flight Recorder events. The JFR API is accessed reflectively, since it is not available
+ * on all Java 8 runtimes.
+ *
+ * @since 3.10.0
+ */
+final class EeStartupJfrEvents {
+
+    private final Object eventFactory;
+    private final Method newEvent;
+    private final Method begin;
+    private final Method set;
+    private final Method commit;
+
+    private EeStartupJfrEvents(Object eventFactory, Method newEvent, Method begin, Method set, Method commit) {
+        this.eventFactory = eventFactory;
+        this.newEvent = newEvent;
+        this.begin = begin;
+        this.set = set;
+        this.commit = commit;
+    }
+
+    /**
+     * @return event emitter or null, if the runtime does not support Java Flight Recorder
+     */
+    @SuppressWarnings("unchecked")
+    static EeStartupJfrEvents create() {
+
+        try {
+            Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+            Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+            Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+            Class<?> eventClass = Class.forName("jdk.jfr.Event");
+
+            Constructor<?> annotationElement = annotationElementClass.getConstructor(Class.class, Object.class);
+            Constructor<?> valueDescriptor = valueDescriptorClass.getConstructor(Class.class, String.class);
+
+            List<Object> annotations = Arrays.asList(
+                    annotationElement.newInstance(Class.forName("jdk.jfr.Name"), "kumuluzee.StartupPhase"),
+                    annotationElement.newInstance(Class.forName("jdk.jfr.Label"), "KumuluzEE Startup Phase"),
+                    annotationElement.newInstance(Class.forName("jdk.jfr.Category"), new String[]{"KumuluzEE"}));
+
+            List<Object> fields = Arrays.asList(
+                    valueDescriptor.newInstance(String.class, "phase"),
+                    valueDescriptor.newInstance(long.class, "cpuTime"));
+
+            Object eventFactory = eventFactoryClass.getMethod("create", List.class, List.class)
+                    .invoke(null, Collections.unmodifiableList(annotations), Collections.unmodifiableList(fields));
+
+            return new EeStartupJfrEvents(eventFactory,
+                    eventFactoryClass.getMethod("newEvent"),
+                    eventClass.getMethod("begin"),
+                    eventClass.getMethod("set", int.class, Object.class),
+                    eventClass.getMethod("commit"));
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return null;
+        }
+    }
+
+    Object begin() {
+
+        try {
+            Object event = newEvent.invoke(eventFactory);
+            begin.invoke(event);
+
+            return event;
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    void commit(Object event, String phase, long cpuTimeNanos) {
+
+        try {
+            set.invoke(event, 0, phase);
+            set.invoke(event, 1, cpuTimeNanos);
+            commit.invoke(event);
+        } catch (ReflectiveOperationException ignored) {
+        }
+    }
+}
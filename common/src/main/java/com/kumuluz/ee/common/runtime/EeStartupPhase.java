@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.common.runtime;
+
+/**
+ * Completed phase of the KumuluzEE startup, see {@link EeStartupTimeline}.
+ *
+ * @since 3.10.0
+ */
+public class EeStartupPhase {
+
+    private final String name;
+    private final String threadName;
+    private final long startOffsetNanos;
+    private final long wallTimeNanos;
+    private final long cpuTimeNanos;
+
+    EeStartupPhase(String name, String threadName, long startOffsetNanos, long wallTimeNanos, long cpuTimeNanos) {
+        this.name = name;
+        this.threadName = threadName;
+        this.startOffsetNanos = startOffsetNanos;
+        this.wallTimeNanos = wallTimeNanos;
+        this.cpuTimeNanos = cpuTimeNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return name of the thread which executed the phase
+     */
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * @return start of the phase, relative to the start of the timeline
+     */
+    public long getStartOffsetNanos() {
+        return startOffsetNanos;
+    }
+
+    public long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+    /**
+     * @return CPU time consumed by the executing thread during the phase or -1, if the JVM does not measure thread CPU
+     * time
+     */
+    public long getCpuTimeNanos() {
+        return cpuTimeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + wallTimeNanos / 1000000 + " ms";
+    }
+}
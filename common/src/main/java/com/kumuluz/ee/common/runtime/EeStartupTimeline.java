@@ -0,0 +1,165 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.common.runtime;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Wall clock and CPU time of the phases of the KumuluzEE startup, available through
+ * {@link EeRuntime#getStartupTimeline()}. Phases may be recorded from multiple threads and may be nested. If the
+ * system property <tt>com.kumuluz.ee.startup.jfr</tt> is set to true and the JVM supports Java Flight Recorder, every
+ * phase is also emitted as a <tt>kumuluzee.StartupPhase</tt> event.
+ *
+ * @since 3.10.0
+ */
+public class EeStartupTimeline {
+
+    private final long startTime = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos = -1;
+
+    private final List<EeStartupPhase> phases = new ArrayList<>();
+    private final EeStartupJfrEvents jfrEvents;
+
+    private ThreadMXBean threadMXBean;
+
+    public EeStartupTimeline() {
+        jfrEvents = Boolean.getBoolean("com.kumuluz.ee.startup.jfr") ? EeStartupJfrEvents.create() : null;
+    }
+
+    /**
+     * Starts a phase on the current thread. The phase is recorded once {@link Phase#end()} is called on the same
+     * thread.
+     *
+     * @param name name of the phase
+     * @return started phase
+     */
+    public Phase begin(String name) {
+        return new Phase(name);
+    }
+
+    /**
+     * Marks the end of the startup.
+     */
+    public void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * @return start of the startup, in milliseconds since the epoch
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return duration of the startup, or the time elapsed since its start, if it did not finish yet
+     */
+    public long getTotalWallTimeNanos() {
+        return ((endNanos < 0) ? System.nanoTime() : endNanos) - startNanos;
+    }
+
+    /**
+     * @return completed phases, ordered by their start
+     */
+    public List<EeStartupPhase> getPhases() {
+
+        List<EeStartupPhase> sortedPhases;
+
+        synchronized (phases) {
+            sortedPhases = new ArrayList<>(phases);
+        }
+
+        sortedPhases.sort(Comparator.comparingLong(EeStartupPhase::getStartOffsetNanos));
+
+        return Collections.unmodifiableList(sortedPhases);
+    }
+
+    private long currentThreadCpuTime() {
+
+        ThreadMXBean bean;
+
+        synchronized (phases) {
+
+            if (threadMXBean == null) {
+                threadMXBean = ManagementFactory.getThreadMXBean();
+            }
+
+            bean = threadMXBean;
+        }
+
+        return (bean.isCurrentThreadCpuTimeSupported() && bean.isThreadCpuTimeEnabled()) ?
+                bean.getCurrentThreadCpuTime() : -1;
+    }
+
+    /**
+     * Phase of the startup which is in progress.
+     */
+    public class Phase {
+
+        private final String name;
+        private final long start;
+        private final long cpuStart;
+        private final Object jfrEvent;
+
+        private boolean ended;
+
+        private Phase(String name) {
+            this.name = name;
+            this.jfrEvent = (jfrEvents != null) ? jfrEvents.begin() : null;
+            this.cpuStart = currentThreadCpuTime();
+            this.start = System.nanoTime();
+        }
+
+        /**
+         * Ends the phase and records it in the timeline. Subsequent calls have no effect.
+         */
+        public void end() {
+
+            long end = System.nanoTime();
+            long cpuEnd = currentThreadCpuTime();
+
+            if (ended) {
+                return;
+            }
+
+            ended = true;
+
+            long cpuTime = (cpuStart < 0 || cpuEnd < 0) ? -1 : cpuEnd - cpuStart;
+
+            EeStartupPhase phase = new EeStartupPhase(name, Thread.currentThread().getName(), start - startNanos,
+                    end - start, cpuTime);
+
+            synchronized (phases) {
+                phases.add(phase);
+            }
+
+            if (jfrEvent != null) {
+                jfrEvents.commit(jfrEvent, name, cpuTime);
+            }
+        }
+    }
+}
@@ -45,4 +45,17 @@ public interface ConfigurationDecoder {
      * @return decoded value
      */
     String decode(String key, String value);
+
+    /**
+     * Check if the decoded value of the key may be cached. If caching is enabled with the system property
+     * <tt>com.kumuluz.ee.configuration.decoder.cache</tt>, decoded values are cached in memory for a limited time, keys
+     * whose values should never be kept in memory or are decoded differently on each call should return false.
+     *
+     * @param key configuration key to be checked for caching
+     * @return returns true if the decoded value of the key may be cached
+     * @since 3.10.0
+     */
+    default boolean shouldCache(String key) {
+        return true;
+    }
 }
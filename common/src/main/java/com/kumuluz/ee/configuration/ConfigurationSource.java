@@ -21,8 +21,11 @@
 package com.kumuluz.ee.configuration;
 
 import com.kumuluz.ee.configuration.utils.ConfigurationDispatcher;
+import com.kumuluz.ee.configuration.utils.ConfigurationKeyFilter;
+import com.kumuluz.ee.configuration.utils.ConfigurationSourceUtils;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -51,6 +54,44 @@ public interface ConfigurationSource {
 
     Optional<List<String>> getMapKeys(String key);
 
+    /**
+     * Returns all values in the subtree of the given key, flattened to full configuration keys (e.g. for prefix
+     * <tt>kumuluzee.server</tt> the map contains <tt>kumuluzee.server.http.port</tt>). The default implementation
+     * traverses the subtree with {@link #getMapKeys(String)}, {@link #getListSize(String)} and {@link #get(String)},
+     * sources that hold their configuration in memory should override it.
+     *
+     * @param prefix key of the subtree, empty string for the whole configuration
+     * @return values of the subtree
+     * @since 3.10.0
+     */
+    default Map<String, String> getAll(String prefix) {
+        return ConfigurationSourceUtils.getAll(this, prefix);
+    }
+
+    /**
+     * Returns a filter of the keys present in this source, which is consulted before the source is queried. Sources
+     * whose keys change must publish a new filter on every change. The default filter accepts all keys.
+     *
+     * @return key filter
+     * @since 3.10.0
+     */
+    default ConfigurationKeyFilter getKeyFilter() {
+        return ConfigurationKeyFilter.ALL;
+    }
+
+    /**
+     * Returns an immutable copy of the current state of this source, which answers the lookups of configuration
+     * snapshots. Sources whose state never changes may return themselves. The default implementation copies the values
+     * returned by {@link #getAll(String)}, sources which can not enumerate all of their keys in the configuration key
+     * format should override it.
+     *
+     * @return immutable state of this source
+     * @since 3.10.0
+     */
+    default ConfigurationSource snapshot() {
+        return ConfigurationSourceUtils.snapshot(getAll(""), getOrdinal());
+    }
+
     void watch(String key);
 
     void set(String key, String value);
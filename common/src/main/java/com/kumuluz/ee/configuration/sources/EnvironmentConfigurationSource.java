@@ -22,8 +22,10 @@ package com.kumuluz.ee.configuration.sources;
 
 import com.kumuluz.ee.configuration.ConfigurationSource;
 import com.kumuluz.ee.configuration.utils.ConfigurationDispatcher;
+import com.kumuluz.ee.configuration.utils.ConfigurationKeyFilter;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Tilen Faganel
@@ -31,6 +33,30 @@ import java.util.*;
  */
 public class EnvironmentConfigurationSource implements ConfigurationSource {
 
+    private static final int MAX_MEMOIZED_KEYS = 4096;
+
+    // environment is immutable for the lifetime of the JVM, so it is snapshot once into a sorted map where all
+    // variables sharing a prefix form a contiguous range
+    private final NavigableMap<String, String> environment;
+    private final Map<String, List<String>> possibleEnvNames;
+    private final ConfigurationKeyFilter keyFilter;
+
+    public EnvironmentConfigurationSource() {
+        this(System.getenv());
+    }
+
+    /**
+     * @param environment environment variables, used instead of the environment of the process
+     * @since 3.10.0
+     */
+    public EnvironmentConfigurationSource(Map<String, String> environment) {
+        this.environment = new TreeMap<>(environment);
+        this.possibleEnvNames = new ConcurrentHashMap<>();
+        // all possible names of a key differ only in case and separators, list sizes and map keys are looked up by
+        // name prefixes
+        this.keyFilter = ConfigurationKeyFilter.ofNormalizedPrefixes(environment.keySet());
+    }
+
     @Override
     public void init(ConfigurationDispatcher configurationDispatcher) {
     }
@@ -41,7 +67,7 @@ public class EnvironmentConfigurationSource implements ConfigurationSource {
         String value = null;
 
         for (String possibleName : getPossibleEnvNames(key)) {
-            value = System.getenv(possibleName);
+            value = environment.get(possibleName);
 
             if (value != null) {
                 break;
@@ -134,22 +160,21 @@ public class EnvironmentConfigurationSource implements ConfigurationSource {
         for (String possibleKeyName : getPossibleEnvNames(key)) {
             Integer maxIndex = -1;
 
-            for (String envName : System.getenv().keySet()) {
+            Collection<String> envNames = getEnvNamesWithPrefix(possibleKeyName);
 
-                if (envName.startsWith(possibleKeyName)) {
+            for (String envName : envNames) {
 
-                    int openingIndex = possibleKeyName.length();
-                    int closingIndex = envName.indexOf("_", openingIndex + 1);
+                int openingIndex = possibleKeyName.length();
+                int closingIndex = envName.indexOf("_", openingIndex + 1);
 
-                    if (closingIndex < 0) {
-                        closingIndex = envName.length();
-                    }
+                if (closingIndex < 0) {
+                    closingIndex = envName.length();
+                }
 
-                    try {
-                        Integer idx = Integer.parseInt(envName.substring(openingIndex, closingIndex));
-                        maxIndex = Math.max(maxIndex, idx);
-                    } catch (NumberFormatException ignored) {
-                    }
+                try {
+                    Integer idx = Integer.parseInt(envName.substring(openingIndex, closingIndex));
+                    maxIndex = Math.max(maxIndex, idx);
+                } catch (NumberFormatException ignored) {
                 }
             }
 
@@ -158,30 +183,27 @@ public class EnvironmentConfigurationSource implements ConfigurationSource {
             }
 
             // retry for legacy key names
-            for (String envName : System.getenv().keySet()) {
+            for (String envName : envNames) {
 
-                if (envName.startsWith(possibleKeyName)) {
+                int openingIndex = possibleKeyName.length() + 1;
+                int closingIndex = envName.indexOf("]", openingIndex + 1);
 
-                    int openingIndex = possibleKeyName.length() + 1;
-                    int closingIndex = envName.indexOf("]", openingIndex + 1);
-
-                    if (closingIndex < 0) {
-                        closingIndex = envName.indexOf("_", openingIndex + 1);
-                    }
+                if (closingIndex < 0) {
+                    closingIndex = envName.indexOf("_", openingIndex + 1);
+                }
 
-                    if (closingIndex < 0) {
-                        closingIndex = envName.length() - 1;
-                    }
+                if (closingIndex < 0) {
+                    closingIndex = envName.length() - 1;
+                }
 
-                    if (openingIndex >= closingIndex) {
-                        continue;
-                    }
+                if (openingIndex >= closingIndex) {
+                    continue;
+                }
 
-                    try {
-                        Integer idx = Integer.parseInt(envName.substring(openingIndex, closingIndex));
-                        maxIndex = Math.max(maxIndex, idx);
-                    } catch (NumberFormatException ignored) {
-                    }
+                try {
+                    Integer idx = Integer.parseInt(envName.substring(openingIndex, closingIndex));
+                    maxIndex = Math.max(maxIndex, idx);
+                } catch (NumberFormatException ignored) {
                 }
             }
 
@@ -197,62 +219,63 @@ public class EnvironmentConfigurationSource implements ConfigurationSource {
     public Optional<List<String>> getMapKeys(String key) {
 
         Set<String> mapKeys = new HashSet<>();
-        Set<String> envKeys = new HashSet<>(System.getenv().keySet());
+        Set<String> processedEnvKeys = new HashSet<>();
 
         List<String> possibleKeyNames = (key.equals("")) ? Collections.singletonList("") : getPossibleEnvNames(key);
         for (String possibleKeyName : possibleKeyNames) {
             Set<String> toRemove = new HashSet<>();
-            for (String envKey : envKeys) {
+            for (String envKey : getEnvNamesWithPrefix(possibleKeyName)) {
+                if (processedEnvKeys.contains(envKey)) {
+                    continue;
+                }
                 if (!possibleKeyName.equals("") && possibleKeyName.length() + 1 > envKey.length()) {
                     continue;
                 }
-                if (envKey.startsWith(possibleKeyName)) {
-                    int separatorIdx;
-                    int startIdx;
-                    if (possibleKeyName.equals("")) {
-                        int dotIdx = envKey.indexOf('.');
-                        int underscoreIdx = envKey.indexOf('_');
-
-                        if (dotIdx > 0 && underscoreIdx > 0) {
-                            // both defined, pick earliest
-                            separatorIdx = Math.min(dotIdx, underscoreIdx);
-                        } else {
-                            // at least one is -1
-                            separatorIdx = Math.max(dotIdx, underscoreIdx);
-                        }
-                        startIdx = 0;
+                int separatorIdx;
+                int startIdx;
+                if (possibleKeyName.equals("")) {
+                    int dotIdx = envKey.indexOf('.');
+                    int underscoreIdx = envKey.indexOf('_');
+
+                    if (dotIdx > 0 && underscoreIdx > 0) {
+                        // both defined, pick earliest
+                        separatorIdx = Math.min(dotIdx, underscoreIdx);
                     } else {
-                        char separator = envKey.charAt(possibleKeyName.length());
-
-                        if (separator != '.' && separator != '_') {
-                            continue;
-                        }
-
-                        startIdx = possibleKeyName.length() + 1;
-
-                        separatorIdx = envKey.indexOf(separator, startIdx);
+                        // at least one is -1
+                        separatorIdx = Math.max(dotIdx, underscoreIdx);
                     }
+                    startIdx = 0;
+                } else {
+                    char separator = envKey.charAt(possibleKeyName.length());
 
-                    if (separatorIdx < 0) {
-                        // no separators left, use full key
-                        separatorIdx = envKey.length();
+                    if (separator != '.' && separator != '_') {
+                        continue;
                     }
 
-                    String mapKey = envKey.substring(startIdx, separatorIdx);
+                    startIdx = possibleKeyName.length() + 1;
+
+                    separatorIdx = envKey.indexOf(separator, startIdx);
+                }
+
+                if (separatorIdx < 0) {
+                    // no separators left, use full key
+                    separatorIdx = envKey.length();
+                }
 
-                    if (!mapKey.isEmpty()) {
-                        int bracketIndex = mapKey.indexOf("[");
-                        if (bracketIndex > 0) {
-                            // list bracket present, cut it off
-                            mapKey = mapKey.substring(0, bracketIndex);
-                        }
+                String mapKey = envKey.substring(startIdx, separatorIdx);
 
-                        mapKeys.add(mapKey.toLowerCase());
-                        toRemove.add(envKey);
+                if (!mapKey.isEmpty()) {
+                    int bracketIndex = mapKey.indexOf("[");
+                    if (bracketIndex > 0) {
+                        // list bracket present, cut it off
+                        mapKey = mapKey.substring(0, bracketIndex);
                     }
+
+                    mapKeys.add(mapKey.toLowerCase());
+                    toRemove.add(envKey);
                 }
             }
-            envKeys.removeAll(toRemove);
+            processedEnvKeys.addAll(toRemove);
         }
 
         if (mapKeys.size() == 0) {
@@ -262,6 +285,17 @@ public class EnvironmentConfigurationSource implements ConfigurationSource {
         }
     }
 
+    @Override
+    public ConfigurationKeyFilter getKeyFilter() {
+        return keyFilter;
+    }
+
+    @Override
+    public ConfigurationSource snapshot() {
+        // the environment is snapshot once on creation
+        return this;
+    }
+
     @Override
     public void watch(String key) {
     }
@@ -291,8 +325,40 @@ public class EnvironmentConfigurationSource implements ConfigurationSource {
         return getInteger(CONFIG_ORDINAL).orElse(300);
     }
 
+    /**
+     * Returns the names of all environment variables starting with the given prefix, answered from the sorted
+     * environment snapshot without scanning unrelated variables.
+     *
+     * @param prefix environment variable name prefix
+     * @return names of environment variables starting with the prefix
+     */
+    private Collection<String> getEnvNamesWithPrefix(String prefix) {
+
+        if (prefix.isEmpty()) {
+            return environment.keySet();
+        }
+
+        return environment.subMap(prefix, true, prefix + Character.MAX_VALUE, false).keySet();
+    }
+
     private List<String> getPossibleEnvNames(String key) {
-        List<String> possibleNames = new LinkedList<>();
+
+        List<String> names = possibleEnvNames.get(key);
+
+        if (names == null) {
+            names = buildPossibleEnvNames(key);
+
+            // keys can be generated by the application (e.g. list elements), so only a bounded number is memoized
+            if (possibleEnvNames.size() < MAX_MEMOIZED_KEYS) {
+                possibleEnvNames.putIfAbsent(key, names);
+            }
+        }
+
+        return names;
+    }
+
+    private List<String> buildPossibleEnvNames(String key) {
+        List<String> possibleNames = new ArrayList<>(5);
 
         // MP Config 1.3: raw key
         possibleNames.add(key);
@@ -305,7 +371,7 @@ public class EnvironmentConfigurationSource implements ConfigurationSource {
         // legacy 2: replaces dots with '_', to uppercase
         possibleNames.add(parseKeyNameForEnvironmentVariablesLegacy(key));
 
-        return possibleNames;
+        return Collections.unmodifiableList(possibleNames);
     }
 
     private String replaceNonAlphaNum(String s) {
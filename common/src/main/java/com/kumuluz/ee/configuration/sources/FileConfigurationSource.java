@@ -22,15 +22,19 @@ package com.kumuluz.ee.configuration.sources;
 
 import com.kumuluz.ee.configuration.ConfigurationSource;
 import com.kumuluz.ee.configuration.utils.ConfigurationDispatcher;
+import com.kumuluz.ee.configuration.utils.ConfigurationIndex;
+import com.kumuluz.ee.configuration.utils.ConfigurationKeyFilter;
 import com.kumuluz.ee.configuration.utils.ConfigurationSourceUtils;
 import com.kumuluz.ee.logs.LogDeferrer;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.*;
 import java.util.*;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -47,8 +51,13 @@ public class FileConfigurationSource implements ConfigurationSource {
     private String yamlFileName;
     private String propertiesFileName;
     private String microProfilePropertiesFileName;
-    private Map<String, Object> config;
-    private Properties properties;
+    private volatile FileContents contents = FileContents.EMPTY;
+    private boolean indexEnabled;
+
+    private boolean watchEnabled;
+    private Path configurationFile;
+    private ConfigurationDispatcher configurationDispatcher;
+    private volatile WatchService watchService;
 
     public FileConfigurationSource() {
 
@@ -65,11 +74,22 @@ public class FileConfigurationSource implements ConfigurationSource {
             this.propertiesFileName = configurationFileName;
         }
 
+        this.indexEnabled = Boolean.parseBoolean(System.getProperty("com.kumuluz.ee.configuration.file.index"));
+        this.watchEnabled = Boolean.parseBoolean(System.getProperty("com.kumuluz.ee.configuration.file.watch"));
+
         this.logDeferrer = new LogDeferrer<>();
 
         this.logDeferrer.init(() -> Logger.getLogger(FileConfigurationSource.class.getName()));
     }
 
+    /**
+     * Creates an immutable copy of a source, answering lookups from the given contents.
+     */
+    private FileConfigurationSource(FileContents contents, Logger log) {
+        this.contents = contents;
+        this.log = log;
+    }
+
     public void postInit() {
 
         logDeferrer.execute();
@@ -82,28 +102,29 @@ public class FileConfigurationSource implements ConfigurationSource {
     @SuppressWarnings("unchecked")
     public void init(ConfigurationDispatcher configurationDispatcher) {
 
+        this.configurationDispatcher = configurationDispatcher;
+
+        Map<String, Object> config = null;
+        ConfigurationIndex configIndex = null;
+        Properties properties = null;
+        ConfigurationIndex propertiesIndex = null;
+
         // read yaml file to Map<String, Object>
         InputStream file;
         Yaml yaml = new Yaml();
         try {
-            file = getClass().getClassLoader().getResourceAsStream(ymlFileName);
+            file = openClasspathFile(ymlFileName);
 
             if (file == null) {
-                file = getClass().getClassLoader().getResourceAsStream(yamlFileName);
+                file = openClasspathFile(yamlFileName);
             }
 
             if (file == null) {
-                try {
-                    file = Files.newInputStream(Paths.get(ymlFileName));
-                } catch (IOException ignored) {
-                }
+                file = openFile(ymlFileName);
             }
 
             if (file == null) {
-                try {
-                    file = Files.newInputStream(Paths.get(yamlFileName));
-                } catch (IOException ignored) {
-                }
+                file = openFile(yamlFileName);
             }
 
             if (file != null) {
@@ -114,8 +135,14 @@ public class FileConfigurationSource implements ConfigurationSource {
 
                 if (yamlParsed instanceof Map) {
                     config = (Map<String, Object>) yamlParsed;
+
+                    if (indexEnabled) {
+                        configIndex = ConfigurationIndex.fromTree(config);
+                    }
                 } else {
 
+                    configurationFile = null;
+
                     logDeferrer.defer(l -> l.info("Configuration YAML is malformed as it contains an array at the " +
                             "root level. Skipping."));
                 }
@@ -130,33 +157,46 @@ public class FileConfigurationSource implements ConfigurationSource {
 
         // parse properties file
         if (config == null) {
-            loadProperties(propertiesFileName);
+            properties = loadProperties(propertiesFileName);
             if (properties == null) {
-                loadProperties(microProfilePropertiesFileName);
+                properties = loadProperties(microProfilePropertiesFileName);
+            }
+            if (properties != null) {
+                propertiesIndex = ConfigurationIndex.fromKeys(toMap(properties));
             }
         }
 
+        contents = new FileContents(config, configIndex, properties, propertiesIndex,
+                buildKeyFilter(config, configIndex, properties));
+
         if (config != null || properties != null) {
             logDeferrer.defer(l -> l.info("Configuration successfully read."));
         } else {
             logDeferrer.defer(l -> l.info("Unable to load configuration from file. No configuration files were found."));
         }
+
+        if (watchEnabled) {
+            startFileWatcher();
+        }
     }
 
     @Override
     public Optional<String> get(String key) {
 
+        FileContents currentContents = contents;
+
         // get key value from yaml configuration
-        if (config != null) {
+        if (currentContents.config != null) {
 
-            Object value = getValue(key);
+            Object value = (currentContents.configIndex != null) ? currentContents.configIndex.getValue(key) :
+                    getValue(currentContents.config, key);
 
             return (value == null) ? Optional.empty() : Optional.of(value.toString());
 
             // get value from .properties configuration
-        } else if (properties != null) {
+        } else if (currentContents.properties != null) {
 
-            String value = properties.getProperty(key);
+            String value = currentContents.properties.getProperty(key);
             if (value != null) {
                 return Optional.of(value);
             }
@@ -245,15 +285,19 @@ public class FileConfigurationSource implements ConfigurationSource {
     @Override
     public Optional<Integer> getListSize(String key) {
 
-        if (config != null) {
+        FileContents currentContents = contents;
 
-            Object value = getValue(key);
+        if (currentContents.configIndex != null) {
+            return currentContents.configIndex.getListSize(key);
+        } else if (currentContents.config != null) {
+
+            Object value = getValue(currentContents.config, key);
 
             if (value instanceof List) {
                 return Optional.of(((List) value).size());
             }
-        } else if (properties != null) {
-            return ConfigurationSourceUtils.getListSize(key, properties.stringPropertyNames());
+        } else if (currentContents.propertiesIndex != null) {
+            return currentContents.propertiesIndex.getListSize(key);
         }
 
         return Optional.empty();
@@ -264,8 +308,12 @@ public class FileConfigurationSource implements ConfigurationSource {
     @SuppressWarnings("unchecked")
     public Optional<List<String>> getMapKeys(String key) {
 
-        if (config != null) {
-            Object o = (key.equals("")) ? config : getValue(key);
+        FileContents currentContents = contents;
+
+        if (currentContents.configIndex != null) {
+            return currentContents.configIndex.getMapKeys(key);
+        } else if (currentContents.config != null) {
+            Object o = (key.equals("")) ? currentContents.config : getValue(currentContents.config, key);
             Map<String, Object> map = null;
 
             if (o instanceof Map) {
@@ -278,13 +326,53 @@ public class FileConfigurationSource implements ConfigurationSource {
 
             return Optional.of(new ArrayList<>(map.keySet()));
 
-        } else if (properties != null) {
-            return ConfigurationSourceUtils.getMapKeys(key, properties.stringPropertyNames());
+        } else if (currentContents.propertiesIndex != null) {
+            return currentContents.propertiesIndex.getMapKeys(key);
         }
 
         return Optional.empty();
     }
 
+    @Override
+    public Map<String, String> getAll(String prefix) {
+
+        FileContents currentContents = contents;
+        ConfigurationIndex currentIndex = currentContents.configIndex;
+        Map<String, Object> currentConfig = currentContents.config;
+        ConfigurationIndex currentPropertiesIndex = currentContents.propertiesIndex;
+
+        if (currentIndex != null) {
+
+            return ConfigurationSourceUtils.getAll(prefix, currentIndex.getKeys(), key -> {
+                Object value = currentIndex.getValue(key);
+                return (value instanceof String) ? (String) value : null;
+            });
+        } else if (currentConfig != null) {
+
+            Map<String, String> values = new HashMap<>();
+            flatten(prefix, prefix.isEmpty() ? currentConfig : getValue(currentConfig, prefix), values);
+
+            return values;
+        } else if (currentPropertiesIndex != null) {
+
+            return ConfigurationSourceUtils.getAll(prefix, currentPropertiesIndex.getKeys(),
+                    key -> (String) currentPropertiesIndex.getValue(key));
+        }
+
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public ConfigurationKeyFilter getKeyFilter() {
+        return contents.keyFilter;
+    }
+
+    @Override
+    public ConfigurationSource snapshot() {
+        // the contents are replaced as a whole on reload, so a copy bound to the current contents is immutable
+        return new FileConfigurationSource(contents, log);
+    }
+
     @Override
     public void watch(String key) {
     }
@@ -332,10 +420,11 @@ public class FileConfigurationSource implements ConfigurationSource {
     /**
      * Parses configuration map, returns value for given key.
      *
-     * @param key configuration key
+     * @param config configuration map
+     * @param key    configuration key
      * @return Value for given key.
      */
-    private Object getValue(String key) {
+    private Object getValue(Map<String, Object> config, String key) {
 
         // iterate over configuration tree
         String[] splittedKeys = key.split("\\.");
@@ -404,16 +493,42 @@ public class FileConfigurationSource implements ConfigurationSource {
         return value;
     }
 
-    private void loadProperties(String fileName) {
+    /**
+     * Flattens the configuration tree node to full configuration keys.
+     *
+     * @param key    configuration key of the node
+     * @param node   configuration tree node
+     * @param values flattened values
+     */
+    private void flatten(String key, Object node, Map<String, String> values) {
+
+        if (node instanceof Map) {
+
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) node).entrySet()) {
+                flatten(key.isEmpty() ? String.valueOf(entry.getKey()) : key + "." + entry.getKey(), entry.getValue(),
+                        values);
+            }
+        } else if (node instanceof List) {
+
+            List<?> list = (List<?>) node;
+
+            for (int i = 0; i < list.size(); i++) {
+                flatten(key + "[" + i + "]", list.get(i), values);
+            }
+        } else if (node != null) {
+            values.putIfAbsent(key, node.toString());
+        }
+    }
+
+    private Properties loadProperties(String fileName) {
+
+        Properties properties = null;
 
         try {
-            InputStream inputStream = getClass().getClassLoader().getResourceAsStream(fileName);
+            InputStream inputStream = openClasspathFile(fileName);
 
             if (inputStream == null) {
-                try {
-                    inputStream = Files.newInputStream(Paths.get(fileName));
-                } catch (IOException ignored) {
-                }
+                inputStream = openFile(fileName);
             }
 
             if (inputStream != null) {
@@ -428,5 +543,279 @@ public class FileConfigurationSource implements ConfigurationSource {
         } catch (IOException e) {
             logDeferrer.defer(l -> l.info("Properties file: " + fileName + " not found."));
         }
+
+        return properties;
+    }
+
+    /**
+     * Opens a configuration file from the classpath and remembers its location, if it resides on the file system.
+     *
+     * @param fileName name of the classpath resource
+     * @return input stream or null, if the resource does not exist
+     * @throws IOException if the resource cannot be opened
+     */
+    private InputStream openClasspathFile(String fileName) throws IOException {
+
+        URL url = getClass().getClassLoader().getResource(fileName);
+
+        if (url == null) {
+            return null;
+        }
+
+        InputStream inputStream = url.openStream();
+
+        configurationFile = null;
+
+        if ("file".equals(url.getProtocol())) {
+            try {
+                configurationFile = Paths.get(url.toURI());
+            } catch (URISyntaxException | IllegalArgumentException ignored) {
+            }
+        }
+
+        return inputStream;
+    }
+
+    private InputStream openFile(String fileName) {
+
+        try {
+            Path path = Paths.get(fileName);
+            InputStream inputStream = Files.newInputStream(path);
+
+            configurationFile = path;
+
+            return inputStream;
+        } catch (IOException ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Watches the resolved configuration file and reloads it on changes. Only files on the file system can be watched,
+     * files packaged inside of a JAR are skipped. Besides changes of the file itself, the file is reloaded when the
+     * target of a symbolic link on its path changes, as when a mounted Kubernetes ConfigMap is updated by swapping the
+     * <tt>..data</tt> link. If the file is removed, the current configuration is kept until it is created again.
+     */
+    private void startFileWatcher() {
+
+        if (configurationFile == null) {
+            logDeferrer.defer(l -> l.info("Configuration file is not located on the file system and won't be " +
+                    "watched for changes."));
+            return;
+        }
+
+        Path file = configurationFile.toAbsolutePath();
+        Path directory = file.getParent();
+
+        WatchService newWatchService;
+        try {
+            newWatchService = directory.getFileSystem().newWatchService();
+            directory.register(newWatchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            logDeferrer.defer(l -> l.log(Level.WARNING, "Unable to watch configuration file " + file +
+                    " for changes.", e));
+            return;
+        }
+
+        watchService = newWatchService;
+
+        Path initialRealFile = toRealPath(file);
+
+        Thread watcher = new Thread(() -> {
+
+            Path realFile = initialRealFile;
+
+            while (!Thread.currentThread().isInterrupted()) {
+
+                try {
+                    WatchKey watchKey = newWatchService.take();
+
+                    boolean changed = watchKey.pollEvents().stream()
+                            .anyMatch(event -> event.kind() == StandardWatchEventKinds.OVERFLOW ||
+                                    file.getFileName().equals(event.context()));
+
+                    watchKey.reset();
+
+                    // editors usually write files in multiple steps, wait for the writes to settle
+                    Thread.sleep(100);
+
+                    WatchKey pendingKey;
+                    while ((pendingKey = newWatchService.poll()) != null) {
+                        changed |= pendingKey.pollEvents().stream()
+                                .anyMatch(event -> file.getFileName().equals(event.context()));
+                        pendingKey.reset();
+                    }
+
+                    Path currentRealFile = toRealPath(file);
+
+                    if (currentRealFile == null) {
+                        if (realFile != null) {
+                            logWarning("Configuration file " + file + " was removed. Keeping the current " +
+                                    "configuration.", null);
+                        }
+                    } else if (changed || !currentRealFile.equals(realFile)) {
+                        reload(file);
+                    }
+
+                    realFile = currentRealFile;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ClosedWatchServiceException e) {
+                    return;
+                }
+            }
+        }, "kumuluzee-config-file-watcher");
+
+        watcher.setDaemon(true);
+        watcher.start();
+
+        logDeferrer.defer(l -> l.info("Watching configuration file " + file + " for changes."));
+    }
+
+    /**
+     * Stops watching the configuration file for changes. The current configuration is kept.
+     *
+     * @since 3.10.0
+     */
+    public void stopFileWatcher() {
+
+        WatchService currentWatchService = watchService;
+
+        if (currentWatchService != null) {
+
+            watchService = null;
+
+            try {
+                currentWatchService.close();
+            } catch (IOException e) {
+                logWarning("Unable to stop watching the configuration file.", e);
+            }
+        }
+    }
+
+    private static Path toRealPath(Path file) {
+
+        try {
+            return file.toRealPath();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Re-parses the configuration file, atomically replaces the current configuration and notifies the dispatcher
+     * of every key whose value changed.
+     *
+     * @param file configuration file
+     */
+    @SuppressWarnings("unchecked")
+    private void reload(Path file) {
+
+        FileContents currentContents = contents;
+        Map<String, String> changes;
+
+        try (InputStream inputStream = Files.newInputStream(file)) {
+
+            if (currentContents.config != null) {
+
+                Object yamlParsed = new Yaml().load(inputStream);
+
+                if (!(yamlParsed instanceof Map)) {
+                    logWarning("Reloaded configuration YAML is malformed as it contains an array at the root level. " +
+                            "Skipping.", null);
+                    return;
+                }
+
+                Map<String, Object> newConfig = (Map<String, Object>) yamlParsed;
+                ConfigurationIndex newIndex = ConfigurationIndex.fromTree(newConfig);
+
+                ConfigurationIndex oldIndex = (currentContents.configIndex != null) ? currentContents.configIndex :
+                        ConfigurationIndex.fromTree(currentContents.config);
+                changes = ConfigurationSourceUtils.diff(oldIndex.getScalarValues(), newIndex.getScalarValues());
+
+                contents = new FileContents(newConfig, indexEnabled ? newIndex : null, null, null,
+                        ConfigurationKeyFilter.ofKeys(newIndex.getKeys()));
+            } else if (currentContents.properties != null) {
+
+                Properties newProperties = new Properties();
+                newProperties.load(inputStream);
+
+                Map<String, String> newValues = toMap(newProperties);
+
+                changes = ConfigurationSourceUtils.diff(toMap(currentContents.properties), newValues);
+
+                contents = new FileContents(null, null, newProperties, ConfigurationIndex.fromKeys(newValues),
+                        ConfigurationKeyFilter.ofKeys(newValues.keySet()));
+            } else {
+                return;
+            }
+        } catch (IOException | RuntimeException e) {
+            logWarning("Couldn't reload the configuration file " + file + ". Keeping the current configuration.", e);
+            return;
+        }
+
+        if (log != null && !changes.isEmpty()) {
+            log.info("Configuration file " + file + " reloaded, " + changes.size() + " key(s) changed.");
+        }
+
+        if (configurationDispatcher != null) {
+            changes.forEach(configurationDispatcher::notifyChange);
+        }
+    }
+
+    private static ConfigurationKeyFilter buildKeyFilter(Map<String, Object> config, ConfigurationIndex configIndex,
+                                                         Properties properties) {
+
+        if (config != null) {
+            return ConfigurationKeyFilter.ofKeys(((configIndex != null) ? configIndex :
+                    ConfigurationIndex.fromTree(config)).getKeys());
+        } else if (properties != null) {
+            return ConfigurationKeyFilter.ofKeys(properties.stringPropertyNames());
+        }
+
+        return ConfigurationKeyFilter.ofKeys(Collections.emptyList());
+    }
+
+    private static Map<String, String> toMap(Properties properties) {
+
+        Map<String, String> map = new HashMap<>();
+
+        for (String name : properties.stringPropertyNames()) {
+            map.put(name, properties.getProperty(name));
+        }
+
+        return map;
+    }
+
+    private void logWarning(String message, Throwable throwable) {
+
+        if (log != null) {
+            log.log(Level.WARNING, message, throwable);
+        }
+    }
+
+    /**
+     * Parsed configuration file with its indexes and key filter, replaced as a whole on reloads.
+     */
+    private static final class FileContents {
+
+        private static final FileContents EMPTY = new FileContents(null, null, null, null,
+                ConfigurationKeyFilter.ALL);
+
+        private final Map<String, Object> config;
+        private final ConfigurationIndex configIndex;
+        private final Properties properties;
+        private final ConfigurationIndex propertiesIndex;
+        private final ConfigurationKeyFilter keyFilter;
+
+        private FileContents(Map<String, Object> config, ConfigurationIndex configIndex, Properties properties,
+                             ConfigurationIndex propertiesIndex, ConfigurationKeyFilter keyFilter) {
+            this.config = config;
+            this.configIndex = configIndex;
+            this.properties = properties;
+            this.propertiesIndex = propertiesIndex;
+            this.keyFilter = keyFilter;
+        }
     }
 }
@@ -22,10 +22,10 @@ package com.kumuluz.ee.configuration.sources;
 
 import com.kumuluz.ee.configuration.ConfigurationSource;
 import com.kumuluz.ee.configuration.utils.ConfigurationDispatcher;
+import com.kumuluz.ee.configuration.utils.ConfigurationIndex;
 import com.kumuluz.ee.configuration.utils.ConfigurationSourceUtils;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 /**
  * @author Urban Malc
@@ -33,8 +33,13 @@ import java.util.Optional;
  */
 public class SystemPropertyConfigurationSource implements ConfigurationSource {
 
+    private volatile PropertiesIndex propertiesIndex;
+
     @Override
     public void init(ConfigurationDispatcher configurationDispatcher) {
+
+        // a change of any key may come from a system property set by the application
+        configurationDispatcher.subscribe((key, value) -> propertiesIndex = null);
     }
 
     @Override
@@ -122,13 +127,37 @@ public class SystemPropertyConfigurationSource implements ConfigurationSource {
     @Override
     public Optional<Integer> getListSize(String key) {
 
-        return ConfigurationSourceUtils.getListSize(key, System.getProperties().stringPropertyNames());
+        return getPropertiesIndex().getListSize(key);
     }
 
     @Override
     public Optional<List<String>> getMapKeys(String key) {
 
-        return ConfigurationSourceUtils.getMapKeys(key, System.getProperties().stringPropertyNames());
+        return getPropertiesIndex().getMapKeys(key);
+    }
+
+    @Override
+    public Map<String, String> getAll(String prefix) {
+
+        return ConfigurationSourceUtils.getAll(prefix, getPropertiesIndex().getKeys(), System::getProperty);
+    }
+
+    @Override
+    public ConfigurationSource snapshot() {
+
+        Properties systemProperties = System.getProperties();
+        Map<String, String> values = new HashMap<>();
+
+        for (String name : systemProperties.stringPropertyNames()) {
+
+            String value = systemProperties.getProperty(name);
+
+            if (value != null) {
+                values.put(name, value);
+            }
+        }
+
+        return ConfigurationSourceUtils.snapshot(values, getOrdinal());
     }
 
     @Override
@@ -159,4 +188,46 @@ public class SystemPropertyConfigurationSource implements ConfigurationSource {
     public Integer getOrdinal() {
         return getInteger(CONFIG_ORDINAL).orElse(400);
     }
+
+    /**
+     * Returns the index of the current system property names. System properties can not be observed, so the index is
+     * rebuilt whenever the number of the properties differs from the indexed one or a configuration change is
+     * reported to the dispatcher. A property which is replaced by another one without a reported change, keeping the
+     * number of the properties, is not reflected in list sizes, map keys and {@link #getAll(String)} until then.
+     * Values are always read directly from the system properties.
+     */
+    private ConfigurationIndex getPropertiesIndex() {
+
+        Properties systemProperties = System.getProperties();
+        int size = systemProperties.size();
+
+        PropertiesIndex currentIndex = propertiesIndex;
+
+        if (currentIndex == null || currentIndex.properties != systemProperties || currentIndex.size != size) {
+
+            Map<String, String> values = new HashMap<>();
+
+            for (String name : systemProperties.stringPropertyNames()) {
+                values.put(name, "");
+            }
+
+            currentIndex = new PropertiesIndex(systemProperties, size, ConfigurationIndex.fromKeys(values));
+            propertiesIndex = currentIndex;
+        }
+
+        return currentIndex.index;
+    }
+
+    private static final class PropertiesIndex {
+
+        private final Properties properties;
+        private final int size;
+        private final ConfigurationIndex index;
+
+        private PropertiesIndex(Properties properties, int size, ConfigurationIndex index) {
+            this.properties = properties;
+            this.size = size;
+            this.index = index;
+        }
+    }
 }
@@ -0,0 +1,136 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.configuration.utils;
+
+import com.kumuluz.ee.configuration.ConfigurationDecoder;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of values decoded by the {@link ConfigurationDecoder}, keyed by configuration key and raw value. An
+ * entry is only used while the raw value of its key is unchanged and its time to live has not expired. Keys for which
+ * {@link ConfigurationDecoder#shouldCache(String)} returns false are decoded on every lookup.
+ * <p>
+ * The cache is disabled by default and is enabled with the system property
+ * <tt>com.kumuluz.ee.configuration.decoder.cache=true</tt>.
+ *
+ * @since 3.10.0
+ */
+public class ConfigurationDecoderCache {
+
+    private final ConfigurationDecoder decoder;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxSize;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public ConfigurationDecoderCache(ConfigurationDecoder decoder, boolean enabled, long ttlMillis, int maxSize) {
+        this.decoder = decoder;
+        this.enabled = enabled && decoder != null && ttlMillis > 0 && maxSize > 0;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Decodes the value if the decoder requires it, using a cached result where possible.
+     *
+     * @param key   configuration key
+     * @param value raw value
+     * @return decoded value or the raw value, if the key is not encoded
+     */
+    public String decode(String key, String value) {
+
+        if (decoder == null || !decoder.shouldDecode(key)) {
+            return value;
+        }
+
+        if (!enabled || !decoder.shouldCache(key)) {
+            return decoder.decode(key, value);
+        }
+
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+
+        if (entry != null && entry.rawHash == value.hashCode() && entry.raw.equals(value) &&
+                now - entry.expiresAt < 0) {
+            return entry.decoded;
+        }
+
+        String decoded = decoder.decode(key, value);
+
+        if (entry == null && entries.size() >= maxSize) {
+            evict(now);
+        }
+
+        entries.put(key, new Entry(value, decoded, now + ttlNanos));
+
+        return decoded;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all decoded values, e.g. on shutdown.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Removes expired entries and, if the cache is still full, an arbitrary entry.
+     */
+    private void evict(long now) {
+
+        entries.values().removeIf(entry -> now - entry.expiresAt >= 0);
+
+        Iterator<String> keys = entries.keySet().iterator();
+
+        while (entries.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static final class Entry {
+
+        private final String raw;
+        private final int rawHash;
+        private final String decoded;
+        private final long expiresAt;
+
+        private Entry(String raw, String decoded, long expiresAt) {
+            this.raw = raw;
+            this.rawHash = raw.hashCode();
+            this.decoded = decoded;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -20,8 +20,6 @@
  */
 package com.kumuluz.ee.configuration.utils;
 
-import com.kumuluz.ee.configuration.ConfigurationDecoder;
-
 /**
  * Util methods for decoding encoded configuration keys.
  *
@@ -32,13 +30,7 @@ public class ConfigurationDecoderUtils {
 
     public static String decodeConfigValueIfEncoded(String key, String value) {
 
-        ConfigurationDecoder configurationDecoder = ConfigurationUtil.getInstance().getConfigurationDecoder();
-
-        if (configurationDecoder != null && configurationDecoder.shouldDecode(key)) {
-            return configurationDecoder.decode(key, value);
-        }
-
-        return value;
+        return ConfigurationUtil.getInstance().getDecoderCache().decode(key, value);
     }
 
 }
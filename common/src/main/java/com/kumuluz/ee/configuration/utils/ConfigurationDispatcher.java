@@ -22,31 +22,258 @@ package com.kumuluz.ee.configuration.utils;
 
 import com.kumuluz.ee.configuration.ConfigurationListener;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 
 /**
+ * Fires configuration events and notifies subscriptions.
+ * <p>
+ * Listeners can subscribe to all keys, to a single key or to a key prefix (all keys nested under the prefix). Key
+ * and prefix subscriptions are indexed, so a change only reaches the listeners interested in it. By default listeners
+ * are notified on the thread that reported the change. If an executor is set, notifications are delivered on the
+ * executor and changes of the same key, which have not been delivered yet, are coalesced into the latest value.
+ * <p>
+ * Keys whose values reference a changed key (e.g. <tt>${kumuluzee.name}</tt>) are reported as changed as well, with
+ * their newly interpolated value.
+ *
  * @author Tilen Faganel
  * @since 2.3.0
  */
-// Fire configuration events and notify subscription
 public class ConfigurationDispatcher {
 
-    private List<ConfigurationListener> subscriptions = new ArrayList<>();
+    private final List<ConfigurationListener> subscriptions = new CopyOnWriteArrayList<>();
+    private final Map<String, List<ConfigurationListener>> keySubscriptions = new ConcurrentHashMap<>();
+    private final Map<String, List<ConfigurationListener>> prefixSubscriptions = new ConcurrentHashMap<>();
+
+    // keys and prefixes each listener is subscribed to, so unsubscribing does not scan all subscriptions
+    private final Map<ConfigurationListener, Set<String>> listenerKeys = new ConcurrentHashMap<>();
+    private final Map<ConfigurationListener, Set<String>> listenerPrefixes = new ConcurrentHashMap<>();
+
+    private final Map<String, Optional<String>> pendingChanges = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Executor executor;
+
+    private ConfigurationValueCache valueCache;
+    private ConfigurationTemplateCache templateCache;
+    private Function<String, Optional<String>> resolver;
 
     public void notifyChange(String key, String value) {
 
-        for (ConfigurationListener subscription : subscriptions) {
-            subscription.onChange(key, value);
+        version.incrementAndGet();
+
+        // invalidate cached values before the listeners are notified, so they can read the new value
+        if (valueCache != null) {
+            valueCache.invalidate(key);
         }
+
+        Executor currentExecutor = executor;
+
+        if (currentExecutor == null) {
+            dispatch(key, value);
+            dispatchDependents(key);
+        } else if (pendingChanges.put(key, Optional.ofNullable(value)) == null) {
+
+            // no delivery of this key is pending yet, otherwise the pending delivery picks up the latest value
+            currentExecutor.execute(() -> {
+
+                Optional<String> pendingValue = pendingChanges.remove(key);
+
+                if (pendingValue != null) {
+                    dispatch(key, pendingValue.orElse(null));
+                    dispatchDependents(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * Records a change of the configuration, which is not reported through {@link #notifyChange(String, String)}
+     * (e.g. a new configuration source or a value set directly).
+     */
+    public void markChanged() {
+        version.incrementAndGet();
     }
 
+    /**
+     * @return configuration version, incremented on every change
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Subscribes the listener to changes of all keys.
+     *
+     * @param listener configuration listener
+     */
     public void subscribe(ConfigurationListener listener) {
         subscriptions.add(listener);
     }
 
+    /**
+     * Subscribes the listener to changes of a single key.
+     *
+     * @param key      configuration key
+     * @param listener configuration listener
+     */
+    public void subscribe(String key, ConfigurationListener listener) {
+        addSubscription(keySubscriptions, listenerKeys, key, listener);
+    }
+
+    /**
+     * Subscribes the listener to changes of the key and all keys nested under it (e.g. <tt>kumuluzee.server</tt>
+     * matches <tt>kumuluzee.server.http.port</tt> and <tt>kumuluzee.server[0]</tt>).
+     *
+     * @param prefix   configuration key prefix
+     * @param listener configuration listener
+     */
+    public void subscribePrefix(String prefix, ConfigurationListener listener) {
+        addSubscription(prefixSubscriptions, listenerPrefixes, prefix, listener);
+    }
+
     public void unsubscribe(ConfigurationListener listener) {
+
         subscriptions.remove(listener);
+        removeSubscriptions(keySubscriptions, listenerKeys, listener);
+        removeSubscriptions(prefixSubscriptions, listenerPrefixes, listener);
+    }
+
+    // lists are only changed while their entry is locked, so a listener is never added to a list which was removed
+    private static void addSubscription(Map<String, List<ConfigurationListener>> subscriptions,
+                                        Map<ConfigurationListener, Set<String>> listenerIndex, String key,
+                                        ConfigurationListener listener) {
+
+        subscriptions.compute(key, (k, listeners) -> {
+
+            List<ConfigurationListener> keyListeners = (listeners == null) ? new CopyOnWriteArrayList<>() : listeners;
+            keyListeners.add(listener);
+
+            listenerIndex.computeIfAbsent(listener, l -> ConcurrentHashMap.newKeySet()).add(key);
+
+            return keyListeners;
+        });
+    }
+
+    private static void removeSubscriptions(Map<String, List<ConfigurationListener>> subscriptions,
+                                            Map<ConfigurationListener, Set<String>> listenerIndex,
+                                            ConfigurationListener listener) {
+
+        Set<String> keys = listenerIndex.remove(listener);
+
+        if (keys == null) {
+            return;
+        }
+
+        for (String key : keys) {
+            subscriptions.computeIfPresent(key, (k, listeners) -> {
+
+                listeners.removeIf(listener::equals);
+
+                return listeners.isEmpty() ? null : listeners;
+            });
+        }
+    }
+
+    /**
+     * Sets the executor used for delivering notifications. If null, notifications are delivered synchronously.
+     *
+     * @param executor notification executor
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    void setValueCache(ConfigurationValueCache valueCache) {
+        this.valueCache = valueCache;
+    }
+
+    void setTemplateCache(ConfigurationTemplateCache templateCache) {
+        this.templateCache = templateCache;
+    }
+
+    /**
+     * @param resolver resolves the new values of keys which reference a changed key
+     */
+    void setResolver(Function<String, Optional<String>> resolver) {
+        this.resolver = resolver;
+    }
+
+    private void dispatch(String key, String value) {
+
+        for (ConfigurationListener subscription : subscriptions) {
+            notifyListener(subscription, key, value);
+        }
+
+        notifyListeners(keySubscriptions.get(key), key, value);
+
+        if (!prefixSubscriptions.isEmpty()) {
+
+            notifyListeners(prefixSubscriptions.get(key), key, value);
+
+            for (int i = 0; i < key.length(); i++) {
+
+                char c = key.charAt(i);
+
+                if (c == '.' || c == '[') {
+                    notifyListeners(prefixSubscriptions.get(key.substring(0, i)), key, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifies listeners of all keys which directly or transitively reference the changed key.
+     *
+     * @param key changed configuration key
+     */
+    private void dispatchDependents(String key) {
+
+        if (templateCache == null || resolver == null || templateCache.getDependents(key).isEmpty()) {
+            return;
+        }
+
+        Set<String> visited = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>(templateCache.getDependents(key));
+
+        while (!queue.isEmpty()) {
+
+            String dependentKey = queue.poll();
+
+            if (!visited.add(dependentKey) || dependentKey.equals(key)) {
+                continue;
+            }
+
+            dispatch(dependentKey, resolver.apply(dependentKey).orElse(null));
+
+            queue.addAll(templateCache.getDependents(dependentKey));
+        }
+    }
+
+    private void notifyListeners(List<ConfigurationListener> listeners, String key, String value) {
+
+        if (listeners != null) {
+            for (ConfigurationListener listener : listeners) {
+                notifyListener(listener, key, value);
+            }
+        }
+    }
+
+    // a failing listener must not prevent the remaining listeners from being notified
+    private void notifyListener(ConfigurationListener listener, String key, String value) {
+
+        try {
+            listener.onChange(key, value);
+        } catch (RuntimeException e) {
+            Logger.getLogger(ConfigurationDispatcher.class.getName())
+                    .log(Level.SEVERE, "Configuration listener failed while processing a change of key: " + key, e);
+        }
     }
 }
@@ -26,9 +26,9 @@ import com.kumuluz.ee.configuration.sources.EnvironmentConfigurationSource;
 import com.kumuluz.ee.configuration.sources.FileConfigurationSource;
 import com.kumuluz.ee.configuration.sources.SystemPropertyConfigurationSource;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.ServiceLoader;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
 
 /**
@@ -39,8 +39,13 @@ public class ConfigurationImpl {
 
     private Logger utilLogger;
     private ConfigurationDispatcher dispatcher;
-    private List<ConfigurationSource> configurationSources;
+    private ConfigurationValueCache valueCache;
+    private ConfigurationTemplateCache templateCache;
+    private final Object sourceChainLock = new Object();
+    private volatile ConfigurationSource[] sourceChain = new ConfigurationSource[0];
+    private final List<ConfigurationSource> sourceChainView = new SourceChainView();
     private ConfigurationDecoder configurationDecoder;
+    private ConfigurationDecoderCache decoderCache;
 
     private EnvironmentConfigurationSource environmentConfigurationSource;
     private SystemPropertyConfigurationSource systemPropertyConfigurationSource;
@@ -57,19 +62,36 @@ public class ConfigurationImpl {
         fileConfigurationSource = new FileConfigurationSource();
 
         // specify sources
-        configurationSources = new ArrayList<>();
+        List<ConfigurationSource> configurationSources = new ArrayList<>();
         configurationSources.add(environmentConfigurationSource);
         configurationSources.add(systemPropertyConfigurationSource);
         configurationSources.add(fileConfigurationSource);
 
         dispatcher = new ConfigurationDispatcher();
 
+        valueCache = new ConfigurationValueCache(
+                Boolean.parseBoolean(System.getProperty("com.kumuluz.ee.configuration.cache")));
+        dispatcher.setValueCache(valueCache);
+
+        templateCache = new ConfigurationTemplateCache();
+        dispatcher.setTemplateCache(templateCache);
+
+        if (Boolean.parseBoolean(System.getProperty("com.kumuluz.ee.configuration.dispatcher.async"))) {
+            dispatcher.setExecutor(Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "kumuluzee-config-dispatcher");
+                thread.setDaemon(true);
+                return thread;
+            }));
+        }
+
         // initialise sources
         for (ConfigurationSource configurationSource : configurationSources) {
 
             configurationSource.init(dispatcher);
         }
 
+        publishSourceChain(configurationSources);
+
         // initialise configuration decoder
         List<ConfigurationDecoder> configurationDecoders = new ArrayList<>();
         ServiceLoader.load(ConfigurationDecoder.class).forEach(configurationDecoders::add);
@@ -79,6 +101,18 @@ public class ConfigurationImpl {
         } else if (configurationDecoders.size() == 1) {
             configurationDecoder = configurationDecoders.get(0);
         }
+
+        // decoders may rely on being called on every lookup (e.g. rotated secrets), so caching is opt-in
+        decoderCache = new ConfigurationDecoderCache(configurationDecoder,
+                Boolean.parseBoolean(System.getProperty("com.kumuluz.ee.configuration.decoder.cache")),
+                Long.getLong("com.kumuluz.ee.configuration.decoder.cache.ttl", 300000L),
+                Integer.getInteger("com.kumuluz.ee.configuration.decoder.cache.max-size", 1000));
+
+        // decoded secrets should not outlive the application
+        if (decoderCache.isEnabled()) {
+            Runtime.getRuntime().addShutdownHook(
+                    new Thread(decoderCache::clear, "kumuluzee-config-decoder-cache-cleanup"));
+        }
     }
 
     public void postInit() {
@@ -100,11 +134,302 @@ public class ConfigurationImpl {
         return dispatcher;
     }
 
+    public ConfigurationValueCache getValueCache() {
+        return valueCache;
+    }
+
+    public ConfigurationTemplateCache getTemplateCache() {
+        return templateCache;
+    }
+
+    /**
+     * Returns a view of the source chain, ordered by descending ordinal. Iterators traverse the chain as it was when
+     * they were created, so the chain may change while it is iterated.
+     * <p>
+     * Modifying the chain through the returned list is deprecated, use {@link #addConfigurationSource},
+     * {@link #addConfigurationSources}, {@link #removeConfigurationSource} and {@link #rebuildSourceChain()} instead.
+     * For compatibility, modifications are still applied to the chain, which is re-sorted by ordinal after every
+     * modification, so indices passed to <tt>add</tt> are ignored and sorting the list only re-reads the ordinals.
+     *
+     * @return view of the configuration sources, ordered by descending ordinal
+     */
     public List<ConfigurationSource> getConfigurationSources() {
-        return configurationSources;
+        return sourceChainView;
+    }
+
+    /**
+     * Adds an initialised configuration source to the source chain.
+     *
+     * @param configurationSource configuration source
+     * @since 3.10.0
+     */
+    public void addConfigurationSource(ConfigurationSource configurationSource) {
+        addConfigurationSources(Collections.singletonList(configurationSource));
+    }
+
+    /**
+     * Adds initialised configuration sources to the source chain. The chain is re-sorted by ordinal and published at
+     * once, so lookups either see none or all of the added sources.
+     *
+     * @param configurationSources configuration sources
+     * @since 3.10.0
+     */
+    public void addConfigurationSources(Collection<ConfigurationSource> configurationSources) {
+
+        updateSourceChain(sources -> sources.addAll(configurationSources));
+    }
+
+    /**
+     * Removes a configuration source from the source chain.
+     *
+     * @param configurationSource configuration source
+     * @return true if the source was part of the source chain
+     * @since 3.10.0
+     */
+    public boolean removeConfigurationSource(ConfigurationSource configurationSource) {
+        return updateSourceChain(sources -> sources.remove(configurationSource));
+    }
+
+    /**
+     * Re-reads the ordinals of the configuration sources and re-sorts the source chain, e.g. after the ordinal of a
+     * source changed.
+     *
+     * @since 3.10.0
+     */
+    public void rebuildSourceChain() {
+        updateSourceChain(sources -> true);
+    }
+
+    /**
+     * @return current source chain, ordered by descending ordinal; the array must not be modified
+     */
+    ConfigurationSource[] getSourceChain() {
+        return sourceChain;
+    }
+
+    /**
+     * Applies the update to a copy of the source chain and publishes the copy, if the update changed it.
+     *
+     * @param update update of the sources, returning true if it changed them
+     * @return result of the update
+     */
+    private boolean updateSourceChain(Predicate<List<ConfigurationSource>> update) {
+
+        synchronized (sourceChainLock) {
+
+            List<ConfigurationSource> sources = new ArrayList<>(Arrays.asList(sourceChain));
+
+            if (!update.test(sources)) {
+                return false;
+            }
+
+            publishSourceChain(sources);
+        }
+
+        sourceChainChanged();
+
+        return true;
+    }
+
+    private void publishSourceChain(List<ConfigurationSource> sources) {
+
+        // ordinals are read once, since sources may resolve them from their own configuration
+        Map<ConfigurationSource, Integer> ordinals = new IdentityHashMap<>();
+
+        for (ConfigurationSource source : sources) {
+            ordinals.put(source, source.getOrdinal());
+        }
+
+        sources.sort(Comparator.comparing(ordinals::get, Comparator.reverseOrder()));
+
+        sourceChain = sources.toArray(new ConfigurationSource[0]);
+    }
+
+    private void sourceChainChanged() {
+
+        // resolved values may now be shadowed by other sources
+        valueCache.clear();
+        dispatcher.markChanged();
     }
 
     public ConfigurationDecoder getConfigurationDecoder() {
         return configurationDecoder;
     }
+
+    public ConfigurationDecoderCache getDecoderCache() {
+        return decoderCache;
+    }
+
+    /**
+     * List view of the source chain, returned by {@link #getConfigurationSources()}, which applies modifications to
+     * the chain for compatibility with code that modified the previously returned list directly.
+     */
+    private class SourceChainView extends AbstractList<ConfigurationSource> {
+
+        @Override
+        public ConfigurationSource get(int index) {
+            return sourceChain[index];
+        }
+
+        @Override
+        public int size() {
+            return sourceChain.length;
+        }
+
+        @Override
+        public void add(int index, ConfigurationSource configurationSource) {
+            addConfigurationSource(Objects.requireNonNull(configurationSource));
+        }
+
+        @Override
+        public ConfigurationSource set(int index, ConfigurationSource configurationSource) {
+
+            Objects.requireNonNull(configurationSource);
+
+            ConfigurationSource[] replaced = new ConfigurationSource[1];
+
+            updateSourceChain(sources -> {
+                replaced[0] = sources.set(index, configurationSource);
+                return true;
+            });
+
+            return replaced[0];
+        }
+
+        @Override
+        public ConfigurationSource remove(int index) {
+
+            ConfigurationSource[] removed = new ConfigurationSource[1];
+
+            updateSourceChain(sources -> {
+                removed[0] = sources.remove(index);
+                return true;
+            });
+
+            return removed[0];
+        }
+
+        @Override
+        public void sort(Comparator<? super ConfigurationSource> c) {
+            // the chain is always ordered by descending ordinal
+            rebuildSourceChain();
+        }
+
+        @Override
+        public Iterator<ConfigurationSource> iterator() {
+            return listIterator(0);
+        }
+
+        @Override
+        public ListIterator<ConfigurationSource> listIterator(int index) {
+            return new SourceChainIterator(sourceChain, index);
+        }
+    }
+
+    /**
+     * Iterator over the source chain as it was when the iterator was created. Modifications are applied to the
+     * current chain and are not visible to the iterator.
+     */
+    private class SourceChainIterator implements ListIterator<ConfigurationSource> {
+
+        private final ConfigurationSource[] sources;
+        private int cursor;
+        private int lastReturned = -1;
+
+        SourceChainIterator(ConfigurationSource[] sources, int index) {
+
+            if (index < 0 || index > sources.length) {
+                throw new IndexOutOfBoundsException("Index: " + index);
+            }
+
+            this.sources = sources;
+            this.cursor = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < sources.length;
+        }
+
+        @Override
+        public ConfigurationSource next() {
+
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            lastReturned = cursor++;
+
+            return sources[lastReturned];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public ConfigurationSource previous() {
+
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+
+            lastReturned = --cursor;
+
+            return sources[lastReturned];
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+
+            removeConfigurationSource(sources[lastReturned]);
+            lastReturned = -1;
+        }
+
+        @Override
+        public void set(ConfigurationSource configurationSource) {
+
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+
+            Objects.requireNonNull(configurationSource);
+
+            ConfigurationSource replaced = sources[lastReturned];
+
+            updateSourceChain(currentSources -> {
+
+                int index = currentSources.indexOf(replaced);
+
+                if (index < 0) {
+                    return false;
+                }
+
+                currentSources.set(index, configurationSource);
+
+                return true;
+            });
+        }
+
+        @Override
+        public void add(ConfigurationSource configurationSource) {
+            addConfigurationSource(Objects.requireNonNull(configurationSource));
+            lastReturned = -1;
+        }
+    }
 }
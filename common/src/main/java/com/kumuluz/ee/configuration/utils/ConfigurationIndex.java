@@ -0,0 +1,225 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.configuration.utils;
+
+import java.util.*;
+
+/**
+ * Immutable, flattened view of a hierarchical configuration tree (as parsed from YAML) or of a flat configuration
+ * (as read from properties). Every node is addressable by its full configuration key (e.g.
+ * <tt>kumuluzee.datasources[0].pool.max-size</tt>), list sizes and map keys are precomputed, so lookups are a single
+ * hash map access.
+ *
+ * @since 3.10.0
+ */
+public final class ConfigurationIndex {
+
+    private final Map<String, Object> values;
+    private final Map<String, Integer> listSizes;
+    private final Map<String, List<String>> mapKeys;
+
+    private ConfigurationIndex(Map<String, Object> values, Map<String, Integer> listSizes,
+                               Map<String, List<String>> mapKeys) {
+        this.values = Collections.unmodifiableMap(values);
+        this.listSizes = Collections.unmodifiableMap(listSizes);
+        this.mapKeys = Collections.unmodifiableMap(mapKeys);
+    }
+
+    /**
+     * Flattens the given configuration tree. Nested paths take precedence over map keys which themselves contain
+     * dots, mirroring the lookup order of a tree walk.
+     *
+     * @param root root of the configuration tree
+     * @return index of the configuration tree
+     */
+    public static ConfigurationIndex fromTree(Map<String, Object> root) {
+
+        Map<String, Object> values = new HashMap<>();
+        Map<String, Integer> listSizes = new HashMap<>();
+        Map<String, List<String>> mapKeys = new HashMap<>();
+
+        if (root != null) {
+            indexMap("", root, false, values, listSizes, mapKeys);
+        }
+
+        return new ConfigurationIndex(values, listSizes, mapKeys);
+    }
+
+    /**
+     * Indexes a flat configuration, where keys are already full configuration keys (e.g. properties). List sizes and
+     * map keys are derived from the key names.
+     *
+     * @param flatValues configuration values keyed by full configuration keys
+     * @return index of the configuration
+     */
+    public static ConfigurationIndex fromKeys(Map<String, String> flatValues) {
+
+        Map<String, Object> values = new HashMap<>();
+        Map<String, Integer> listSizes = new HashMap<>();
+        Map<String, Set<String>> children = new HashMap<>();
+
+        flatValues.forEach((key, value) -> {
+
+            values.put(key.intern(), value);
+
+            String parent = "";
+            int segmentStart = 0;
+
+            while (segmentStart < key.length()) {
+
+                int segmentEnd = segmentStart;
+                while (segmentEnd < key.length() && key.charAt(segmentEnd) != '.' && key.charAt(segmentEnd) != '[') {
+                    segmentEnd++;
+                }
+
+                if (segmentEnd > segmentStart) {
+                    children.computeIfAbsent(parent, k -> new LinkedHashSet<>())
+                            .add(key.substring(segmentStart, segmentEnd).intern());
+                }
+
+                parent = key.substring(0, segmentEnd).intern();
+
+                // list indices following the segment
+                while (segmentEnd < key.length() && key.charAt(segmentEnd) == '[') {
+
+                    int closingBracket = key.indexOf(']', segmentEnd);
+
+                    if (closingBracket < 0) {
+                        segmentEnd = key.length();
+                        break;
+                    }
+
+                    try {
+                        int index = Integer.parseInt(key.substring(segmentEnd + 1, closingBracket));
+                        listSizes.merge(parent, index + 1, Math::max);
+                    } catch (NumberFormatException ignored) {
+                    }
+
+                    segmentEnd = closingBracket + 1;
+                    parent = key.substring(0, segmentEnd).intern();
+                }
+
+                segmentStart = segmentEnd + 1;
+            }
+        });
+
+        Map<String, List<String>> mapKeys = new HashMap<>();
+        children.forEach((key, names) -> mapKeys.put(key, Collections.unmodifiableList(new ArrayList<>(names))));
+
+        return new ConfigurationIndex(values, listSizes, mapKeys);
+    }
+
+    /**
+     * Returns the node stored under the given key. Scalar values are returned as strings, maps and lists as their
+     * original objects.
+     *
+     * @param key configuration key
+     * @return node for the given key or null if it does not exist
+     */
+    public Object getValue(String key) {
+        return values.get(key);
+    }
+
+    public Optional<Integer> getListSize(String key) {
+        return Optional.ofNullable(listSizes.get(key));
+    }
+
+    public Optional<List<String>> getMapKeys(String key) {
+        return Optional.ofNullable(mapKeys.get(key));
+    }
+
+    public Set<String> getKeys() {
+        return values.keySet();
+    }
+
+    /**
+     * @return all scalar (non map and non list) values of the configuration tree, keyed by configuration key
+     */
+    public Map<String, String> getScalarValues() {
+
+        Map<String, String> scalarValues = new HashMap<>();
+
+        values.forEach((key, value) -> {
+            if (value instanceof String) {
+                scalarValues.put(key, (String) value);
+            }
+        });
+
+        return scalarValues;
+    }
+
+    private static void indexMap(String prefix, Map<?, ?> map, boolean fallback, Map<String, Object> values,
+                                 Map<String, Integer> listSizes, Map<String, List<String>> mapKeys) {
+
+        if (map.isEmpty()) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>(map.size());
+
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+
+            String mapKey = String.valueOf(entry.getKey()).intern();
+            keys.add(mapKey);
+
+            String key = (prefix.isEmpty() ? mapKey : prefix + "." + mapKey).intern();
+
+            index(key, entry.getValue(), fallback || mapKey.contains("."), values, listSizes, mapKeys);
+        }
+
+        putNode(mapKeys, prefix.intern(), Collections.unmodifiableList(keys), fallback);
+    }
+
+    private static void index(String key, Object value, boolean fallback, Map<String, Object> values,
+                              Map<String, Integer> listSizes, Map<String, List<String>> mapKeys) {
+
+        if (value == null) {
+            return;
+        }
+
+        if (value instanceof Map) {
+
+            putNode(values, key, value, fallback);
+            indexMap(key, (Map<?, ?>) value, fallback, values, listSizes, mapKeys);
+        } else if (value instanceof List) {
+
+            List<?> list = (List<?>) value;
+
+            putNode(values, key, value, fallback);
+            putNode(listSizes, key, list.size(), fallback);
+
+            for (int i = 0; i < list.size(); i++) {
+                index((key + "[" + i + "]").intern(), list.get(i), fallback, values, listSizes, mapKeys);
+            }
+        } else {
+            putNode(values, key, value.toString(), fallback);
+        }
+    }
+
+    private static <T> void putNode(Map<String, T> target, String key, T value, boolean fallback) {
+
+        if (fallback) {
+            target.putIfAbsent(key, value);
+        } else {
+            target.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.configuration.utils;
+
+import java.util.Collection;
+
+/**
+ * Compact, immutable bloom filter of the keys present in a configuration source. The filter never reports a present
+ * key as missing, so {@link ConfigurationUtil} can skip a source whenever the filter rejects a key. Besides values,
+ * the filter must contain every key for which the source reports a list size or map keys.
+ *
+ * @since 3.10.0
+ */
+public final class ConfigurationKeyFilter {
+
+    /**
+     * Filter which accepts all keys, used by sources which can not enumerate their keys.
+     */
+    public static final ConfigurationKeyFilter ALL = new ConfigurationKeyFilter(null, false);
+
+    private static final int BITS_PER_KEY = 10;
+    private static final int HASH_FUNCTIONS = 5;
+
+    private final long[] bits;
+    private final boolean normalized;
+
+    private ConfigurationKeyFilter(long[] bits, boolean normalized) {
+        this.bits = bits;
+        this.normalized = normalized;
+    }
+
+    /**
+     * Builds a filter of the given configuration keys and all of their parent keys (e.g. <tt>kumuluzee</tt>,
+     * <tt>kumuluzee.datasources</tt> and <tt>kumuluzee.datasources[0]</tt> for
+     * <tt>kumuluzee.datasources[0].jndi-name</tt>), including the root key.
+     *
+     * @param keys configuration keys
+     * @return key filter
+     */
+    public static ConfigurationKeyFilter ofKeys(Collection<String> keys) {
+
+        // every key contributes itself and roughly one parent per segment
+        ConfigurationKeyFilter filter = new ConfigurationKeyFilter(allocate(keys.size() * 4 + 1), false);
+
+        filter.add("".hashCode());
+
+        for (String key : keys) {
+
+            for (int i = 0; i < key.length(); i++) {
+
+                char c = key.charAt(i);
+
+                if (c == '.' || c == '[') {
+                    filter.add(key.substring(0, i).hashCode());
+                }
+            }
+
+            filter.add(key.hashCode());
+        }
+
+        return filter;
+    }
+
+    /**
+     * Builds a filter of names which are matched by their prefixes, ignoring case and all characters except ASCII
+     * letters and digits (e.g. environment variables, where <tt>KUMULUZEE_SERVER_HTTP_PORT</tt> is found for
+     * <tt>kumuluzee.server.http.port</tt>, <tt>kumuluzee.server</tt> and <tt>kumuluzee</tt>).
+     *
+     * @param names names present in the source
+     * @return key filter
+     */
+    public static ConfigurationKeyFilter ofNormalizedPrefixes(Collection<String> names) {
+
+        int prefixes = 1;
+
+        for (String name : names) {
+            prefixes += name.length();
+        }
+
+        ConfigurationKeyFilter filter = new ConfigurationKeyFilter(allocate(prefixes), true);
+
+        int emptyHash = 0;
+        filter.add(emptyHash);
+
+        for (String name : names) {
+
+            int hash = emptyHash;
+
+            for (int i = 0; i < name.length(); i++) {
+
+                char c = normalize(name.charAt(i));
+
+                if (c != 0) {
+                    hash = 31 * hash + c;
+                    filter.add(hash);
+                }
+            }
+        }
+
+        return filter;
+    }
+
+    /**
+     * @param key configuration key
+     * @return false if the key is definitely not present, true if it may be present
+     */
+    public boolean mightContain(String key) {
+
+        if (bits == null) {
+            return true;
+        }
+
+        int hash;
+
+        if (normalized) {
+
+            hash = 0;
+
+            for (int i = 0; i < key.length(); i++) {
+
+                char c = key.charAt(i);
+
+                // non ASCII characters may be changed by upper casing in ways the normalization can not follow
+                if (c > 0x7f) {
+                    return true;
+                }
+
+                c = normalize(c);
+
+                if (c != 0) {
+                    hash = 31 * hash + c;
+                }
+            }
+        } else {
+            hash = key.hashCode();
+        }
+
+        long mixed = hash * 0x9E3779B97F4A7C15L;
+        int hash1 = (int) mixed;
+        int hash2 = (int) (mixed >>> 32) | 1;
+        int mask = bits.length * 64 - 1;
+
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+
+            int bit = (hash1 + i * hash2) & mask;
+
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void add(int hash) {
+
+        long mixed = hash * 0x9E3779B97F4A7C15L;
+        int hash1 = (int) mixed;
+        int hash2 = (int) (mixed >>> 32) | 1;
+        int mask = bits.length * 64 - 1;
+
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+
+            int bit = (hash1 + i * hash2) & mask;
+
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private static long[] allocate(int expectedKeys) {
+
+        long requiredBits = Math.max(64L, (long) expectedKeys * BITS_PER_KEY);
+        int words = (int) Math.min(1 << 24, Long.highestOneBit(requiredBits - 1) << 1 >>> 6);
+
+        return new long[Math.max(1, words)];
+    }
+
+    private static char normalize(char c) {
+
+        if (c >= 'a' && c <= 'z') {
+            return (char) (c - 'a' + 'A');
+        } else if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+            return c;
+        }
+
+        return 0;
+    }
+}
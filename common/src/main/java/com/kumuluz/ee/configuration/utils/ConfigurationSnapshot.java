@@ -0,0 +1,278 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.configuration.utils;
+
+import com.kumuluz.ee.configuration.ConfigurationSource;
+import com.kumuluz.ee.configuration.enums.ConfigurationValueType;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable, versioned view of the configuration, obtained with {@link ConfigurationUtil#getSnapshot()}. The snapshot
+ * holds an immutable copy of the state of every configuration source, taken when the snapshot was created (see
+ * {@link ConfigurationSource#snapshot()}). All lookups are answered from these copies with the same source priorities,
+ * decoding and interpolation as the corresponding {@link ConfigurationUtil} methods, so every read from a snapshot
+ * returns the same value, regardless of changes made after the snapshot was taken.
+ * <p>
+ * Only changes reported to the configuration dispatcher (reloaded configuration files, values set through
+ * {@link ConfigurationUtil}, added or removed configuration sources) advance the version. Changes of environment
+ * variables or system properties made outside of {@link ConfigurationUtil} are not detected.
+ *
+ * @since 3.10.0
+ */
+public final class ConfigurationSnapshot {
+
+    private static final int MAX_INTERPOLATION_DEPTH = 64;
+
+    private final long version;
+    private final ConfigurationSource[] sources;
+    private final ConfigurationImpl config;
+
+    private final ThreadLocal<int[]> interpolationDepth = ThreadLocal.withInitial(() -> new int[1]);
+
+    // resolved values are memoized, the sources they are resolved from never change
+    private final Map<String, Optional<String>> values = new ConcurrentHashMap<>();
+    private final Map<String, Optional<Integer>> listSizes = new ConcurrentHashMap<>();
+    private final Map<String, Optional<List<String>>> mapKeys = new ConcurrentHashMap<>();
+
+    ConfigurationSnapshot(long version, ConfigurationSource[] sources, ConfigurationImpl config) {
+        this.version = version;
+        this.sources = sources;
+        this.config = config;
+    }
+
+    /**
+     * @return configuration version this snapshot was taken at
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return true if the configuration changed after this snapshot was taken
+     */
+    public boolean isStale() {
+        return config.getDispatcher().getVersion() != version;
+    }
+
+    public Optional<String> get(String key) {
+
+        Optional<String> value = values.get(key);
+
+        if (value == null) {
+            value = resolveRaw(key).map(rawValue -> interpolate(key, rawValue));
+
+            Optional<String> previousValue = values.putIfAbsent(key, value);
+
+            if (previousValue != null) {
+                value = previousValue;
+            }
+        }
+
+        return value;
+    }
+
+    public Optional<Boolean> getBoolean(String key) {
+        return resolveTyped(key, source -> source.getBoolean(key));
+    }
+
+    public Optional<Integer> getInteger(String key) {
+        return resolveTyped(key, source -> source.getInteger(key));
+    }
+
+    public Optional<Long> getLong(String key) {
+        return resolveTyped(key, source -> source.getLong(key));
+    }
+
+    public Optional<Double> getDouble(String key) {
+        return resolveTyped(key, source -> source.getDouble(key));
+    }
+
+    public Optional<Float> getFloat(String key) {
+        return resolveTyped(key, source -> source.getFloat(key));
+    }
+
+    public Optional<Integer> getListSize(String key) {
+        return listSizes.computeIfAbsent(key, this::resolveListSize);
+    }
+
+    public Optional<List<String>> getMapKeys(String key) {
+        return mapKeys.computeIfAbsent(key, this::resolveMapKeys);
+    }
+
+    public Optional<ConfigurationValueType> getType(String key) {
+
+        if (getListSize(key).isPresent()) {
+            return Optional.of(ConfigurationValueType.LIST);
+        }
+
+        if (getMapKeys(key).isPresent()) {
+            return Optional.of(ConfigurationValueType.MAP);
+        }
+
+        return get(key).map(ConfigurationUtil::getValueType);
+    }
+
+    /**
+     * @param prefix key of the subtree
+     * @return view of the subtree with keys relative to the prefix
+     */
+    public ConfigurationSubtree getSubtree(String prefix) {
+        return new ConfigurationSubtree(prefix, this);
+    }
+
+    /**
+     * Resolves the values of all keys under the prefix, which are enumerated by the configuration sources.
+     */
+    Map<String, String> getAll(String prefix) {
+
+        Set<String> keys = new HashSet<>();
+
+        for (ConfigurationSource source : sources) {
+
+            if (source.getKeyFilter().mightContain(prefix)) {
+                keys.addAll(source.getAll(prefix).keySet());
+            }
+        }
+
+        Map<String, String> resolvedValues = new HashMap<>();
+
+        for (String key : keys) {
+            get(key).ifPresent(value -> resolvedValues.put(key, value));
+        }
+
+        return Collections.unmodifiableMap(resolvedValues);
+    }
+
+    private <T> Optional<T> resolveTyped(String key, Function<ConfigurationSource, Optional<T>> getter) {
+
+        for (ConfigurationSource source : sources) {
+
+            if (!source.getKeyFilter().mightContain(key)) {
+                continue;
+            }
+
+            Optional<T> value = getter.apply(source);
+
+            if (value.isPresent()) {
+                return value;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private Optional<String> resolveRaw(String key) {
+
+        for (ConfigurationSource source : sources) {
+
+            if (!source.getKeyFilter().mightContain(key)) {
+                continue;
+            }
+
+            Optional<String> value = source.get(key);
+
+            if (value.isPresent()) {
+                return Optional.of(config.getDecoderCache().decode(key, value.get()));
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private String interpolate(String key, String value) {
+
+        if (!ConfigurationTemplate.hasReferences(value)) {
+            return value;
+        }
+
+        int depth = interpolationDepth.get()[0]++;
+
+        try {
+            if (depth > MAX_INTERPOLATION_DEPTH) {
+
+                if (config.isUtilLoggerAvailable()) {
+                    config.getUtilLogger().warning("Detected cycle when interpolating configuration key: " + key);
+                }
+
+                return "";
+            }
+
+            return ConfigurationTemplate.compile(value).render(this::resolveReference);
+        } finally {
+            interpolationDepth.get()[0]--;
+        }
+    }
+
+    private Optional<String> resolveReference(String key) {
+        return resolveRaw(key).map(rawValue -> interpolate(key, rawValue));
+    }
+
+    private Optional<Integer> resolveListSize(String key) {
+
+        int listSize = -1;
+
+        for (ConfigurationSource source : sources) {
+
+            if (!source.getKeyFilter().mightContain(key)) {
+                continue;
+            }
+
+            Optional<Integer> currentListSize = source.getListSize(key);
+
+            if (currentListSize.isPresent() && currentListSize.get() > listSize) {
+                listSize = currentListSize.get();
+            }
+        }
+
+        return (listSize == -1) ? Optional.empty() : Optional.of(listSize);
+    }
+
+    private Optional<List<String>> resolveMapKeys(String key) {
+
+        Set<String> keys = new HashSet<>();
+
+        for (ConfigurationSource source : sources) {
+
+            if (!source.getKeyFilter().mightContain(key)) {
+                continue;
+            }
+
+            source.getMapKeys(key).ifPresent(currentKeys -> {
+
+                for (String s : currentKeys) {
+
+                    if (!keys.contains(s.replace("-", ""))) {
+                        keys.add(s);
+                    }
+                }
+            });
+        }
+
+        if (keys.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(Collections.unmodifiableList(new ArrayList<>(keys)));
+    }
+}
@@ -20,7 +20,10 @@
 */
 package com.kumuluz.ee.configuration.utils;
 
+import com.kumuluz.ee.configuration.ConfigurationSource;
+
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * @author Urban Malc
@@ -98,4 +101,145 @@ public class ConfigurationSourceUtils {
 
         return Optional.of(new ArrayList<>(mapKeys));
     }
+
+    /**
+     * Collects all values in the subtree of the given prefix by traversing the source.
+     *
+     * @param source configuration source
+     * @param prefix key of the subtree, empty string for the whole configuration
+     * @return values of the subtree keyed by full configuration keys
+     */
+    public static Map<String, String> getAll(ConfigurationSource source, String prefix) {
+
+        Map<String, String> values = new HashMap<>();
+
+        collect(source, prefix, values, 0);
+
+        return values;
+    }
+
+    /**
+     * Collects all values of the given keys, which are in the subtree of the given prefix.
+     *
+     * @param prefix key of the subtree, empty string for the whole configuration
+     * @param keys   all keys of the configuration
+     * @param getter value getter
+     * @return values of the subtree keyed by full configuration keys
+     */
+    public static Map<String, String> getAll(String prefix, Collection<String> keys,
+                                             Function<String, String> getter) {
+
+        Map<String, String> values = new HashMap<>();
+
+        for (String key : keys) {
+
+            if (isInSubtree(key, prefix)) {
+
+                String value = getter.apply(key);
+
+                if (value != null) {
+                    values.put(key, value);
+                }
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Creates an immutable configuration source holding the given values, for use as the state of a source in
+     * configuration snapshots.
+     *
+     * @param values  values keyed by full configuration keys
+     * @param ordinal ordinal of the source
+     * @return immutable configuration source
+     */
+    public static ConfigurationSource snapshot(Map<String, String> values, Integer ordinal) {
+        return new ImmutableConfigurationSource(values, ordinal);
+    }
+
+    /**
+     * Checks if the key equals the prefix or is nested under it.
+     *
+     * @param key    configuration key
+     * @param prefix key of the subtree, empty string for the whole configuration
+     * @return true if the key is in the subtree
+     */
+    public static boolean isInSubtree(String key, String prefix) {
+
+        if (prefix.isEmpty() || key.equals(prefix)) {
+            return true;
+        }
+
+        if (key.length() <= prefix.length() || !key.startsWith(prefix)) {
+            return false;
+        }
+
+        char separator = key.charAt(prefix.length());
+
+        return separator == '.' || separator == '[';
+    }
+
+    /**
+     * Computes the changes between two flat configurations.
+     *
+     * @param oldValues previous configuration values
+     * @param newValues current configuration values
+     * @return changed and added keys with their new values and removed keys with null values
+     */
+    public static Map<String, String> diff(Map<String, String> oldValues, Map<String, String> newValues) {
+
+        Map<String, String> changes = new TreeMap<>();
+
+        newValues.forEach((key, value) -> {
+            if (!value.equals(oldValues.get(key))) {
+                changes.put(key, value);
+            }
+        });
+
+        oldValues.keySet().forEach(key -> {
+            if (!newValues.containsKey(key)) {
+                changes.put(key, null);
+            }
+        });
+
+        return changes;
+    }
+
+    private static void collect(ConfigurationSource source, String key, Map<String, String> values, int depth) {
+
+        // guard against sources which report cyclic structures
+        if (depth > 64) {
+            return;
+        }
+
+        if (!key.isEmpty()) {
+
+            Optional<Integer> listSize = source.getListSize(key);
+
+            if (listSize.isPresent()) {
+
+                for (int i = 0; i < listSize.get(); i++) {
+                    collect(source, key + "[" + i + "]", values, depth + 1);
+                }
+
+                return;
+            }
+        }
+
+        Optional<List<String>> mapKeys = source.getMapKeys(key);
+
+        if (mapKeys.isPresent()) {
+
+            for (String mapKey : mapKeys.get()) {
+                collect(source, key.isEmpty() ? mapKey : key + "." + mapKey, values, depth + 1);
+            }
+
+            return;
+        }
+
+        if (!key.isEmpty()) {
+            source.get(key).ifPresent(value -> values.put(key, value));
+        }
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.configuration.utils;
+
+import com.kumuluz.ee.configuration.enums.ConfigurationValueType;
+
+import java.util.*;
+
+/**
+ * Typed view of a configuration subtree, obtained with {@link ConfigurationSnapshot#getSubtree(String)}. Keys passed
+ * to the getters are relative to the prefix of the subtree, e.g. <tt>http.port</tt> in the subtree
+ * <tt>kumuluzee.server</tt>.
+ * <p>
+ * Every lookup is answered by the snapshot for the full key, so list sizes, map keys and values from sources with
+ * their own naming scheme (e.g. environment variables) are the same as with direct lookups.
+ *
+ * @since 3.10.0
+ */
+public class ConfigurationSubtree {
+
+    private final String prefix;
+    private final ConfigurationSnapshot snapshot;
+
+    ConfigurationSubtree(String prefix, ConfigurationSnapshot snapshot) {
+        this.prefix = prefix;
+        this.snapshot = snapshot;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public Optional<String> get(String key) {
+        return snapshot.get(toAbsoluteKey(key));
+    }
+
+    public Optional<Boolean> getBoolean(String key) {
+        return snapshot.getBoolean(toAbsoluteKey(key));
+    }
+
+    public Optional<Integer> getInteger(String key) {
+        return snapshot.getInteger(toAbsoluteKey(key));
+    }
+
+    public Optional<Long> getLong(String key) {
+        return snapshot.getLong(toAbsoluteKey(key));
+    }
+
+    public Optional<Double> getDouble(String key) {
+        return snapshot.getDouble(toAbsoluteKey(key));
+    }
+
+    public Optional<Float> getFloat(String key) {
+        return snapshot.getFloat(toAbsoluteKey(key));
+    }
+
+    public Optional<Integer> getListSize(String key) {
+        return snapshot.getListSize(toAbsoluteKey(key));
+    }
+
+    public Optional<List<String>> getMapKeys(String key) {
+        return snapshot.getMapKeys(toAbsoluteKey(key));
+    }
+
+    public Optional<ConfigurationValueType> getType(String key) {
+        return snapshot.getType(toAbsoluteKey(key));
+    }
+
+    /**
+     * Returns a view of a nested subtree.
+     *
+     * @param key key of the nested subtree, relative to this subtree
+     * @return view of the nested subtree
+     */
+    public ConfigurationSubtree getSubtree(String key) {
+        return new ConfigurationSubtree(toAbsoluteKey(key), snapshot);
+    }
+
+    /**
+     * Resolves all values of the subtree, whose keys can be enumerated by the configuration sources. Sources which
+     * can not enumerate their keys in the configuration key format (e.g. environment variables) may contribute fewer
+     * keys than are available through the getters.
+     *
+     * @return all values of the subtree, keyed by full configuration keys
+     */
+    public Map<String, String> asMap() {
+        return snapshot.getAll(prefix);
+    }
+
+    public boolean isEmpty() {
+        return !snapshot.getMapKeys(prefix).isPresent() && !snapshot.getListSize(prefix).isPresent() &&
+                !snapshot.get(prefix).isPresent();
+    }
+
+    private String toAbsoluteKey(String key) {
+
+        if (prefix.isEmpty()) {
+            return key;
+        } else if (key.isEmpty()) {
+            return prefix;
+        } else if (key.startsWith("[")) {
+            return prefix + key;
+        }
+
+        return prefix + "." + key;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.configuration.utils;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Configuration value with <tt>${key}</tt> references, compiled into literal and reference segments. Rendering a
+ * template only concatenates the literals with the resolved references.
+ *
+ * @since 3.10.0
+ */
+public final class ConfigurationTemplate {
+
+    private final String source;
+    private final String[] literals;
+    private final String[] references;
+    private final boolean[] disabled;
+
+    private ConfigurationTemplate(String source, String[] literals, String[] references, boolean[] disabled) {
+        this.source = source;
+        this.literals = literals;
+        this.references = references;
+        this.disabled = disabled;
+    }
+
+    /**
+     * Returns true if the value contains at least one <tt>${key}</tt> reference.
+     *
+     * @param value configuration value
+     * @return true if the value has to be compiled
+     */
+    public static boolean hasReferences(String value) {
+
+        int startIndex = value.indexOf("${");
+
+        return startIndex >= 0 && value.indexOf('}', startIndex + 2) >= 0;
+    }
+
+    /**
+     * Compiles the given value. An unterminated <tt>${</tt> is kept as a literal.
+     *
+     * @param value configuration value
+     * @return compiled template
+     */
+    public static ConfigurationTemplate compile(String value) {
+
+        List<String> literals = new ArrayList<>();
+        List<String> references = new ArrayList<>();
+
+        int literalStart = 0;
+        int startIndex;
+
+        while ((startIndex = value.indexOf("${", literalStart)) >= 0) {
+
+            int endIndex = value.indexOf('}', startIndex + 2);
+
+            if (endIndex < 0) {
+                break;
+            }
+
+            literals.add(value.substring(literalStart, startIndex));
+            references.add(value.substring(startIndex + 2, endIndex));
+
+            literalStart = endIndex + 1;
+        }
+
+        literals.add(value.substring(literalStart));
+
+        return new ConfigurationTemplate(value, literals.toArray(new String[0]), references.toArray(new String[0]),
+                new boolean[references.size()]);
+    }
+
+    /**
+     * @return value the template was compiled from
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return keys referenced by the template, in order of appearance
+     */
+    public List<String> getReferences() {
+        return Collections.unmodifiableList(Arrays.asList(references));
+    }
+
+    /**
+     * @return true if any reference of the template was disabled because it forms a cycle
+     */
+    public boolean hasDisabledReferences() {
+
+        for (boolean referenceDisabled : disabled) {
+            if (referenceDisabled) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns a copy of this template in which the given references render as empty strings, used for references
+     * which form a cycle.
+     *
+     * @param disabledReferences references to disable
+     * @return template with disabled references
+     */
+    public ConfigurationTemplate withoutReferences(Set<String> disabledReferences) {
+
+        boolean[] newDisabled = disabled.clone();
+
+        for (int i = 0; i < references.length; i++) {
+
+            if (disabledReferences.contains(references[i])) {
+                newDisabled[i] = true;
+            }
+        }
+
+        return new ConfigurationTemplate(source, literals, references, newDisabled);
+    }
+
+    /**
+     * Renders the template.
+     *
+     * @param resolver resolves referenced keys, missing keys are rendered as empty strings
+     * @return rendered value
+     */
+    public String render(Function<String, Optional<String>> resolver) {
+
+        StringBuilder sb = new StringBuilder(source.length());
+
+        for (int i = 0; i < references.length; i++) {
+
+            sb.append(literals[i]);
+
+            if (!disabled[i]) {
+                resolver.apply(references[i]).ifPresent(sb::append);
+            }
+        }
+
+        return sb.append(literals[references.length]).toString();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.configuration.utils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled templates of configuration values which reference other keys, keyed by configuration key. A template is
+ * only reused while the raw value of its key is unchanged. The cache also tracks which keys reference a key, so the
+ * {@link ConfigurationDispatcher} can notify listeners of keys whose interpolated value changed.
+ *
+ * @since 3.10.0
+ */
+public class ConfigurationTemplateCache {
+
+    private final Map<String, ConfigurationTemplate> templates = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> dependents = new ConcurrentHashMap<>();
+
+    /**
+     * @param key   configuration key
+     * @param value current raw value of the key
+     * @return compiled template or null, if the key has no template for the given value
+     */
+    public ConfigurationTemplate get(String key, String value) {
+
+        ConfigurationTemplate template = templates.get(key);
+
+        return (template != null && template.getSource().equals(value)) ? template : null;
+    }
+
+    public void put(String key, ConfigurationTemplate template) {
+
+        ConfigurationTemplate previous = templates.put(key, template);
+
+        if (previous != null) {
+            for (String reference : previous.getReferences()) {
+
+                Set<String> referenceDependents = dependents.get(reference);
+
+                if (referenceDependents != null) {
+                    referenceDependents.remove(key);
+                }
+            }
+        }
+
+        for (String reference : template.getReferences()) {
+            dependents.computeIfAbsent(reference, k -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    /**
+     * @param key configuration key
+     * @return keys whose templates directly reference the given key
+     */
+    public Set<String> getDependents(String key) {
+
+        Set<String> keyDependents = dependents.get(key);
+
+        return (keyDependents == null) ? Collections.emptySet() : keyDependents;
+    }
+
+    public void clear() {
+        templates.clear();
+        dependents.clear();
+    }
+
+    public int size() {
+        return templates.size();
+    }
+}
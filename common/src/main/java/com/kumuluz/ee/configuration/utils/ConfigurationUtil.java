@@ -33,15 +33,24 @@ import java.util.*;
  */
 public class ConfigurationUtil {
 
+    private static final int MAX_INTERPOLATION_DEPTH = 64;
+
     private static ConfigurationUtil instance;
 
+    private final ThreadLocal<int[]> interpolationDepth = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final Object snapshotLock = new Object();
+    private volatile ConfigurationSnapshot snapshot;
+
     private ConfigurationImpl config;
 
     protected ConfigurationUtil() {
     }
 
-    private ConfigurationUtil(ConfigurationImpl config) {
+    ConfigurationUtil(ConfigurationImpl config) {
         this.config = config;
+
+        config.getDispatcher().setResolver(this::get);
     }
 
     public static void initialize(ConfigurationImpl config) {
@@ -63,79 +72,38 @@ public class ConfigurationUtil {
     }
 
     public Optional<String> get(String key) {
-        return get(key, new HashSet<>());
+        return config.getValueCache().get(key, String.class, () -> resolve(key));
     }
 
     public Optional<Boolean> getBoolean(String key) {
-
-        for (ConfigurationSource configurationSource : config.getConfigurationSources()) {
-
-            Optional<Boolean> value = configurationSource.getBoolean(key);
-
-            if (value.isPresent()) {
-                return value;
-            }
-        }
-        return Optional.empty();
+        return config.getValueCache().get(key, Boolean.class, () -> resolveBoolean(key));
     }
 
     public Optional<Integer> getInteger(String key) {
-
-        for (ConfigurationSource configurationSource : config.getConfigurationSources()) {
-
-            Optional<Integer> value = configurationSource.getInteger(key);
-
-            if (value.isPresent()) {
-                return value;
-            }
-        }
-        return Optional.empty();
+        return config.getValueCache().get(key, Integer.class, () -> resolveInteger(key));
     }
 
     public Optional<Long> getLong(String key) {
-
-        for (ConfigurationSource configurationSource : config.getConfigurationSources()) {
-
-            Optional<Long> value = configurationSource.getLong(key);
-
-            if (value.isPresent()) {
-                return value;
-            }
-        }
-        return Optional.empty();
+        return config.getValueCache().get(key, Long.class, () -> resolveLong(key));
     }
 
     public Optional<Double> getDouble(String key) {
-
-        for (ConfigurationSource configurationSource : config.getConfigurationSources()) {
-
-            Optional<Double> value = configurationSource.getDouble(key);
-
-            if (value.isPresent()) {
-                return value;
-            }
-        }
-        return Optional.empty();
+        return config.getValueCache().get(key, Double.class, () -> resolveDouble(key));
     }
 
     public Optional<Float> getFloat(String key) {
-
-        for (ConfigurationSource configurationSource : config.getConfigurationSources()) {
-
-            Optional<Float> value = configurationSource.getFloat(key);
-
-            if (value.isPresent()) {
-                return value;
-            }
-        }
-        return Optional.empty();
+        return config.getValueCache().get(key, Float.class, () -> resolveFloat(key));
     }
 
     public Optional<Integer> getListSize(String key) {
 
         int listSize = -1;
 
-        for (ConfigurationSource configurationSource : config.getConfigurationSources()) {
+        for (ConfigurationSource configurationSource : config.getSourceChain()) {
+
+            if (!configurationSource.getKeyFilter().mightContain(key)) {
+                continue;
+            }
 
             Optional<Integer> currentListSize = configurationSource.getListSize(key);
 
@@ -151,23 +119,33 @@ public class ConfigurationUtil {
     }
 
     public void set(String key, String value) {
-        config.getConfigurationSources().get(0).set(key, value);
+        config.getSourceChain()[0].set(key, value);
+        config.getValueCache().invalidate(key);
+        config.getDispatcher().markChanged();
     }
 
     public void set(String key, Boolean value) {
-        config.getConfigurationSources().get(0).set(key, value);
+        config.getSourceChain()[0].set(key, value);
+        config.getValueCache().invalidate(key);
+        config.getDispatcher().markChanged();
     }
 
     public void set(String key, Integer value) {
-        config.getConfigurationSources().get(0).set(key, value);
+        config.getSourceChain()[0].set(key, value);
+        config.getValueCache().invalidate(key);
+        config.getDispatcher().markChanged();
     }
 
     public void set(String key, Double value) {
-        config.getConfigurationSources().get(0).set(key, value);
+        config.getSourceChain()[0].set(key, value);
+        config.getValueCache().invalidate(key);
+        config.getDispatcher().markChanged();
     }
 
     public void set(String key, Float value) {
-        config.getConfigurationSources().get(0).set(key, value);
+        config.getSourceChain()[0].set(key, value);
+        config.getValueCache().invalidate(key);
+        config.getDispatcher().markChanged();
     }
 
     public Optional<ConfigurationValueType> getType(String key) {
@@ -182,137 +160,429 @@ public class ConfigurationUtil {
         }
 
         // get the key value from sources according to priorities and determine its type
-        Optional<String> value = get(key);
+        return get(key).map(ConfigurationUtil::getValueType);
+    }
+
+    public Optional<List<String>> getMapKeys(String key) {
+
+        Set<String> mapKeys = new HashSet<>();
+
+        for (ConfigurationSource configurationSource : config.getSourceChain()) {
+
+            if (!configurationSource.getKeyFilter().mightContain(key)) {
+                continue;
+            }
+
+            Optional<List<String>> value = configurationSource.getMapKeys(key);
+
+            if (value.isPresent()) {
+
+                for (String s : value.get()) {
+
+                    if (!mapKeys.contains(s.replace("-", ""))) {
+                        mapKeys.add(s);
+                    }
+                }
+            }
+        }
 
-        if (!value.isPresent()) {
+        if (mapKeys.isEmpty()) {
             return Optional.empty();
         }
 
-        if ("true".equals(value.get().toLowerCase()) || "false".equals(value.get().toLowerCase())) {
-            return Optional.of(ConfigurationValueType.BOOLEAN);
+        return Optional.of(new ArrayList<>(mapKeys));
+    }
+
+    /**
+     * Returns a snapshot of the current configuration. The snapshot is shared by all callers until the next change
+     * reported to the configuration dispatcher, so taking a snapshot is cheap. On the first call after a change, the
+     * state of all configuration sources is copied and the new snapshot is published atomically. Changes of environment
+     * variables or system properties made outside of this class are not reported and do not invalidate the snapshot.
+     *
+     * @return configuration snapshot
+     */
+    public ConfigurationSnapshot getSnapshot() {
+
+        ConfigurationDispatcher dispatcher = config.getDispatcher();
+        ConfigurationSnapshot currentSnapshot = snapshot;
+
+        if (currentSnapshot != null && currentSnapshot.getVersion() == dispatcher.getVersion()) {
+            return currentSnapshot;
+        }
+
+        synchronized (snapshotLock) {
+
+            currentSnapshot = snapshot;
+            long version = dispatcher.getVersion();
+
+            while (currentSnapshot == null || currentSnapshot.getVersion() != version) {
+
+                ConfigurationSource[] sourceChain = config.getSourceChain();
+                ConfigurationSource[] sources = new ConfigurationSource[sourceChain.length];
+
+                for (int i = 0; i < sourceChain.length; i++) {
+                    sources[i] = sourceChain[i].snapshot();
+                }
+
+                long currentVersion = dispatcher.getVersion();
+
+                // a change reported while the sources were copied may be only partially contained in the copies
+                if (currentVersion == version) {
+                    currentSnapshot = new ConfigurationSnapshot(version, sources, config);
+                    snapshot = currentSnapshot;
+                } else {
+                    version = currentVersion;
+                }
+            }
+
+            return currentSnapshot;
+        }
+    }
+
+    public void subscribe(String key, ConfigurationListener listener) {
+
+        config.getDispatcher().subscribe(listener);
+
+        for (ConfigurationSource configurationSource : config.getSourceChain()) {
+            configurationSource.watch(key);
+        }
+    }
+
+    /**
+     * Subscribes the listener to changes of the given key only. Unlike {@link #subscribe(String,
+     * ConfigurationListener)}, the listener is not notified of changes of other keys.
+     *
+     * @param key      configuration key
+     * @param listener configuration listener
+     */
+    public void subscribeKey(String key, ConfigurationListener listener) {
+
+        config.getDispatcher().subscribe(key, listener);
+
+        for (ConfigurationSource configurationSource : config.getSourceChain()) {
+            configurationSource.watch(key);
+        }
+    }
+
+    /**
+     * Subscribes the listener to changes of the given key and all keys nested under it.
+     *
+     * @param prefix   configuration key prefix
+     * @param listener configuration listener
+     */
+    public void subscribePrefix(String prefix, ConfigurationListener listener) {
+
+        config.getDispatcher().subscribePrefix(prefix, listener);
+
+        for (ConfigurationSource configurationSource : config.getSourceChain()) {
+            configurationSource.watch(prefix);
+        }
+    }
+
+    public void unsubscribe(ConfigurationListener listener) {
+        config.getDispatcher().unsubscribe(listener);
+    }
+
+    /**
+     * @return view of the configuration sources, see {@link ConfigurationImpl#getConfigurationSources()}
+     */
+    public List<ConfigurationSource> getConfigurationSources() {
+        return config.getConfigurationSources();
+    }
+
+    public ConfigurationDecoder getConfigurationDecoder() {
+        return config.getConfigurationDecoder();
+    }
+
+    public ConfigurationValueCache getValueCache() {
+        return config.getValueCache();
+    }
+
+    public ConfigurationDecoderCache getDecoderCache() {
+        return config.getDecoderCache();
+    }
+
+    /**
+     * Decodes all encoded values present in the configuration sources in parallel and stores them in the decoder
+     * cache, so that slow decoders (e.g. remote key management services) are not called on first use of each key.
+     * Keys which fail to decode are logged and decoded again on first use.
+     */
+    public void preloadDecodedValues() {
+
+        ConfigurationDecoder decoder = config.getConfigurationDecoder();
+
+        if (decoder == null || !config.getDecoderCache().isEnabled()) {
+            return;
+        }
+
+        Set<String> keys = new HashSet<>();
+
+        for (ConfigurationSource configurationSource : config.getSourceChain()) {
+            keys.addAll(configurationSource.getAll("").keySet());
+        }
+
+        keys.removeIf(key -> !decoder.shouldDecode(key) || !decoder.shouldCache(key));
+
+        keys.parallelStream().forEach(key -> {
+            try {
+                resolveRaw(key);
+            } catch (RuntimeException e) {
+                if (config.isUtilLoggerAvailable()) {
+                    config.getUtilLogger().warning("Unable to decode the value of the key " + key + ": " +
+                            e.getMessage());
+                }
+            }
+        });
+    }
+
+    //// Private methods
+
+    static ConfigurationValueType getValueType(String value) {
+
+        if ("true".equals(value.toLowerCase()) || "false".equals(value.toLowerCase())) {
+            return ConfigurationValueType.BOOLEAN;
         }
 
         try {
-            Integer.valueOf(value.get());
-            return Optional.of(ConfigurationValueType.INTEGER);
+            Integer.valueOf(value);
+            return ConfigurationValueType.INTEGER;
         } catch (NumberFormatException ignored) {
         }
 
         try {
-            Long.valueOf(value.get());
-            return Optional.of(ConfigurationValueType.LONG);
+            Long.valueOf(value);
+            return ConfigurationValueType.LONG;
         } catch (NumberFormatException ignored) {
         }
 
         try {
-            Float f = Float.valueOf(value.get());
+            Float f = Float.valueOf(value);
             if (!f.isInfinite()) {
-                return Optional.of(ConfigurationValueType.FLOAT);
+                return ConfigurationValueType.FLOAT;
             }
         } catch (NumberFormatException ignored) {
         }
 
         try {
-            Double.valueOf(value.get());
-            return Optional.of(ConfigurationValueType.DOUBLE);
+            Double.valueOf(value);
+            return ConfigurationValueType.DOUBLE;
         } catch (NumberFormatException ignored) {
         }
 
-        return Optional.of(ConfigurationValueType.STRING);
-
+        return ConfigurationValueType.STRING;
     }
 
-    public Optional<List<String>> getMapKeys(String key) {
+    private Optional<Boolean> resolveBoolean(String key) {
 
-        Set<String> mapKeys = new HashSet<>();
+        for (ConfigurationSource configurationSource : config.getSourceChain()) {
 
-        for (ConfigurationSource configurationSource : config.getConfigurationSources()) {
+            if (!configurationSource.getKeyFilter().mightContain(key)) {
+                continue;
+            }
 
-            Optional<List<String>> value = configurationSource.getMapKeys(key);
+            Optional<Boolean> value = configurationSource.getBoolean(key);
 
             if (value.isPresent()) {
+                return value;
+            }
+        }
+        return Optional.empty();
+    }
 
-                for (String s : value.get()) {
+    private Optional<Integer> resolveInteger(String key) {
 
-                    if (!mapKeys.contains(s.replace("-", ""))) {
-                        mapKeys.add(s);
-                    }
-                }
+        for (ConfigurationSource configurationSource : config.getSourceChain()) {
+
+            if (!configurationSource.getKeyFilter().mightContain(key)) {
+                continue;
             }
-        }
 
-        if (mapKeys.isEmpty()) {
-            return Optional.empty();
-        }
+            Optional<Integer> value = configurationSource.getInteger(key);
 
-        return Optional.of(new ArrayList<>(mapKeys));
+            if (value.isPresent()) {
+                return value;
+            }
+        }
+        return Optional.empty();
     }
 
-    public void subscribe(String key, ConfigurationListener listener) {
+    private Optional<Long> resolveLong(String key) {
 
-        config.getDispatcher().subscribe(listener);
+        for (ConfigurationSource configurationSource : config.getSourceChain()) {
 
-        for (ConfigurationSource configurationSource : config.getConfigurationSources()) {
-            configurationSource.watch(key);
+            if (!configurationSource.getKeyFilter().mightContain(key)) {
+                continue;
+            }
+
+            Optional<Long> value = configurationSource.getLong(key);
+
+            if (value.isPresent()) {
+                return value;
+            }
         }
+        return Optional.empty();
     }
 
-    public void unsubscribe(ConfigurationListener listener) {
-        config.getDispatcher().unsubscribe(listener);
+    private Optional<Double> resolveDouble(String key) {
+
+        for (ConfigurationSource configurationSource : config.getSourceChain()) {
+
+            if (!configurationSource.getKeyFilter().mightContain(key)) {
+                continue;
+            }
+
+            Optional<Double> value = configurationSource.getDouble(key);
+
+            if (value.isPresent()) {
+                return value;
+            }
+        }
+        return Optional.empty();
     }
 
-    public List<ConfigurationSource> getConfigurationSources() {
-        return Collections.unmodifiableList(this.config.getConfigurationSources());
+    private Optional<Float> resolveFloat(String key) {
+
+        for (ConfigurationSource configurationSource : config.getSourceChain()) {
+
+            if (!configurationSource.getKeyFilter().mightContain(key)) {
+                continue;
+            }
+
+            Optional<Float> value = configurationSource.getFloat(key);
+
+            if (value.isPresent()) {
+                return value;
+            }
+        }
+        return Optional.empty();
     }
 
-    public ConfigurationDecoder getConfigurationDecoder() {
-        return config.getConfigurationDecoder();
+    private Optional<String> resolve(String key) {
+        return resolveRaw(key).map(value -> interpolate(key, value));
     }
 
-    //// Private methods
+    private Optional<String> resolveRaw(String key) {
 
-    private Optional<String> get(String key, Set<String> processingKeys) {
+        for (ConfigurationSource configurationSource : config.getSourceChain()) {
 
-        for (ConfigurationSource configurationSource : config.getConfigurationSources()) {
+            if (!configurationSource.getKeyFilter().mightContain(key)) {
+                continue;
+            }
 
             Optional<String> value = configurationSource.get(key);
 
             if (value.isPresent()) {
-
-                return Optional.of(interpolateString(
-                        key, ConfigurationDecoderUtils.decodeConfigValueIfEncoded(key, value.get()), processingKeys));
+                return Optional.of(config.getDecoderCache().decode(key, value.get()));
             }
         }
 
         return Optional.empty();
     }
 
-    private String interpolateString(String key, String s, Set<String> processingKeys) {
+    private String interpolate(String key, String value) {
 
-        if (processingKeys.contains(key)) {
+        if (!ConfigurationTemplate.hasReferences(value)) {
+            return value;
+        }
 
-            if (config.isUtilLoggerAvailable()) {
+        ConfigurationTemplate template = config.getTemplateCache().get(key, value);
 
+        // templates with cycles are recompiled, so they recover once the cycle is resolved
+        if (template == null || template.hasDisabledReferences()) {
+            template = compileTemplate(key, value);
+        } else {
+            // the dependencies are dropped when a referenced key is invalidated, while the template is reused
+            for (String reference : template.getReferences()) {
+                config.getValueCache().addDependency(reference, key);
+            }
+        }
+
+        // guards against cycles introduced by concurrent changes of several keys after their templates were compiled
+        int depth = interpolationDepth.get()[0]++;
+
+        try {
+            if (depth > MAX_INTERPOLATION_DEPTH) {
+
+                if (config.isUtilLoggerAvailable()) {
+                    config.getUtilLogger().warning("Detected cycle when interpolating configuration key: " + key);
+                }
+
+                return "";
+            }
+
+            return template.render(this::get);
+        } finally {
+            interpolationDepth.get()[0]--;
+        }
+    }
+
+    /**
+     * Compiles the value of the key into a template. References which lead back to the key form a cycle and are
+     * rendered as empty strings.
+     *
+     * @param key   configuration key
+     * @param value raw value of the key
+     * @return compiled template
+     */
+    private ConfigurationTemplate compileTemplate(String key, String value) {
+
+        ConfigurationTemplate template = ConfigurationTemplate.compile(value);
+
+        Set<String> cyclicReferences = new HashSet<>();
+        Set<String> visited = new HashSet<>();
+
+        for (String reference : template.getReferences()) {
+
+            config.getValueCache().addDependency(reference, key);
+
+            if (isReachable(reference, key, visited)) {
+                cyclicReferences.add(reference);
+            }
+        }
+
+        if (!cyclicReferences.isEmpty()) {
+
+            if (config.isUtilLoggerAvailable()) {
                 config.getUtilLogger().warning("Detected cycle when interpolating configuration key: " + key);
             }
 
-            return "";
+            template = template.withoutReferences(cyclicReferences);
         }
 
-        processingKeys.add(key);
+        config.getTemplateCache().put(key, template);
+
+        return template;
+    }
+
+    private boolean isReachable(String fromKey, String toKey, Set<String> visited) {
 
-        int startIndex;
-        while ((startIndex = s.indexOf("${")) >= 0) {
+        if (fromKey.equals(toKey)) {
+            return true;
+        }
 
-            int endIndex = s.indexOf("}", startIndex + 2);
-            String newKey = s.substring(startIndex + 2, endIndex);
+        if (!visited.add(fromKey)) {
+            return false;
+        }
 
-            String replacement = get(newKey, processingKeys).orElse("");
-            processingKeys.remove(newKey);
+        Optional<String> value = resolveRaw(fromKey);
 
-            s = s.substring(0, startIndex) + replacement + s.substring(endIndex + 1);
+        if (!value.isPresent() || !ConfigurationTemplate.hasReferences(value.get())) {
+            return false;
+        }
+
+        ConfigurationTemplate template = config.getTemplateCache().get(fromKey, value.get());
+
+        if (template == null) {
+            template = ConfigurationTemplate.compile(value.get());
+        }
+
+        for (String reference : template.getReferences()) {
+
+            if (isReachable(reference, toKey, visited)) {
+                return true;
+            }
         }
 
-        return s;
+        return false;
     }
 }
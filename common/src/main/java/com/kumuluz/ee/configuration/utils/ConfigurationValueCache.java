@@ -0,0 +1,202 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.configuration.utils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Cache of resolved (decoded, interpolated and parsed) configuration values, keyed by configuration key and target
+ * type. Entries are invalidated through {@link ConfigurationDispatcher#notifyChange(String, String)} and
+ * {@link ConfigurationUtil#set(String, String)}, including the entries of keys which interpolate the changed key.
+ *
+ * @since 3.10.0
+ */
+public class ConfigurationValueCache {
+
+    private final boolean enabled;
+
+    private final Map<String, Map<Class<?>, Optional<?>>> values = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> dependents = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ConfigurationValueCache(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the cached value for the given key and type or resolves and caches it.
+     *
+     * @param key      configuration key
+     * @param type     type of the resolved value
+     * @param resolver resolves the value on a cache miss
+     * @param <T>      type of the resolved value
+     * @return resolved value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> get(String key, Class<T> type, Supplier<Optional<T>> resolver) {
+
+        if (!enabled) {
+            return resolver.get();
+        }
+
+        Map<Class<?>, Optional<?>> typedValues = values.get(key);
+
+        if (typedValues != null) {
+
+            Optional<?> value = typedValues.get(type);
+
+            if (value != null) {
+                hits.increment();
+                return (Optional<T>) value;
+            }
+        }
+
+        misses.increment();
+
+        // the resolver may recursively query the cache, so the value is resolved outside of any map operations and
+        // is discarded if an invalidation happened in the meantime
+        long currentGeneration = generation.get();
+
+        Optional<T> value = resolver.get();
+
+        // the generation is checked and the value stored atomically with respect to the removal of the key, an
+        // invalidation which advances the generation after the check removes the stored value once it is stored
+        values.compute(key, (k, currentValues) -> {
+
+            if (generation.get() != currentGeneration) {
+                return currentValues;
+            }
+
+            Map<Class<?>, Optional<?>> updatedValues = (currentValues != null) ? currentValues :
+                    new ConcurrentHashMap<>();
+
+            updatedValues.put(type, value);
+
+            return updatedValues;
+        });
+
+        return value;
+    }
+
+    /**
+     * Registers that the value of the dependent key is built from the value of the given key.
+     *
+     * @param key          referenced configuration key
+     * @param dependentKey configuration key, which references the key
+     */
+    public void addDependency(String key, String dependentKey) {
+
+        if (enabled) {
+            dependents.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(dependentKey);
+        }
+    }
+
+    /**
+     * Invalidates the given key and all keys which depend on it.
+     *
+     * @param key configuration key
+     */
+    public void invalidate(String key) {
+
+        if (enabled) {
+            invalidate(key, new HashSet<>());
+        }
+    }
+
+    public void clear() {
+
+        generation.incrementAndGet();
+        values.clear();
+        dependents.clear();
+
+        for (Consumer<String> listener : invalidationListeners) {
+            listener.accept(null);
+        }
+    }
+
+    /**
+     * Registers a listener, which is notified of every invalidated key, so caches derived from configuration values
+     * can be invalidated together with this cache. The listener receives null when the whole cache is cleared.
+     *
+     * @param listener invalidation listener
+     */
+    public void addInvalidationListener(Consumer<String> listener) {
+        invalidationListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener registered with {@link #addInvalidationListener(Consumer)}. May be called from within the
+     * listener.
+     *
+     * @param listener invalidation listener
+     */
+    public void removeInvalidationListener(Consumer<String> listener) {
+        invalidationListeners.remove(listener);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    private void invalidate(String key, Set<String> invalidated) {
+
+        if (!invalidated.add(key)) {
+            return;
+        }
+
+        generation.incrementAndGet();
+        values.remove(key);
+
+        for (Consumer<String> listener : invalidationListeners) {
+            listener.accept(key);
+        }
+
+        Set<String> keyDependents = dependents.remove(key);
+
+        if (keyDependents != null) {
+            for (String dependentKey : keyDependents) {
+                invalidate(dependentKey, invalidated);
+            }
+        }
+    }
+}
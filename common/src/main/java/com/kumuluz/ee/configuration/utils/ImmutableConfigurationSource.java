@@ -0,0 +1,159 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.configuration.utils;
+
+import com.kumuluz.ee.configuration.ConfigurationSource;
+
+import java.util.*;
+
+/**
+ * Immutable configuration source holding a copy of the flattened values of another source, used as its state in
+ * configuration snapshots.
+ *
+ * @since 3.10.0
+ */
+final class ImmutableConfigurationSource implements ConfigurationSource {
+
+    private final ConfigurationIndex index;
+    private final ConfigurationKeyFilter keyFilter;
+    private final Integer ordinal;
+
+    ImmutableConfigurationSource(Map<String, String> values, Integer ordinal) {
+        this.index = ConfigurationIndex.fromKeys(values);
+        this.keyFilter = ConfigurationKeyFilter.ofKeys(values.keySet());
+        this.ordinal = ordinal;
+    }
+
+    @Override
+    public void init(ConfigurationDispatcher configurationDispatcher) {
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+
+        Object value = index.getValue(key);
+
+        return (value instanceof String) ? Optional.of((String) value) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Boolean> getBoolean(String key) {
+        return get(key).map(Boolean::valueOf);
+    }
+
+    @Override
+    public Optional<Integer> getInteger(String key) {
+
+        try {
+            return get(key).map(Integer::valueOf);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<Long> getLong(String key) {
+
+        try {
+            return get(key).map(Long::valueOf);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<Double> getDouble(String key) {
+
+        try {
+            return get(key).map(Double::valueOf);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<Float> getFloat(String key) {
+
+        try {
+            return get(key).map(Float::valueOf);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<Integer> getListSize(String key) {
+        return index.getListSize(key);
+    }
+
+    @Override
+    public Optional<List<String>> getMapKeys(String key) {
+        return index.getMapKeys(key);
+    }
+
+    @Override
+    public Map<String, String> getAll(String prefix) {
+        return ConfigurationSourceUtils.getAll(prefix, index.getKeys(), this::getOrNull);
+    }
+
+    @Override
+    public ConfigurationKeyFilter getKeyFilter() {
+        return keyFilter;
+    }
+
+    @Override
+    public ConfigurationSource snapshot() {
+        return this;
+    }
+
+    @Override
+    public void watch(String key) {
+    }
+
+    @Override
+    public void set(String key, String value) {
+    }
+
+    @Override
+    public void set(String key, Boolean value) {
+    }
+
+    @Override
+    public void set(String key, Integer value) {
+    }
+
+    @Override
+    public void set(String key, Double value) {
+    }
+
+    @Override
+    public void set(String key, Float value) {
+    }
+
+    @Override
+    public Integer getOrdinal() {
+        return ordinal;
+    }
+
+    private String getOrNull(String key) {
+        return get(key).orElse(null);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.logs.impl;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Timestamp format with millisecond precision, which only formats the date and time once per second and appends the
+ * milliseconds to the cached text. Zone offsets only change at whole seconds, so the cached text stays valid for the
+ * whole second. Instances are not thread safe.
+ *
+ * @since 3.10.0
+ */
+final class CachedTimestampFormat {
+
+    private final ZoneId zone;
+    private final DateTimeFormatter secondsFormat;
+    private final DateTimeFormatter suffixFormat;
+
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedPrefix;
+    private String cachedSuffix;
+
+    /**
+     * @param zone          zone of the timestamps
+     * @param secondsFormat format of the timestamp up to the seconds, followed by the separator of the milliseconds
+     * @param suffixFormat  format of the text following the milliseconds or null
+     */
+    CachedTimestampFormat(ZoneId zone, DateTimeFormatter secondsFormat, DateTimeFormatter suffixFormat) {
+        this.zone = zone;
+        this.secondsFormat = secondsFormat;
+        this.suffixFormat = suffixFormat;
+    }
+
+    void appendTo(StringBuilder sb, long millis) {
+
+        long second = Math.floorDiv(millis, 1000L);
+
+        if (second != cachedSecond) {
+
+            ZonedDateTime dateTime = Instant.ofEpochSecond(second).atZone(zone);
+
+            cachedPrefix = secondsFormat.format(dateTime);
+            cachedSuffix = (suffixFormat != null) ? suffixFormat.format(dateTime) : "";
+            cachedSecond = second;
+        }
+
+        int milliOfSecond = (int) Math.floorMod(millis, 1000L);
+
+        sb.append(cachedPrefix);
+
+        if (milliOfSecond < 100) {
+            sb.append('0');
+        }
+
+        if (milliOfSecond < 10) {
+            sb.append('0');
+        }
+
+        sb.append(milliOfSecond).append(cachedSuffix);
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.logs.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.*;
+
+/**
+ * Console handler which formats and writes records on a single background thread. Records are passed to the writer
+ * through a bounded ring buffer, written to <tt>System.out</tt> in batches and flushed once the buffer is drained or
+ * the flush interval expires.
+ * <p>
+ * When the buffer is full, records are handled according to the {@link OverflowPolicy}. Closing the handler, which is
+ * also done by the {@link LogManager} on shutdown, writes all buffered records; records published afterwards are
+ * written synchronously.
+ *
+ * @since 3.10.0
+ */
+public class JavaUtilAsyncConsoleHandler extends Handler {
+
+    public enum OverflowPolicy {
+
+        /**
+         * Publishing threads wait for free space.
+         */
+        BLOCK,
+
+        /**
+         * Records are dropped and counted.
+         */
+        DROP,
+
+        /**
+         * Records below {@link Level#WARNING} are dropped and counted, other records wait for free space.
+         */
+        DROP_LOWER;
+
+        public static OverflowPolicy fromString(String value) {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        }
+    }
+
+    private final PrintStream out;
+    private final LogRecordRingBuffer buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final long flushIntervalNanos;
+
+    private final Thread writerThread;
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private volatile boolean writerWaiting;
+    private volatile boolean closed;
+
+    private final ByteArrayOutputStream batch = new ByteArrayOutputStream(8192);
+    private Writer batchWriter;
+    private long reportedDroppedCount;
+
+    /**
+     * Create a <tt>JavaUtilAsyncConsoleHandler</tt> for <tt>System.out</tt>.
+     *
+     * @param capacity            maximum number of buffered records
+     * @param overflowPolicy      handling of records published when the buffer is full
+     * @param flushIntervalMillis maximum time records are written without flushing <tt>System.out</tt>
+     */
+    public JavaUtilAsyncConsoleHandler(int capacity, OverflowPolicy overflowPolicy, long flushIntervalMillis) {
+
+        this.out = System.out;
+        this.buffer = new LogRecordRingBuffer(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
+        this.batchWriter = new OutputStreamWriter(batch, Charset.defaultCharset());
+
+        setLevel(Level.INFO);
+        setFormatter(new JavaUtilFormatter());
+
+        writerThread = new Thread(this::writeRecords, "kumuluzee-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public synchronized void setEncoding(String encoding) throws UnsupportedEncodingException {
+
+        super.setEncoding(encoding);
+
+        batchWriter = new OutputStreamWriter(batch, (encoding == null) ? Charset.defaultCharset().name() : encoding);
+    }
+
+    /**
+     * Publish a <tt>LogRecord</tt>.
+     * <p>
+     * The record is formatted and written by the writer thread. If the buffer is full, the record is handled
+     * according to the overflow policy.
+     * <p>
+     * @param  record  description of the log event. A null record is
+     *                 silently ignored and is not published
+     */
+    @Override
+    public void publish(LogRecord record) {
+
+        if (!isLoggable(record)) {
+            return;
+        }
+
+        // the caller can only be inferred on the publishing thread
+        record.getSourceClassName();
+
+        if (closed || Thread.currentThread() == writerThread) {
+            writeSynchronously(record);
+            return;
+        }
+
+        if (!buffer.offer(record)) {
+
+            boolean drop = overflowPolicy == OverflowPolicy.DROP || (overflowPolicy == OverflowPolicy.DROP_LOWER &&
+                    record.getLevel().intValue() < Level.WARNING.intValue());
+
+            if (drop) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+
+            while (!buffer.offer(record)) {
+
+                if (closed) {
+                    writeSynchronously(record);
+                    return;
+                }
+
+                LockSupport.unpark(writerThread);
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            }
+        }
+
+        if (closed) {
+            // the writer thread may have already finished
+            drain();
+        } else if (writerWaiting) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * Requests the writer thread to write and flush the buffered records.
+     */
+    @Override
+    public void flush() {
+        LockSupport.unpark(writerThread);
+    }
+
+    /**
+     * Writes all buffered records and stops the writer thread. <tt>System.out</tt> is not closed.
+     */
+    @Override
+    public void close() {
+
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        LockSupport.unpark(writerThread);
+
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // nothing is left, unless the writer thread was interrupted or failed
+        drain();
+    }
+
+    /**
+     * @return number of records dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void writeRecords() {
+
+        long lastFlush = System.nanoTime();
+
+        while (true) {
+
+            boolean closing = closed;
+            LogRecord record;
+
+            synchronized (this) {
+
+                while ((record = buffer.poll()) != null) {
+
+                    append(record);
+
+                    if (System.nanoTime() - lastFlush >= flushIntervalNanos) {
+                        writeBatch();
+                        lastFlush = System.nanoTime();
+                    }
+                }
+
+                reportDroppedRecords();
+
+                if (batch.size() > 0) {
+                    writeBatch();
+                    lastFlush = System.nanoTime();
+                }
+            }
+
+            if (closing) {
+                return;
+            }
+
+            writerWaiting = true;
+
+            if (buffer.isEmpty() && !closed) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+
+            writerWaiting = false;
+        }
+    }
+
+    private synchronized void drain() {
+
+        LogRecord record;
+
+        while ((record = buffer.poll()) != null) {
+            append(record);
+        }
+
+        writeBatch();
+    }
+
+    private void writeSynchronously(LogRecord record) {
+
+        synchronized (this) {
+            append(record);
+            writeBatch();
+        }
+    }
+
+    private void append(LogRecord record) {
+
+        String message;
+
+        try {
+            message = getFormatter().format(record);
+        } catch (RuntimeException e) {
+            reportError(null, e, ErrorManager.FORMAT_FAILURE);
+            return;
+        }
+
+        try {
+            batchWriter.write(message);
+        } catch (IOException e) {
+            reportError(null, e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    private void reportDroppedRecords() {
+
+        long dropped = droppedCount.get();
+
+        if (dropped != reportedDroppedCount) {
+
+            LogRecord record = new LogRecord(Level.WARNING, (dropped - reportedDroppedCount) +
+                    " log records were dropped because the log buffer of " + buffer.capacity() + " records was full");
+            record.setLoggerName(JavaUtilAsyncConsoleHandler.class.getName());
+
+            append(record);
+
+            reportedDroppedCount = dropped;
+        }
+    }
+
+    private void writeBatch() {
+
+        try {
+            batchWriter.flush();
+
+            if (batch.size() > 0) {
+                batch.writeTo(out);
+                batch.reset();
+            }
+
+            out.flush();
+        } catch (IOException e) {
+            batch.reset();
+            reportError(null, e, ErrorManager.FLUSH_FAILURE);
+        }
+    }
+}
@@ -16,7 +16,17 @@ public class JavaUtilDefaultLogConfigurator {
 
             Logger rootLogger = LogManager.getLogManager().getLogger("");
 
-            JavaUtilConsoleHandler handler = new JavaUtilConsoleHandler();
+            Handler handler;
+
+            if (Boolean.getBoolean("com.kumuluz.ee.logs.async")) {
+                handler = createAsyncConsoleHandler();
+            } else {
+                handler = new JavaUtilConsoleHandler();
+            }
+
+            if ("json".equalsIgnoreCase(System.getProperty("com.kumuluz.ee.logs.format"))) {
+                handler.setFormatter(new JavaUtilJsonFormatter());
+            }
 
             rootLogger.addHandler(handler);
         } else {
@@ -34,6 +44,23 @@ public class JavaUtilDefaultLogConfigurator {
         }
     }
 
+    private static JavaUtilAsyncConsoleHandler createAsyncConsoleHandler() {
+
+        int capacity = Integer.getInteger("com.kumuluz.ee.logs.async.capacity", 8192);
+        long flushInterval = Long.getLong("com.kumuluz.ee.logs.async.flush-interval", 100L);
+
+        JavaUtilAsyncConsoleHandler.OverflowPolicy overflowPolicy;
+
+        try {
+            overflowPolicy = JavaUtilAsyncConsoleHandler.OverflowPolicy.fromString(
+                    System.getProperty("com.kumuluz.ee.logs.async.overflow", "block"));
+        } catch (IllegalArgumentException e) {
+            overflowPolicy = JavaUtilAsyncConsoleHandler.OverflowPolicy.BLOCK;
+        }
+
+        return new JavaUtilAsyncConsoleHandler(capacity, overflowPolicy, flushInterval);
+    }
+
     public static void initSoleHandler(Handler handler) {
 
         LogManager.getLogManager().reset();
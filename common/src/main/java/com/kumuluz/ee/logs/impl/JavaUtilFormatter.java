@@ -2,26 +2,35 @@ package com.kumuluz.ee.logs.impl;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.time.Instant;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Date;
 import java.util.logging.Formatter;
 import java.util.logging.LogRecord;
 
 public class JavaUtilFormatter extends Formatter {
 
-    private static final DateTimeFormatter timestampFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final DateTimeFormatter timestampFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.");
+
+    private static final int MAX_CACHED_BUILDER_CAPACITY = 16384;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final ThreadLocal<FormatState> formatState = ThreadLocal.withInitial(FormatState::new);
 
     @Override
     public String format(LogRecord record) {
 
-        ZonedDateTime zonedDateTime = Instant.ofEpochMilli(record.getMillis()).atZone(ZoneId.systemDefault());
+        FormatState state = formatState.get();
+        StringBuilder sb = state.builder;
 
-        String source = record.getSourceClassName() != null ? record.getSourceClassName() : record.getLoggerName();
-        String message = formatMessage(record);
-        String throwable = "";
+        sb.setLength(0);
+
+        state.timestampFormat.appendTo(sb, record.getMillis());
+
+        sb.append(' ').append(record.getLevel().getName()).append(" -- ")
+                .append(record.getSourceClassName() != null ? record.getSourceClassName() : record.getLoggerName())
+                .append(" -- ")
+                .append(formatMessage(record));
 
         if (record.getThrown() != null) {
 
@@ -30,12 +39,24 @@ public class JavaUtilFormatter extends Formatter {
             pw.println();
             record.getThrown().printStackTrace(pw);
             pw.close();
-            throwable = sw.toString();
+            sb.append(sw.getBuffer());
+        }
+
+        String formatted = sb.append('\n').toString();
+
+        // do not keep the buffer of an exceptionally long record
+        if (sb.capacity() > MAX_CACHED_BUILDER_CAPACITY) {
+            state.builder = new StringBuilder(256);
         }
 
-        return zonedDateTime.format(timestampFormat) + " " +
-                record.getLevel().getName() + " -- " +
-                source + " -- " +
-                message + throwable + "\n";
+        return formatted;
+    }
+
+    private class FormatState {
+
+        private final CachedTimestampFormat timestampFormat =
+                new CachedTimestampFormat(zone, JavaUtilFormatter.timestampFormat, null);
+
+        private StringBuilder builder = new StringBuilder(256);
     }
 }
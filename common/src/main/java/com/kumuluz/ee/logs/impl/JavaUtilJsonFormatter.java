@@ -0,0 +1,145 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.logs.impl;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.logging.Formatter;
+import java.util.logging.LogRecord;
+
+/**
+ * Formats records as JSON objects, one per line. The timestamp is written in the ISO-8601 format with the zone offset,
+ * for example <tt>{"timestamp":"2019-05-01T12:00:00.123+02:00","level":"INFO","logger":"com.example.Resource",
+ * "source":"com.example.Resource","thread":1,"message":"Started"}</tt>. The <tt>exception</tt> field with the stack
+ * trace is only written for records with a throwable.
+ *
+ * @since 3.10.0
+ */
+public class JavaUtilJsonFormatter extends Formatter {
+
+    private static final DateTimeFormatter secondsFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.");
+    private static final DateTimeFormatter offsetFormat = DateTimeFormatter.ofPattern("XXX");
+
+    private static final int MAX_CACHED_BUILDER_CAPACITY = 16384;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final ThreadLocal<FormatState> formatState = ThreadLocal.withInitial(FormatState::new);
+
+    @Override
+    public String format(LogRecord record) {
+
+        FormatState state = formatState.get();
+        StringBuilder sb = state.builder;
+
+        sb.setLength(0);
+
+        sb.append("{\"timestamp\":\"");
+        state.timestampFormat.appendTo(sb, record.getMillis());
+
+        sb.append("\",\"level\":\"").append(record.getLevel().getName()).append('"');
+
+        appendField(sb, "logger", record.getLoggerName());
+        appendField(sb, "source", record.getSourceClassName());
+
+        sb.append(",\"thread\":").append(getThreadId(record));
+
+        appendField(sb, "message", formatMessage(record));
+
+        if (record.getThrown() != null) {
+
+            StringWriter sw = new StringWriter();
+            PrintWriter pw = new PrintWriter(sw);
+            record.getThrown().printStackTrace(pw);
+            pw.close();
+
+            appendField(sb, "exception", sw.getBuffer());
+        }
+
+        String formatted = sb.append("}\n").toString();
+
+        // do not keep the buffer of an exceptionally long record
+        if (sb.capacity() > MAX_CACHED_BUILDER_CAPACITY) {
+            state.builder = new StringBuilder(256);
+        }
+
+        return formatted;
+    }
+
+    // getLongThreadID replaces it since Java 16, while Java 8 is still supported; the name of the logging thread is
+    // not recorded and records may be formatted on another thread by asynchronous handlers
+    @SuppressWarnings("deprecation")
+    private static int getThreadId(LogRecord record) {
+        return record.getThreadID();
+    }
+
+    private static void appendField(StringBuilder sb, String name, CharSequence value) {
+
+        if (value == null) {
+            return;
+        }
+
+        sb.append(",\"").append(name).append("\":\"");
+
+        for (int i = 0; i < value.length(); i++) {
+
+            char c = value.charAt(i);
+
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+
+        sb.append('"');
+    }
+
+    private class FormatState {
+
+        private final CachedTimestampFormat timestampFormat =
+                new CachedTimestampFormat(zone, secondsFormat, offsetFormat);
+
+        private StringBuilder builder = new StringBuilder(256);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.logs.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.LogRecord;
+
+/**
+ * Bounded lock-free queue of log records with multiple producers and a single consumer. Every slot carries a sequence
+ * number, which tells producers whether the slot is free and the consumer whether it has been published.
+ *
+ * @since 3.10.0
+ */
+final class LogRecordRingBuffer {
+
+    private final int mask;
+    private final AtomicReferenceArray<LogRecord> records;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    // only accessed by the consumer
+    private long head;
+
+    LogRecordRingBuffer(int capacity) {
+
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+
+        mask = size - 1;
+        records = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false, if the buffer is full
+     */
+    boolean offer(LogRecord record) {
+
+        long position;
+        int index;
+
+        while (true) {
+
+            position = tail.get();
+            index = (int) position & mask;
+
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+        }
+
+        records.lazySet(index, record);
+        sequences.set(index, position + 1);
+
+        return true;
+    }
+
+    /**
+     * May only be called by the consumer.
+     *
+     * @return oldest record or null, if the buffer is empty
+     */
+    LogRecord poll() {
+
+        int index = (int) head & mask;
+
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+
+        LogRecord record = records.get(index);
+
+        records.lazySet(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+
+        return record;
+    }
+
+    boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.common.index;
+
+import com.kumuluz.ee.common.dependencies.EeComponentDependency;
+import com.kumuluz.ee.common.dependencies.EeComponentOptional;
+import com.kumuluz.ee.common.dependencies.EeComponentType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * @since 3.10.0
+ */
+@EeComponentDependency(EeComponentType.CDI)
+@EeComponentDependency(value = EeComponentType.JPA, implementations = {"Hibernate", "EclipseLink"})
+@EeComponentOptional(value = EeComponentType.JAX_RS, implementations = "Jersey")
+public class EeIndexTest {
+
+    @Test
+    public void testEntryRoundTrip() {
+
+        EeIndexEntry entry = new EeIndexEntry(EeIndex.Kind.EXTENSION, EeIndexTest.class.getName(),
+                EeIndexTest.class.getDeclaredAnnotationsByType(EeComponentDependency.class),
+                EeIndexTest.class.getDeclaredAnnotationsByType(EeComponentOptional.class));
+
+        EeIndexEntry parsed = EeIndexEntry.parse(entry.toLine());
+
+        Assert.assertNotNull(parsed);
+        Assert.assertEquals(EeIndex.Kind.EXTENSION, parsed.getKind());
+        Assert.assertEquals(EeIndexTest.class.getName(), parsed.getClassName());
+        Assert.assertArrayEquals(entry.getDependencies(), parsed.getDependencies());
+        Assert.assertArrayEquals(entry.getOptionalDependencies(), parsed.getOptionalDependencies());
+
+        Assert.assertEquals(EeComponentType.JPA, parsed.getDependencies()[1].value());
+        Assert.assertArrayEquals(new String[]{"Hibernate", "EclipseLink"},
+                parsed.getDependencies()[1].implementations());
+        Assert.assertEquals(0, parsed.getDependencies()[0].implementations().length);
+    }
+
+    @Test
+    public void testReadSkipsInvalidLines() throws Exception {
+
+        String index = "component\tcom.example.First\t\t\n" +
+                "unknown\tcom.example.Second\t\t\n" +
+                "component\tcom.example.Third\n" +
+                "component\tcom.example.Fourth\tNOT_A_TYPE\t\n" +
+                "server\tcom.example.Fifth\tSERVLET\t\n";
+
+        List<EeIndexEntry> entries = EeIndex.readEntries(new StringReader(index));
+
+        Assert.assertEquals(2, entries.size());
+        Assert.assertEquals("com.example.First", entries.get(0).getClassName());
+        Assert.assertEquals(0, entries.get(0).getDependencies().length);
+        Assert.assertEquals(EeIndex.Kind.SERVER, entries.get(1).getKind());
+        Assert.assertEquals(EeComponentType.SERVLET, entries.get(1).getDependencies()[0].value());
+    }
+}
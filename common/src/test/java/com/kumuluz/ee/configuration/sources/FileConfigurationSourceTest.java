@@ -0,0 +1,176 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.configuration.sources;
+
+import com.kumuluz.ee.configuration.utils.ConfigurationDispatcher;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * @since 3.10.0
+ */
+public class FileConfigurationSourceTest {
+
+    private static final String FILE_PROPERTY = "com.kumuluz.ee.configuration.file";
+    private static final String WATCH_PROPERTY = "com.kumuluz.ee.configuration.file.watch";
+    private static final long TIMEOUT = 10000;
+
+    private Path directory;
+    private FileConfigurationSource source;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("kumuluzee-config");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+
+        if (source != null) {
+            source.stopFileWatcher();
+        }
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testReloadsModifiedFile() throws Exception {
+
+        Path file = directory.resolve("config.yml");
+        write(file, "app:\n  name: first\n");
+
+        source = createWatchedSource(file);
+        Assert.assertEquals(Optional.of("first"), source.get("app.name"));
+
+        write(file, "app:\n  name: second\n");
+
+        Assert.assertTrue(awaitValue("app.name", "second"));
+    }
+
+    @Test
+    public void testReloadsConfigMapUpdate() throws Exception {
+
+        // layout of a mounted ConfigMap: config.yml -> ..data/config.yml, ..data -> ..<timestamp>
+        write(directory.resolve("..2026_01_01_first").resolve("config.yml"), "app:\n  name: first\n");
+        Files.createSymbolicLink(directory.resolve("..data"), Paths.get("..2026_01_01_first"));
+
+        Path file = directory.resolve("config.yml");
+        Files.createSymbolicLink(file, Paths.get("..data", "config.yml"));
+
+        source = createWatchedSource(file);
+        Assert.assertEquals(Optional.of("first"), source.get("app.name"));
+
+        // the update swaps the ..data link, config.yml itself is not changed
+        write(directory.resolve("..2026_01_01_second").resolve("config.yml"), "app:\n  name: second\n");
+        Files.createSymbolicLink(directory.resolve("..data_tmp"), Paths.get("..2026_01_01_second"));
+        Files.move(directory.resolve("..data_tmp"), directory.resolve("..data"), StandardCopyOption.ATOMIC_MOVE);
+
+        Assert.assertTrue(awaitValue("app.name", "second"));
+    }
+
+    @Test
+    public void testKeepsConfigurationWhileFileIsRemoved() throws Exception {
+
+        Path file = directory.resolve("config.yml");
+        write(file, "app:\n  name: first\n");
+
+        source = createWatchedSource(file);
+
+        Files.delete(file);
+        Thread.sleep(500);
+
+        Assert.assertEquals(Optional.of("first"), source.get("app.name"));
+
+        write(file, "app:\n  name: second\n");
+
+        Assert.assertTrue(awaitValue("app.name", "second"));
+    }
+
+    @Test
+    public void testStoppedWatcherKeepsConfiguration() throws Exception {
+
+        Path file = directory.resolve("config.yml");
+        write(file, "app:\n  name: first\n");
+
+        source = createWatchedSource(file);
+        source.stopFileWatcher();
+
+        write(file, "app:\n  name: second\n");
+        Thread.sleep(500);
+
+        Assert.assertEquals(Optional.of("first"), source.get("app.name"));
+    }
+
+    private FileConfigurationSource createWatchedSource(Path file) {
+
+        FileConfigurationSource fileSource;
+
+        System.setProperty(FILE_PROPERTY, file.toString());
+        System.setProperty(WATCH_PROPERTY, "true");
+
+        try {
+            fileSource = new FileConfigurationSource();
+        } finally {
+            System.clearProperty(FILE_PROPERTY);
+            System.clearProperty(WATCH_PROPERTY);
+        }
+
+        fileSource.init(new ConfigurationDispatcher());
+
+        return fileSource;
+    }
+
+    private boolean awaitValue(String key, String value) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+
+        while (System.currentTimeMillis() < deadline) {
+
+            if (Optional.of(value).equals(source.get(key))) {
+                return true;
+            }
+
+            Thread.sleep(50);
+        }
+
+        return false;
+    }
+
+    private static void write(Path file, String content) throws IOException {
+
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.configuration.utils;
+
+import com.kumuluz.ee.configuration.ConfigurationListener;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @since 3.10.0
+ */
+public class ConfigurationDispatcherTest {
+
+    @Test
+    public void testFailingListenerDoesNotBlockOthers() {
+
+        ConfigurationDispatcher dispatcher = new ConfigurationDispatcher();
+        List<String> notified = new ArrayList<>();
+
+        dispatcher.subscribe("a.b", (key, value) -> {
+            throw new IllegalStateException("failing listener");
+        });
+        dispatcher.subscribe("a.b", (key, value) -> notified.add("key"));
+        dispatcher.subscribePrefix("a", (key, value) -> notified.add("prefix"));
+        dispatcher.subscribe((key, value) -> notified.add("all"));
+
+        dispatcher.notifyChange("a.b", "value");
+
+        Assert.assertEquals(3, notified.size());
+        Assert.assertTrue(notified.contains("key"));
+        Assert.assertTrue(notified.contains("prefix"));
+        Assert.assertTrue(notified.contains("all"));
+    }
+
+    @Test
+    public void testUnsubscribeRemovesKeyAndPrefixSubscriptions() {
+
+        ConfigurationDispatcher dispatcher = new ConfigurationDispatcher();
+        List<String> notified = new ArrayList<>();
+
+        ConfigurationListener listener = (key, value) -> notified.add(key);
+        ConfigurationListener other = (key, value) -> notified.add("other:" + key);
+
+        dispatcher.subscribe("a.b", listener);
+        dispatcher.subscribe("a.c", listener);
+        dispatcher.subscribePrefix("a", listener);
+        dispatcher.subscribe("a.b", other);
+
+        dispatcher.unsubscribe(listener);
+
+        dispatcher.notifyChange("a.b", "value");
+        dispatcher.notifyChange("a.c", "value");
+
+        Assert.assertEquals(1, notified.size());
+        Assert.assertEquals("other:a.b", notified.get(0));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.configuration.utils;
+
+import com.kumuluz.ee.configuration.ConfigurationSource;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @since 3.10.0
+ */
+public class ConfigurationImplTest {
+
+    private ConfigurationImpl configurationImpl;
+    private ConfigurationUtil config;
+
+    @Before
+    public void setUp() throws Exception {
+
+        configurationImpl = TestConfiguration.createImpl(null, Collections.emptyMap());
+        config = new ConfigurationUtil(configurationImpl);
+    }
+
+    @Test
+    public void testSourcesAddedThroughListAreResolved() {
+
+        MapConfigurationSource source = new MapConfigurationSource();
+        source.put("app.name", "list").put(ConfigurationSource.CONFIG_ORDINAL, "1000");
+
+        Assert.assertEquals(Optional.empty(), config.get("app.name"));
+
+        List<ConfigurationSource> sources = configurationImpl.getConfigurationSources();
+        sources.add(source);
+        sources.sort(Comparator.comparingInt(ConfigurationSource::getOrdinal).reversed());
+
+        Assert.assertSame(source, configurationImpl.getConfigurationSources().get(0));
+        Assert.assertEquals(Optional.of("list"), config.get("app.name"));
+
+        Assert.assertTrue(sources.remove(source));
+
+        Assert.assertFalse(configurationImpl.getConfigurationSources().contains(source));
+        Assert.assertEquals(Optional.empty(), config.get("app.name"));
+    }
+
+    @Test
+    public void testSourcesAreOrderedByOrdinal() {
+
+        MapConfigurationSource low = new MapConfigurationSource();
+        low.put("app.name", "low").put(ConfigurationSource.CONFIG_ORDINAL, "1000");
+
+        MapConfigurationSource high = new MapConfigurationSource();
+        high.put("app.name", "high").put(ConfigurationSource.CONFIG_ORDINAL, "2000");
+
+        // the list index is ignored, the chain is ordered by ordinal
+        configurationImpl.getConfigurationSources().add(0, low);
+        configurationImpl.getConfigurationSources().add(0, high);
+
+        Assert.assertEquals(Optional.of("high"), config.get("app.name"));
+
+        low.put(ConfigurationSource.CONFIG_ORDINAL, "3000");
+        configurationImpl.rebuildSourceChain();
+
+        Assert.assertSame(low, configurationImpl.getConfigurationSources().get(0));
+        Assert.assertEquals(Optional.of("low"), config.get("app.name"));
+    }
+
+    @Test
+    public void testSourcesCanBeRemovedWhileIterating() {
+
+        int size = configurationImpl.getConfigurationSources().size();
+
+        for (ConfigurationSource source : configurationImpl.getConfigurationSources()) {
+            configurationImpl.removeConfigurationSource(source);
+        }
+
+        Assert.assertTrue(size > 0);
+        Assert.assertTrue(configurationImpl.getConfigurationSources().isEmpty());
+    }
+}
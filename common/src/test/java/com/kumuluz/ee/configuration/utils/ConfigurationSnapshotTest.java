@@ -0,0 +1,133 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.configuration.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Optional;
+
+/**
+ * @since 3.10.0
+ */
+public class ConfigurationSnapshotTest {
+
+    @Test
+    public void testLookupsMatchLiveConfiguration() throws Exception {
+
+        ConfigurationUtil config = TestConfiguration.create(
+                "kumuluzee:\n" +
+                "  datasources:\n" +
+                "    - props:\n" +
+                "        hibernate.dialect: x\n",
+                Collections.singletonMap("KUMULUZEE_XA_DATASOURCES_0__JNDI_NAME", "jdbc/xa"));
+
+        ConfigurationSnapshot snapshot = config.getSnapshot();
+
+        Assert.assertEquals(config.getMapKeys("kumuluzee.datasources[0].props"),
+                snapshot.getMapKeys("kumuluzee.datasources[0].props"));
+        Assert.assertEquals(config.getMapKeys("kumuluzee"), snapshot.getMapKeys("kumuluzee"));
+        Assert.assertEquals(Optional.of(1), snapshot.getListSize("kumuluzee.xa-datasources"));
+        Assert.assertEquals(Optional.of("jdbc/xa"), snapshot.getSubtree("kumuluzee.xa-datasources[0]").get("jndi-name"));
+    }
+
+    @Test
+    public void testSnapshotKeepsReadValuesUntilChange() throws Exception {
+
+        MapConfigurationSource source = new MapConfigurationSource().put("app.name", "first");
+
+        ConfigurationImpl configurationImpl = TestConfiguration.createImpl(null, Collections.emptyMap());
+        configurationImpl.addConfigurationSource(source);
+
+        ConfigurationUtil config = new ConfigurationUtil(configurationImpl);
+
+        ConfigurationSnapshot snapshot = config.getSnapshot();
+
+        Assert.assertSame(snapshot, config.getSnapshot());
+        Assert.assertEquals(Optional.of("first"), snapshot.get("app.name"));
+
+        config.set("app.name", "second");
+
+        Assert.assertTrue(snapshot.isStale());
+        Assert.assertEquals(Optional.of("first"), snapshot.get("app.name"));
+
+        ConfigurationSnapshot newSnapshot = config.getSnapshot();
+
+        Assert.assertNotSame(snapshot, newSnapshot);
+        Assert.assertFalse(newSnapshot.isStale());
+        Assert.assertEquals(Optional.of("second"), newSnapshot.get("app.name"));
+    }
+
+    @Test
+    public void testSnapshotDoesNotChangeBetweenReads() throws Exception {
+
+        MapConfigurationSource source = new MapConfigurationSource()
+                .put("app.pool.min-size", "1")
+                .put("app.pool.max-size", "10")
+                .put("app.host", "first")
+                .put("app.url", "http://${app.host}");
+
+        ConfigurationImpl configurationImpl = TestConfiguration.createImpl(null, Collections.emptyMap());
+        configurationImpl.addConfigurationSource(source);
+
+        ConfigurationUtil config = new ConfigurationUtil(configurationImpl);
+
+        ConfigurationSnapshot snapshot = config.getSnapshot();
+
+        Assert.assertEquals(Optional.of(1), snapshot.getInteger("app.pool.min-size"));
+
+        // the change lands between reads of related settings
+        config.set("app.pool.min-size", "5");
+        config.set("app.pool.max-size", "50");
+        config.set("app.pool.name", "pool");
+        config.set("app.host", "second");
+
+        Assert.assertTrue(snapshot.isStale());
+        Assert.assertEquals(Optional.of(10), snapshot.getInteger("app.pool.max-size"));
+        Assert.assertEquals(Optional.of("10"), snapshot.getSubtree("app.pool").get("max-size"));
+        Assert.assertEquals(Optional.of(1), snapshot.getInteger("app.pool.min-size"));
+        Assert.assertEquals(Optional.empty(), snapshot.get("app.pool.name"));
+        Assert.assertEquals(2, snapshot.getMapKeys("app.pool").get().size());
+        Assert.assertEquals(Optional.of("http://first"), snapshot.get("app.url"));
+
+        ConfigurationSnapshot newSnapshot = config.getSnapshot();
+
+        Assert.assertEquals(Optional.of(50), newSnapshot.getInteger("app.pool.max-size"));
+        Assert.assertEquals(Optional.of("pool"), newSnapshot.get("app.pool.name"));
+        Assert.assertEquals(Optional.of("http://second"), newSnapshot.get("app.url"));
+    }
+
+    @Test
+    public void testTypedLookupsFallThroughUnparsableValues() throws Exception {
+
+        MapConfigurationSource source = new MapConfigurationSource().put("app.port", "not-a-number");
+
+        ConfigurationImpl configurationImpl = TestConfiguration.createImpl("app:\n  port: 8080\n",
+                Collections.emptyMap());
+        configurationImpl.addConfigurationSource(source);
+
+        ConfigurationUtil config = new ConfigurationUtil(configurationImpl);
+
+        Assert.assertEquals(config.getInteger("app.port"), config.getSnapshot().getInteger("app.port"));
+        Assert.assertEquals(Optional.of(8080), config.getSnapshot().getInteger("app.port"));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.configuration.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * @since 3.10.0
+ */
+public class ConfigurationSubtreeTest {
+
+    @Test
+    public void testListFromMicroProfileEnvironmentVariables() throws Exception {
+
+        Map<String, String> env = new HashMap<>();
+        env.put("KUMULUZEE_XA_DATASOURCES_0__JNDI_NAME", "jdbc/xa");
+        env.put("KUMULUZEE_MAIL_SESSIONS_0__JNDI_NAME", "mail/session");
+
+        ConfigurationUtil config = TestConfiguration.create(null, env);
+        ConfigurationSubtree kumuluzee = config.getSnapshot().getSubtree("kumuluzee");
+
+        Assert.assertEquals(Optional.of(1), config.getListSize("kumuluzee.xa-datasources"));
+        Assert.assertEquals(Optional.of(1), kumuluzee.getListSize("xa-datasources"));
+        Assert.assertEquals(Optional.of("jdbc/xa"), kumuluzee.getSubtree("xa-datasources[0]").get("jndi-name"));
+
+        Assert.assertEquals(Optional.of(1), config.getListSize("kumuluzee.mail-sessions"));
+        Assert.assertEquals(Optional.of(1), kumuluzee.getListSize("mail-sessions"));
+        Assert.assertEquals(Optional.of("mail/session"), kumuluzee.getSubtree("mail-sessions[0]").get("jndi-name"));
+    }
+
+    @Test
+    public void testListFromLegacyEnvironmentVariables() throws Exception {
+
+        ConfigurationUtil config = TestConfiguration.create(null,
+                Collections.singletonMap("KUMULUZEE_DATASOURCES0_JNDINAME", "jdbc/a"));
+        ConfigurationSubtree kumuluzee = config.getSnapshot().getSubtree("kumuluzee");
+
+        Assert.assertEquals(Optional.of(1), config.getListSize("kumuluzee.datasources"));
+        Assert.assertEquals(Optional.of(1), kumuluzee.getListSize("datasources"));
+        Assert.assertEquals(Optional.of("jdbc/a"), kumuluzee.getSubtree("datasources[0]").get("jndi-name"));
+    }
+
+    @Test
+    public void testSubtreeOfHyphenatedKeyFromEnvironmentVariables() throws Exception {
+
+        ConfigurationUtil config = TestConfiguration.create(null,
+                Collections.singletonMap("KUMULUZEE_SERVER_UNIX_SOCKET_PATH", "/tmp/kumuluzee.sock"));
+
+        ConfigurationSubtree unixSocket = config.getSnapshot().getSubtree("kumuluzee").getSubtree("server.unix-socket");
+
+        Assert.assertEquals(config.get("kumuluzee.server.unix-socket.path"), unixSocket.get("path"));
+        Assert.assertEquals(Optional.of("/tmp/kumuluzee.sock"), unixSocket.get("path"));
+        Assert.assertFalse(unixSocket.isEmpty());
+    }
+
+    @Test
+    public void testMapKeysWithDots() throws Exception {
+
+        ConfigurationUtil config = TestConfiguration.create(
+                "kumuluzee:\n" +
+                "  datasources:\n" +
+                "    - jndi-name: jdbc/a\n" +
+                "      props:\n" +
+                "        hibernate.dialect: x\n", Collections.emptyMap());
+
+        ConfigurationSubtree dataSource = config.getSnapshot().getSubtree("kumuluzee").getSubtree("datasources[0]");
+
+        Assert.assertEquals(Optional.of(Collections.singletonList("hibernate.dialect")),
+                config.getMapKeys("kumuluzee.datasources[0].props"));
+        Assert.assertEquals(config.getMapKeys("kumuluzee.datasources[0].props"), dataSource.getMapKeys("props"));
+        Assert.assertEquals(Optional.of("x"), dataSource.get("props.hibernate.dialect"));
+    }
+
+    @Test
+    public void testFileAndEnvironmentVariablesCombined() throws Exception {
+
+        ConfigurationUtil config = TestConfiguration.create(
+                "kumuluzee:\n" +
+                "  server:\n" +
+                "    http:\n" +
+                "      port: 8080\n", Collections.singletonMap("KUMULUZEE_SERVER_HTTP_PORT", "9090"));
+
+        ConfigurationSubtree server = config.getSnapshot().getSubtree("kumuluzee.server");
+
+        Assert.assertEquals(Optional.of(9090), server.getInteger("http.port"));
+        Assert.assertEquals(Optional.of(Arrays.asList("port")), server.getMapKeys("http"));
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.configuration.utils;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @since 3.10.0
+ */
+public class ConfigurationValueCacheTest {
+
+    private static final String CACHE_PROPERTY = "com.kumuluz.ee.configuration.cache";
+
+    private MapConfigurationSource source;
+    private ConfigurationImpl configurationImpl;
+    private ConfigurationUtil config;
+
+    @Before
+    public void setUp() throws Exception {
+
+        System.setProperty(CACHE_PROPERTY, "true");
+
+        try {
+            configurationImpl = TestConfiguration.createImpl(null, Collections.emptyMap());
+        } finally {
+            System.clearProperty(CACHE_PROPERTY);
+        }
+
+        source = new MapConfigurationSource();
+        configurationImpl.addConfigurationSource(source);
+
+        config = new ConfigurationUtil(configurationImpl);
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(CACHE_PROPERTY);
+    }
+
+    @Test
+    public void testValuesAreCachedUntilSet() {
+
+        source.put("app.name", "first");
+
+        Assert.assertEquals(Optional.of("first"), config.get("app.name"));
+        Assert.assertEquals(Optional.of("first"), config.get("app.name"));
+        Assert.assertEquals(1, config.getValueCache().getHitCount());
+
+        // changes which bypass ConfigurationUtil and the dispatcher are not visible
+        source.put("app.name", "second");
+        Assert.assertEquals(Optional.of("first"), config.get("app.name"));
+
+        config.set("app.name", "third");
+        Assert.assertEquals(Optional.of("third"), config.get("app.name"));
+    }
+
+    @Test
+    public void testTypedValuesAreCachedSeparately() {
+
+        source.put("app.port", "8080");
+
+        Assert.assertEquals(Optional.of("8080"), config.get("app.port"));
+        Assert.assertEquals(Optional.of(8080), config.getInteger("app.port"));
+        Assert.assertEquals(Optional.of(8080L), config.getLong("app.port"));
+
+        changeValue("app.port", "9090");
+
+        Assert.assertEquals(Optional.of(9090), config.getInteger("app.port"));
+        Assert.assertEquals(Optional.of(9090L), config.getLong("app.port"));
+    }
+
+    @Test
+    public void testInterpolatedValueFollowsRepeatedChanges() {
+
+        source.put("a", "x-${b}").put("b", "1");
+
+        Assert.assertEquals(Optional.of("x-1"), config.get("a"));
+
+        changeValue("b", "2");
+        Assert.assertEquals(Optional.of("x-2"), config.get("a"));
+
+        changeValue("b", "3");
+        Assert.assertEquals(Optional.of("x-3"), config.get("a"));
+
+        changeValue("b", "4");
+        Assert.assertEquals(Optional.of("x-4"), config.get("a"));
+    }
+
+    @Test
+    public void testTransitivelyInterpolatedValueFollowsChanges() {
+
+        source.put("a", "x-${b}").put("b", "y-${c}").put("c", "1");
+
+        Assert.assertEquals(Optional.of("x-y-1"), config.get("a"));
+
+        changeValue("c", "2");
+        Assert.assertEquals(Optional.of("x-y-2"), config.get("a"));
+
+        changeValue("c", "3");
+        Assert.assertEquals(Optional.of("x-y-3"), config.get("a"));
+    }
+
+    @Test
+    public void testInterpolatedValueFollowsChangesAfterClear() {
+
+        source.put("a", "x-${b}").put("b", "1");
+
+        Assert.assertEquals(Optional.of("x-1"), config.get("a"));
+
+        config.getValueCache().clear();
+        Assert.assertEquals(Optional.of("x-1"), config.get("a"));
+
+        changeValue("b", "2");
+        Assert.assertEquals(Optional.of("x-2"), config.get("a"));
+    }
+
+    @Test
+    public void testDependentsAreNotifiedWhenListenerFails() {
+
+        source.put("a", "x-${b}").put("b", "1");
+
+        Assert.assertEquals(Optional.of("x-1"), config.get("a"));
+
+        List<String> changes = new ArrayList<>();
+
+        config.subscribeKey("b", (key, value) -> {
+            throw new IllegalStateException("listener failure");
+        });
+        config.subscribeKey("a", (key, value) -> changes.add(key + "=" + value));
+
+        changeValue("b", "2");
+
+        Assert.assertEquals(Collections.singletonList("a=x-2"), changes);
+    }
+
+    private void changeValue(String key, String value) {
+
+        source.put(key, value);
+        configurationImpl.getDispatcher().notifyChange(key, value);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.configuration.utils;
+
+import com.kumuluz.ee.configuration.ConfigurationSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mutable in-memory configuration source with the highest ordinal, so values set through
+ * {@link ConfigurationUtil#set(String, String)} are stored in it.
+ *
+ * @since 3.10.0
+ */
+class MapConfigurationSource implements ConfigurationSource {
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+
+    MapConfigurationSource put(String key, String value) {
+        values.put(key, value);
+        return this;
+    }
+
+    @Override
+    public void init(ConfigurationDispatcher configurationDispatcher) {
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(values.get(key));
+    }
+
+    @Override
+    public Optional<Boolean> getBoolean(String key) {
+        return get(key).map(Boolean::valueOf);
+    }
+
+    @Override
+    public Optional<Integer> getInteger(String key) {
+
+        try {
+            return get(key).map(Integer::valueOf);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<Long> getLong(String key) {
+
+        try {
+            return get(key).map(Long::valueOf);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<Double> getDouble(String key) {
+
+        try {
+            return get(key).map(Double::valueOf);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<Float> getFloat(String key) {
+
+        try {
+            return get(key).map(Float::valueOf);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<Integer> getListSize(String key) {
+        return ConfigurationIndex.fromKeys(values).getListSize(key);
+    }
+
+    @Override
+    public Optional<List<String>> getMapKeys(String key) {
+        return ConfigurationIndex.fromKeys(values).getMapKeys(key);
+    }
+
+    @Override
+    public void watch(String key) {
+    }
+
+    @Override
+    public void set(String key, String value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public void set(String key, Boolean value) {
+        set(key, String.valueOf(value));
+    }
+
+    @Override
+    public void set(String key, Integer value) {
+        set(key, String.valueOf(value));
+    }
+
+    @Override
+    public void set(String key, Double value) {
+        set(key, String.valueOf(value));
+    }
+
+    @Override
+    public void set(String key, Float value) {
+        set(key, String.valueOf(value));
+    }
+
+    @Override
+    public Integer getOrdinal() {
+        return getInteger(CONFIG_ORDINAL).orElse(1000);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.configuration.utils;
+
+import com.kumuluz.ee.configuration.ConfigurationSource;
+import com.kumuluz.ee.configuration.sources.EnvironmentConfigurationSource;
+import com.kumuluz.ee.configuration.sources.FileConfigurationSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Creates configurations with a given configuration file and environment, independent of the process.
+ *
+ * @since 3.10.0
+ */
+final class TestConfiguration {
+
+    private static final String FILE_PROPERTY = "com.kumuluz.ee.configuration.file";
+
+    private TestConfiguration() {
+    }
+
+    static ConfigurationUtil create(String yaml, Map<String, String> env) throws IOException {
+        return new ConfigurationUtil(createImpl(yaml, env));
+    }
+
+    static ConfigurationImpl createImpl(String yaml, Map<String, String> env) throws IOException {
+
+        Path file = Files.createTempFile("kumuluzee-config", ".yml");
+        file.toFile().deleteOnExit();
+
+        Files.write(file, ((yaml == null) ? "kumuluzee: {}\n" : yaml).getBytes(StandardCharsets.UTF_8));
+
+        String previousFile = System.getProperty(FILE_PROPERTY);
+
+        ConfigurationImpl configurationImpl;
+
+        try {
+            System.setProperty(FILE_PROPERTY, file.toString());
+
+            configurationImpl = new ConfigurationImpl();
+        } finally {
+            if (previousFile == null) {
+                System.clearProperty(FILE_PROPERTY);
+            } else {
+                System.setProperty(FILE_PROPERTY, previousFile);
+            }
+        }
+
+        for (ConfigurationSource configurationSource : configurationImpl.getConfigurationSources()) {
+            if (!(configurationSource instanceof FileConfigurationSource)) {
+                configurationImpl.removeConfigurationSource(configurationSource);
+            }
+        }
+
+        configurationImpl.addConfigurationSource(new EnvironmentConfigurationSource(env));
+
+        return configurationImpl;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.logs.impl;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * @since 3.10.0
+ */
+public class JavaUtilAsyncConsoleHandlerTest {
+
+    private PrintStream systemOut;
+    private ByteArrayOutputStream output;
+
+    @Before
+    public void setUp() throws UnsupportedEncodingException {
+
+        systemOut = System.out;
+        output = new ByteArrayOutputStream();
+
+        // the handler writes to the System.out of the time it is created
+        System.setOut(new PrintStream(output, true, "UTF-8"));
+    }
+
+    @After
+    public void tearDown() {
+        System.setOut(systemOut);
+    }
+
+    @Test
+    public void testCloseDrainsBufferedRecords() throws Exception {
+
+        JavaUtilAsyncConsoleHandler handler = createHandler(16, JavaUtilAsyncConsoleHandler.OverflowPolicy.BLOCK);
+
+        List<String> expected = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            handler.publish(new LogRecord(Level.INFO, "record " + i));
+            expected.add("record " + i);
+        }
+
+        handler.close();
+
+        Assert.assertEquals(expected, lines());
+        Assert.assertEquals(0, handler.getDroppedCount());
+    }
+
+    @Test
+    public void testConcurrentPublishersAreDrainedOnClose() throws Exception {
+
+        JavaUtilAsyncConsoleHandler handler = createHandler(8, JavaUtilAsyncConsoleHandler.OverflowPolicy.BLOCK);
+
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+
+            int publisher = t;
+
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    handler.publish(new LogRecord(Level.INFO, publisher + ":" + i));
+                }
+            });
+
+            thread.start();
+            threads.add(thread);
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        handler.close();
+
+        Assert.assertEquals(2000, lines().size());
+    }
+
+    @Test
+    public void testRecordsAfterCloseAreWrittenSynchronously() throws Exception {
+
+        JavaUtilAsyncConsoleHandler handler = createHandler(16, JavaUtilAsyncConsoleHandler.OverflowPolicy.BLOCK);
+
+        handler.publish(new LogRecord(Level.INFO, "before close"));
+        handler.close();
+
+        handler.publish(new LogRecord(Level.INFO, "after close"));
+
+        Assert.assertEquals(Arrays.asList("before close", "after close"), lines());
+    }
+
+    @Test
+    public void testRecordsBelowLevelAreNotWritten() throws Exception {
+
+        JavaUtilAsyncConsoleHandler handler = createHandler(16, JavaUtilAsyncConsoleHandler.OverflowPolicy.BLOCK);
+
+        handler.publish(new LogRecord(Level.FINE, "fine"));
+        handler.publish(new LogRecord(Level.WARNING, "warning"));
+        handler.close();
+
+        Assert.assertEquals(Arrays.asList("warning"), lines());
+    }
+
+    private static JavaUtilAsyncConsoleHandler createHandler(int capacity,
+                                                             JavaUtilAsyncConsoleHandler.OverflowPolicy policy)
+            throws UnsupportedEncodingException {
+
+        JavaUtilAsyncConsoleHandler handler = new JavaUtilAsyncConsoleHandler(capacity, policy, 10);
+
+        handler.setEncoding("UTF-8");
+        handler.setFormatter(new Formatter() {
+            @Override
+            public String format(LogRecord record) {
+                return record.getMessage() + "\n";
+            }
+        });
+
+        return handler;
+    }
+
+    private List<String> lines() throws UnsupportedEncodingException {
+
+        String written = output.toString("UTF-8");
+
+        return written.isEmpty() ? new ArrayList<>() : Arrays.asList(written.split("\n"));
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.logs.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * @since 3.10.0
+ */
+public class LogRecordRingBufferTest {
+
+    @Test
+    public void testCapacityIsRoundedToPowerOfTwo() {
+
+        Assert.assertEquals(8, new LogRecordRingBuffer(5).capacity());
+        Assert.assertEquals(8, new LogRecordRingBuffer(8).capacity());
+        Assert.assertEquals(16, new LogRecordRingBuffer(9).capacity());
+    }
+
+    @Test
+    public void testRecordsArePolledInOrder() {
+
+        LogRecordRingBuffer buffer = new LogRecordRingBuffer(4);
+
+        Assert.assertTrue(buffer.isEmpty());
+        Assert.assertNull(buffer.poll());
+
+        LogRecord first = record("first");
+        LogRecord second = record("second");
+
+        Assert.assertTrue(buffer.offer(first));
+        Assert.assertTrue(buffer.offer(second));
+        Assert.assertFalse(buffer.isEmpty());
+
+        Assert.assertSame(first, buffer.poll());
+        Assert.assertSame(second, buffer.poll());
+        Assert.assertNull(buffer.poll());
+        Assert.assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void testOfferFailsWhenFull() {
+
+        LogRecordRingBuffer buffer = new LogRecordRingBuffer(4);
+
+        for (int i = 0; i < buffer.capacity(); i++) {
+            Assert.assertTrue(buffer.offer(record("record " + i)));
+        }
+
+        Assert.assertFalse(buffer.offer(record("overflow")));
+
+        Assert.assertEquals("record 0", buffer.poll().getMessage());
+        Assert.assertTrue(buffer.offer(record("after poll")));
+    }
+
+    @Test
+    public void testWrapsAround() {
+
+        LogRecordRingBuffer buffer = new LogRecordRingBuffer(4);
+
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(buffer.offer(record("record " + i)));
+            Assert.assertEquals("record " + i, buffer.poll().getMessage());
+        }
+
+        Assert.assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentProducersDeliverEveryRecordOnce() throws InterruptedException {
+
+        int producers = 4;
+        int recordsPerProducer = 10000;
+
+        LogRecordRingBuffer buffer = new LogRecordRingBuffer(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int p = 0; p < producers; p++) {
+
+            int producer = p;
+
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                for (int i = 0; i < recordsPerProducer; i++) {
+
+                    LogRecord record = record(producer + ":" + i);
+
+                    while (!buffer.offer(record)) {
+                        Thread.yield();
+                    }
+                }
+            });
+
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+
+        Set<String> received = new HashSet<>();
+        int[] lastIndex = new int[producers];
+        Arrays.fill(lastIndex, -1);
+
+        while (received.size() < producers * recordsPerProducer) {
+
+            LogRecord record = buffer.poll();
+
+            if (record == null) {
+                Thread.yield();
+                continue;
+            }
+
+            Assert.assertTrue(received.add(record.getMessage()));
+
+            // records of a single producer keep their order
+            String[] parts = record.getMessage().split(":");
+            int producer = Integer.parseInt(parts[0]);
+            int index = Integer.parseInt(parts[1]);
+
+            Assert.assertTrue(index > lastIndex[producer]);
+            lastIndex[producer] = index;
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertTrue(buffer.isEmpty());
+    }
+
+    private static LogRecord record(String message) {
+        return new LogRecord(Level.INFO, message);
+    }
+}
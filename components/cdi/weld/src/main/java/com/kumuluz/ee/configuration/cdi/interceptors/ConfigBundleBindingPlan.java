@@ -0,0 +1,340 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.configuration.cdi.interceptors;
+
+import com.kumuluz.ee.common.utils.StringUtils;
+import com.kumuluz.ee.configuration.cdi.ConfigBundle;
+import com.kumuluz.ee.configuration.cdi.ConfigValue;
+import com.kumuluz.ee.configuration.utils.ConfigurationUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Precomputed description of how configuration values are bound to a class processed by the
+ * {@link ConfigBundleInterceptor}. Plans are computed once per class and replayed for every new instance.
+ *
+ * @since 3.10.0
+ */
+final class ConfigBundleBindingPlan {
+
+    // stored with the classes, so plans do not keep the class loaders of redeployed applications reachable
+    private static final ClassValue<ConfigBundleBindingPlan> PLANS = new ClassValue<ConfigBundleBindingPlan>() {
+
+        @Override
+        protected ConfigBundleBindingPlan computeValue(Class<?> type) {
+
+            try {
+                return new ConfigBundleBindingPlan(type);
+            } catch (Exception e) {
+                throw new PlanException(e);
+            }
+        }
+    };
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private static final Set<Class<?>> PRIMITIVES = new HashSet<>(Arrays.asList(String.class, Boolean.class,
+            Float.class, Double.class, Integer.class, Long.class, boolean.class, float.class, double.class, int.class,
+            long.class));
+
+    enum Kind {
+        VALUE, NESTED, VALUE_ARRAY, NESTED_ARRAY
+    }
+
+    private final Class<?> targetClass;
+    private final String keyPrefix;
+    private final List<Binding> bindings;
+
+    private volatile MethodHandle constructor;
+
+    private ConfigBundleBindingPlan(Class<?> targetClass) throws Exception {
+
+        this.targetClass = targetClass;
+
+        ConfigBundle configBundle = targetClass.getAnnotation(ConfigBundle.class);
+        this.keyPrefix = (configBundle != null) ? buildKeyPrefix(targetClass, configBundle) : null;
+
+        List<Binding> bindings = new ArrayList<>();
+
+        for (Method method : targetClass.getMethods()) {
+
+            if (method.getName().startsWith("set") && method.getParameterCount() == 1) {
+                bindings.add(new Binding(targetClass, method));
+            }
+        }
+
+        this.bindings = Collections.unmodifiableList(bindings);
+    }
+
+    /**
+     * Returns the binding plan for the given class, computing it on first use.
+     *
+     * @param targetClass class annotated with {@link ConfigBundle} or a class nested in it
+     * @return binding plan
+     * @throws Exception if the class does not declare fields for its setters
+     */
+    static ConfigBundleBindingPlan forClass(Class<?> targetClass) throws Exception {
+
+        try {
+            return PLANS.get(targetClass);
+        } catch (PlanException e) {
+            // plans which could not be computed are not stored
+            throw (Exception) e.getCause();
+        }
+    }
+
+    Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * @return key prefix generated from the {@link ConfigBundle} annotation or null, if the class is not annotated
+     */
+    String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    List<Binding> getBindings() {
+        return bindings;
+    }
+
+    Object newInstance() throws Exception {
+
+        MethodHandle currentConstructor = constructor;
+
+        if (currentConstructor == null) {
+            currentConstructor = unreflect(targetClass.getConstructor()).asType(CONSTRUCTOR_TYPE);
+            constructor = currentConstructor;
+        }
+
+        try {
+            return (Object) currentConstructor.invokeExact();
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    static boolean isPrimitive(Class<?> type) {
+        return PRIMITIVES.contains(type);
+    }
+
+    private static String buildKeyPrefix(Class<?> targetClass, ConfigBundle configBundle) {
+
+        String prefix = configBundle.value();
+
+        if (prefix.isEmpty()) {
+            prefix = StringUtils.camelCaseToHyphenCase(targetClass.getSimpleName());
+        }
+
+        if (".".equals(prefix)) {
+            prefix = "";
+        }
+
+        return prefix;
+    }
+
+    private static MethodHandle unreflect(java.lang.reflect.Constructor<?> constructor) throws IllegalAccessException {
+
+        try {
+            return MethodHandles.lookup().unreflectConstructor(constructor);
+        } catch (IllegalAccessException e) {
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor);
+        }
+    }
+
+    private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+
+        try {
+            return MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method);
+        }
+    }
+
+    private static Function<String, Optional<?>> valueReader(Class<?> type) {
+
+        ConfigurationUtil configurationUtil = ConfigurationUtil.getInstance();
+
+        if (type.equals(String.class)) {
+            return configurationUtil::get;
+        } else if (type.equals(Boolean.class) || type.equals(boolean.class)) {
+            return configurationUtil::getBoolean;
+        } else if (type.equals(Float.class) || type.equals(float.class)) {
+            return configurationUtil::getFloat;
+        } else if (type.equals(Double.class) || type.equals(double.class)) {
+            return configurationUtil::getDouble;
+        } else if (type.equals(Integer.class) || type.equals(int.class)) {
+            return configurationUtil::getInteger;
+        } else if (type.equals(Long.class) || type.equals(long.class)) {
+            return configurationUtil::getLong;
+        } else {
+            return key -> Optional.empty();
+        }
+    }
+
+    private static Function<String, ?> valueParser(Class<?> type) {
+
+        if (type.equals(String.class)) {
+            return value -> value;
+        } else if (type.equals(Boolean.class) || type.equals(boolean.class)) {
+            return Boolean::parseBoolean;
+        } else if (type.equals(Float.class) || type.equals(float.class)) {
+            return Float::parseFloat;
+        } else if (type.equals(Double.class) || type.equals(double.class)) {
+            return Double::parseDouble;
+        } else if (type.equals(Integer.class) || type.equals(int.class)) {
+            return Integer::parseInt;
+        } else if (type.equals(Long.class) || type.equals(long.class)) {
+            return Long::parseLong;
+        } else {
+            return value -> null;
+        }
+    }
+
+    /**
+     * Failure to compute a binding plan, thrown through {@link ClassValue#get(Class)}.
+     */
+    private static final class PlanException extends RuntimeException {
+
+        private PlanException(Exception cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * Binding of a single setter to its configuration key.
+     */
+    static final class Binding {
+
+        private final MethodHandle setter;
+        private final Kind kind;
+        private final Class<?> type;
+        private final String keyName;
+        private final boolean watch;
+        private final Function<String, Optional<?>> reader;
+        private final Function<String, ?> parser;
+
+        private Binding(Class<?> targetClass, Method method) throws Exception {
+
+            this.setter = unreflect(method).asType(SETTER_TYPE);
+
+            Class<?> parameterType = method.getParameterTypes()[0];
+
+            if (isPrimitive(parameterType)) {
+                this.kind = Kind.VALUE;
+                this.type = parameterType;
+            } else if (!parameterType.isArray()) {
+                this.kind = Kind.NESTED;
+                this.type = parameterType;
+            } else {
+                this.type = parameterType.getComponentType();
+                this.kind = isPrimitive(type) ? Kind.VALUE_ARRAY : Kind.NESTED_ARRAY;
+            }
+
+            this.reader = (kind == Kind.VALUE || kind == Kind.VALUE_ARRAY) ? valueReader(type) : null;
+            this.parser = (kind == Kind.VALUE) ? valueParser(type) : null;
+
+            // get field annotation - @ConfigValue
+            Field field = targetClass.getDeclaredField(setterToField(method.getName()));
+            ConfigValue fieldAnnotation = field.getAnnotation(ConfigValue.class);
+
+            this.watch = fieldAnnotation != null && fieldAnnotation.watch();
+
+            if (fieldAnnotation != null && !fieldAnnotation.value().isEmpty()) {
+                this.keyName = StringUtils.camelCaseToHyphenCase(fieldAnnotation.value());
+            } else {
+                this.keyName = StringUtils.camelCaseToHyphenCase(method.getName().substring(3));
+            }
+        }
+
+        Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * @return type of the setter parameter or the component type for arrays
+         */
+        Class<?> getType() {
+            return type;
+        }
+
+        boolean isWatch() {
+            return watch;
+        }
+
+        /**
+         * Construct key name from prefix and field name or ConfigValue value (if present)
+         *
+         * @param keyPrefix prefix used for generation of a configuration key
+         * @return key in format prefix.key-name
+         */
+        String getKey(String keyPrefix) {
+            return keyPrefix.isEmpty() ? keyName : keyPrefix + "." + keyName;
+        }
+
+        Optional<?> readValue(String key) {
+            return reader.apply(key);
+        }
+
+        /**
+         * Converts a changed value of a watched key to the type of the setter parameter.
+         *
+         * @param value changed value
+         * @return converted value
+         * @throws NumberFormatException if the value is not a number of the parameter type
+         */
+        Object parseValue(String value) {
+            return parser.apply(value);
+        }
+
+        void set(Object target, Object value) throws Exception {
+
+            try {
+                setter.invokeExact(target, value);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        /**
+         * Parse setter name to field name.
+         *
+         * @param setter name of the setter method
+         * @return field name
+         */
+        private static String setterToField(String setter) {
+            return Character.toLowerCase(setter.charAt(3)) + setter.substring(4);
+        }
+    }
+}
@@ -20,9 +20,7 @@
 */
 package com.kumuluz.ee.configuration.cdi.interceptors;
 
-import com.kumuluz.ee.common.utils.StringUtils;
 import com.kumuluz.ee.configuration.cdi.ConfigBundle;
-import com.kumuluz.ee.configuration.cdi.ConfigValue;
 import com.kumuluz.ee.configuration.utils.ConfigurationUtil;
 
 import javax.annotation.PostConstruct;
@@ -30,9 +28,6 @@ import javax.annotation.Priority;
 import javax.interceptor.Interceptor;
 import javax.interceptor.InvocationContext;
 import java.lang.reflect.Array;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.*;
 import java.util.logging.Logger;
 
@@ -50,8 +45,6 @@ public class ConfigBundleInterceptor {
 
     private static final Logger log = Logger.getLogger(ConfigBundleInterceptor.class.getName());
     private static final ConfigurationUtil configurationUtil = ConfigurationUtil.getInstance();
-    private final Class[] primitives = {String.class, Boolean.class, Float.class, Double.class, Integer.class, Long
-            .class, boolean.class, float.class, double.class, int.class, long.class};
 
     /**
      * Method initialises class fields from configuration.
@@ -68,162 +61,134 @@ public class ConfigBundleInterceptor {
 
         ConfigBundle configBundleAnnotation = (ConfigBundle) targetClass.getDeclaredAnnotation(ConfigBundle.class);
 
-        processConfigBundleBeanSetters(target, targetClass, getKeyPrefix(targetClass), new HashMap<>(),
+        ConfigBundleBindingPlan plan = ConfigBundleBindingPlan.forClass(targetClass);
+
+        processConfigBundleBeanSetters(target, plan, plan.getKeyPrefix(), new HashMap<>(),
                 configBundleAnnotation.watch());
 
         return ic.proceed();
     }
 
     /**
-     * Processes and invokes all setters in Bean annotated with @ConfigBundle
+     * Processes and invokes all setters in Bean annotated with @ConfigBundle by replaying its binding plan
      *
      * @param target                  target object
-     * @param targetClass             target class
+     * @param plan                    binding plan of the target class
      * @param keyPrefix               a prefix for generating key names
      * @param processedClassRelations class pairs that have already been processed (for cycle detection)
      * @param watchAllFields          if true, enable watch on all fields
      * @return returns true, if at least one field was successfully populated from configuration sources
      * @throws Exception
      */
-    private boolean processConfigBundleBeanSetters(Object target, Class targetClass, String keyPrefix, Map<Class, Class>
-            processedClassRelations, boolean watchAllFields) throws Exception {
+    private boolean processConfigBundleBeanSetters(Object target, ConfigBundleBindingPlan plan, String keyPrefix,
+                                                   Map<Class, Class> processedClassRelations, boolean watchAllFields)
+            throws Exception {
 
         boolean isConfigBundleEmpty = true;
 
         // invoke setters
-        for (Method method : targetClass.getMethods()) {
+        for (ConfigBundleBindingPlan.Binding binding : plan.getBindings()) {
 
-            if (method.getName().substring(0, 3).equals("set") && method.getParameters().length == 1) {
+            // watch nested class or list if all fields in the bean are annotated with watch or if a field is
+            // annotated with watch
+            boolean watchNestedClass = watchAllFields || binding.isWatch();
 
-                Class parameterType = method.getParameters()[0].getType();
+            String key = binding.getKey(keyPrefix);
 
-                // get field annotation - @ConfigValue
-                Field field = targetClass.getDeclaredField(setterToField(method.getName()));
-                ConfigValue fieldAnnotation = null;
-                if (field != null) {
-                    fieldAnnotation = field.getAnnotation(ConfigValue.class);
-                }
-
-                // watch nested class or list if all fields in the bean are annotated with watch or if a field is
-                // annotated with watch
-                boolean watchNestedClass = watchAllFields;
-                if (watchNestedClass == false) {
-                    if (fieldAnnotation != null) {
-                        watchNestedClass = fieldAnnotation.watch();
-                    }
-                }
+            switch (binding.getKind()) {
 
                 // process primitives
-                if (Arrays.asList(primitives).contains(parameterType)) {
+                case VALUE: {
 
-                    Optional<String> value = getValueOfPrimitive(parameterType, getKeyName(targetClass, method
-                            .getName(), keyPrefix));
+                    Optional<?> value = binding.readValue(key);
 
                     if (value.isPresent()) {
                         isConfigBundleEmpty = false;
-                        method.invoke(target, value.get());
+                        binding.set(target, value.get());
                     }
 
-                    if (watchAllFields || (fieldAnnotation != null && fieldAnnotation.watch())) {
-                        deployWatcher(target, method, getKeyName(targetClass, method.getName(), keyPrefix));
+                    if (watchNestedClass) {
+                        deployWatcher(target, binding, key);
                     }
 
-                    // process nested objeccts
-                } else if (!parameterType.isArray()) {
+                    break;
+                }
+
+                // process nested objects
+                case NESTED: {
 
-                    processedClassRelations.put(targetClass, parameterType);
+                    processedClassRelations.put(plan.getTargetClass(), binding.getType());
 
-                    Object nestedTarget = processNestedObject(targetClass, method, parameterType, keyPrefix,
-                            processedClassRelations, -1, watchNestedClass);
+                    Object nestedTarget = processNestedObject(plan.getTargetClass(), binding.getType(), key,
+                            processedClassRelations, watchNestedClass);
 
                     // invoke setter method with initialised instance
                     if (nestedTarget != null) {
-                        method.invoke(target, nestedTarget);
+                        binding.set(target, nestedTarget);
                     }
 
-                    // process arrays
-                } else {
+                    break;
+                }
 
-                    Class componentType = parameterType.getComponentType();
+                // process list of primitives
+                case VALUE_ARRAY: {
 
-                    Object array = Array.newInstance(componentType, configurationUtil.getListSize(getKeyName
-                            (targetClass, method.getName(), keyPrefix)).orElse(0));
+                    Object array = Array.newInstance(binding.getType(),
+                            configurationUtil.getListSize(key).orElse(0));
 
-                    // process list of primitives
-                    if (Arrays.asList(primitives).contains(componentType)) {
-                        for (int i = 0; i < Array.getLength(array); i++) {
-                            Optional valueOfPrimitive = getValueOfPrimitive(componentType,
-                                    getKeyName(targetClass, method.getName(), keyPrefix) + "[" + i + "]");
-                            if (valueOfPrimitive.isPresent()) {
-                                Array.set(array, i, valueOfPrimitive.get());
-                            }
+                    for (int i = 0; i < Array.getLength(array); i++) {
+                        Optional<?> valueOfPrimitive = binding.readValue(key + "[" + i + "]");
+                        if (valueOfPrimitive.isPresent()) {
+                            Array.set(array, i, valueOfPrimitive.get());
                         }
+                    }
+
+                    binding.set(target, array);
+
+                    break;
+                }
+
+                // process list of nested classes
+                case NESTED_ARRAY: {
 
-                        // process list of nested classes
-                    } else {
-                        for (int i = 0; i < Array.getLength(array); i++) {
-                            Object nestedTarget = processNestedObject(targetClass, method, componentType, keyPrefix,
-                                    processedClassRelations, i, watchNestedClass);
-                            if (nestedTarget != null) {
-                                Array.set(array, i, nestedTarget);
-                            }
+                    Object array = Array.newInstance(binding.getType(),
+                            configurationUtil.getListSize(key).orElse(0));
 
+                    for (int i = 0; i < Array.getLength(array); i++) {
+                        Object nestedTarget = processNestedObject(plan.getTargetClass(), binding.getType(),
+                                key + "[" + i + "]", processedClassRelations, watchNestedClass);
+                        if (nestedTarget != null) {
+                            Array.set(array, i, nestedTarget);
                         }
                     }
 
-                    method.invoke(target, array);
+                    binding.set(target, array);
 
+                    break;
                 }
             }
         }
         return isConfigBundleEmpty;
     }
 
-    /**
-     * Returns a value of a primitive configuration type
-     *
-     * @param type configuration value type
-     * @param key  configuration value key
-     * @return
-     */
-    private Optional getValueOfPrimitive(Class type, String key) {
-
-        if (type.equals(String.class)) {
-            return configurationUtil.get(key);
-        } else if (type.equals(Boolean.class) || type.equals(boolean.class)) {
-            return configurationUtil.getBoolean(key);
-        } else if (type.equals(Float.class) || type.equals(float.class)) {
-            return configurationUtil.getFloat(key);
-        } else if (type.equals(Double.class) || type.equals(double.class)) {
-            return configurationUtil.getDouble(key);
-        } else if (type.equals(Integer.class) || type.equals(int.class)) {
-            return configurationUtil.getInteger(key);
-        } else if (type.equals(Long.class) || type.equals(long.class)) {
-            return configurationUtil.getLong(key);
-        } else {
-            return Optional.empty();
-        }
-
-    }
-
     /**
      * Create a new instance for nested class, check for cycles and populate nested instance.
      *
      * @param targetClass             target class
-     * @param method                  processed method
      * @param parameterType           parameter type
-     * @param keyPrefix               prefix used for generation of a configuration key
+     * @param key                     configuration key of the nested object
      * @param processedClassRelations class pairs that have already been processed (for cycle detection)
-     * @param arrayIndex              array index for arrays of nested objects
      * @param watchAllFields          if true, enable watch on all fields
      * @return
      * @throws Exception
      */
-    private Object processNestedObject(Class targetClass, Method method, Class parameterType, String keyPrefix,
-                                       Map<Class, Class> processedClassRelations, int arrayIndex, boolean
-                                               watchAllFields) throws Exception {
+    private Object processNestedObject(Class targetClass, Class parameterType, String key,
+                                       Map<Class, Class> processedClassRelations, boolean watchAllFields)
+            throws Exception {
 
-        Object nestedTarget = parameterType.getConstructor().newInstance();
+        ConfigBundleBindingPlan nestedPlan = ConfigBundleBindingPlan.forClass(parameterType);
+
+        Object nestedTarget = nestedPlan.newInstance();
         Class nestedTargetClass = nestedTarget.getClass();
 
         // check for cycles
@@ -233,13 +198,7 @@ public class ConfigBundleInterceptor {
                     "be populated as expected.");
         } else {
 
-            String key = getKeyName(targetClass, method.getName(), keyPrefix);
-
-            if (arrayIndex >= 0) {
-                key += "[" + arrayIndex + "]";
-            }
-
-            boolean isEmpty = processConfigBundleBeanSetters(nestedTarget, nestedTargetClass, key,
+            boolean isEmpty = processConfigBundleBeanSetters(nestedTarget, nestedPlan, key,
                     processedClassRelations, watchAllFields);
 
             if (isEmpty) {
@@ -250,71 +209,6 @@ public class ConfigBundleInterceptor {
         return nestedTarget;
     }
 
-    /**
-     * Construct key name from prefix and field name or ConfigValue value (if present)
-     *
-     * @param targetClass target class
-     * @param setter      name of the setter method
-     * @param keyPrefix   prefix used for generation of a configuration key
-     * @return key in format prefix.key-name
-     */
-    private String getKeyName(Class targetClass, String setter, String keyPrefix) throws Exception {
-
-        StringBuilder key = new StringBuilder();
-        key.append(keyPrefix);
-        if (!key.toString().isEmpty()) {
-            key.append(".");
-        }
-
-        // get ConfigValue
-        Field field = targetClass.getDeclaredField(setterToField(setter));
-        ConfigValue fieldAnnotation = null;
-        if (field != null) {
-            fieldAnnotation = field.getAnnotation(ConfigValue.class);
-        }
-
-        if (fieldAnnotation != null && !fieldAnnotation.value().isEmpty()) {
-            key.append(StringUtils.camelCaseToHyphenCase(fieldAnnotation.value()));
-
-        } else {
-            key.append(StringUtils.camelCaseToHyphenCase(setter.substring(3)));
-        }
-
-        return key.toString();
-
-    }
-
-    /**
-     * Generate a key prefix from annotation, class name, or parent prefix in case of nested classes.
-     *
-     * @param targetClass target class
-     * @return key prefix
-     */
-    private String getKeyPrefix(Class targetClass) {
-
-        String prefix = ((ConfigBundle) targetClass.getAnnotation(ConfigBundle.class)).value();
-
-        if (prefix.isEmpty()) {
-            prefix = StringUtils.camelCaseToHyphenCase(targetClass.getSimpleName());
-        }
-
-        if (".".equals(prefix)) {
-            prefix = "";
-        }
-
-        return prefix;
-    }
-
-    /**
-     * Parse setter name to field name.
-     *
-     * @param setter name of the setter method
-     * @return field name
-     */
-    private String setterToField(String setter) {
-        return Character.toLowerCase(setter.charAt(3)) + setter.substring(4);
-    }
-
     /**
      * Check if target class is proxied.
      *
@@ -329,64 +223,24 @@ public class ConfigBundleInterceptor {
      * Subscribes to an event dispatcher and starts a watch for a given key.
      *
      * @param target     target instance
-     * @param method     method to invoke
+     * @param binding    binding of the setter to invoke
      * @param watchedKey watched key
-     * @throws Exception
      */
-    private void deployWatcher(Object target, Method method, String watchedKey) throws Exception {
+    private void deployWatcher(Object target, ConfigBundleBindingPlan.Binding binding, String watchedKey) {
 
-        configurationUtil.subscribe(watchedKey, (key, value) -> {
+        configurationUtil.subscribeKey(watchedKey, (key, value) -> {
 
             if (Objects.equals(watchedKey, key)) {
 
                 try {
-                    if (String.class.equals(method.getParameters()[0].getType())) {
-                        method.invoke(target, value);
-                    } else if (Boolean.class.equals(method.getParameters()[0].getType()) || boolean.class.equals(method
-                            .getParameters()[0].getType())) {
-                        method.invoke(target, Boolean.parseBoolean(value));
-                    } else if (Float.class.equals(method.getParameters()[0].getType()) || float.class.equals(method
-                            .getParameters()[0].getType())) {
-                        try {
-                            method.invoke(target, Float.parseFloat(value));
-                        } catch (NumberFormatException e) {
-                            log.severe("Exception while storing new value: Number format exception. " +
-                                    "Expected: Float. Value: " + value);
-                        }
-                    } else if (Double.class.equals(method.getParameters()[0].getType()) || double.class.equals(method
-                            .getParameters()[0].getType())) {
-                        try {
-                            method.invoke(target, Double.parseDouble(value));
-                        } catch (NumberFormatException e) {
-                            log.severe("Exception while storing new value: Number format exception. Expected:" +
-                                    " Double. Value: " + value);
-                        }
-                    } else if (Integer.class.equals(method.getParameters()[0].getType()) || int.class.equals(method
-                            .getParameters()[0].getType())) {
-                        try {
-                            method.invoke(target, Integer.parseInt(value));
-                        } catch (NumberFormatException e) {
-                            log.severe("Exception while storing new value: Number format exception. Expected:" +
-                                    " Integer. Value: " + value);
-                        }
-                    } else if (Long.class.equals(method.getParameters()[0].getType()) || long.class.equals(method
-                            .getParameters()[0].getType())) {
-                        try {
-                            method.invoke(target, Long.parseLong(value));
-                        } catch (NumberFormatException e) {
-                            log.severe("Exception while storing new value: Number format exception. Expected:" +
-                                    " Long. Value: " + value);
-                        }
-                    }
-                } catch (IllegalAccessException e) {
-                    log.severe("Illegal access exception: " + e.toString());
-                } catch (InvocationTargetException e) {
-                    log.severe("Invocation target exception: " + e.toString());
+                    binding.set(target, binding.parseValue(value));
+                } catch (NumberFormatException e) {
+                    log.severe("Exception while storing new value: Number format exception. Expected: " +
+                            binding.getType().getSimpleName() + ". Value: " + value);
+                } catch (Exception e) {
+                    log.severe("Exception while storing new value: " + e.toString());
                 }
-
             }
         });
     }
 }
-
-
@@ -20,13 +20,25 @@
  */
 package com.kumuluz.ee.jsonp.configuration.utils;
 
+import com.kumuluz.ee.configuration.utils.ConfigurationSourceUtils;
 import com.kumuluz.ee.configuration.utils.ConfigurationUtil;
+import com.kumuluz.ee.configuration.utils.ConfigurationValueCache;
 
 import javax.json.*;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Enables retrieval of a part of a configuration hierarchy as a JSON-P object/array.
+ * <p>
+ * When the configuration value cache is enabled, built objects and arrays are cached per key and evicted when a key
+ * in their subtree changes.
  *
  * @author Urban Malc
  * @since 3.4.0
@@ -54,6 +66,12 @@ public class JsonConfigurationUtil {
     }
 
     private JsonConfigurationUtil() {
+
+        cacheEnabled = config.getValueCache().isEnabled();
+
+        if (cacheEnabled) {
+            config.getValueCache().addInvalidationListener(new InvalidationListener(this, config.getValueCache()));
+        }
     }
 
     private ConfigurationUtil config = ConfigurationUtil.getInstance();
@@ -61,6 +79,12 @@ public class JsonConfigurationUtil {
     private String mapToEmptyObject;
     private String mapToEmptyArray;
 
+    private final boolean cacheEnabled;
+    private final Map<String, Optional<JsonObject>> jsonObjects = new ConcurrentHashMap<>();
+    private final Map<String, Optional<JsonArray>> jsonArrays = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Object invalidationLock = new Object();
+
     private JsonValue getMappingIfAvailable(String s) {
         if (mapToNull != null && mapToNull.equals(s)) {
             return JsonValue.NULL;
@@ -76,109 +100,220 @@ public class JsonConfigurationUtil {
     }
 
     public Optional<JsonObject> getJsonObject(String key) {
+        return getCached(jsonObjects, key, () ->
+                config.getMapKeys(key).map(mapKeys -> buildJsonObject(key, mapKeys)));
+    }
+
+    public Optional<JsonArray> getJsonArray(String key) {
+        return getCached(jsonArrays, key, () ->
+                config.getListSize(key).map(listSize -> buildJsonArray(key, listSize)));
+    }
+
+    /**
+     * Returns the cached result for the given key or builds and caches it. Results are only cached if the
+     * configuration value cache is enabled, since its invalidations are used to evict them.
+     */
+    private <T extends JsonStructure> Optional<T> getCached(Map<String, Optional<T>> cache, String key,
+                                                            Supplier<Optional<T>> builder) {
+
+        if (!cacheEnabled) {
+            return builder.get().filter(this::isNotEmpty);
+        }
+
+        Optional<T> value = cache.get(key);
+
+        if (value != null) {
+            return value;
+        }
+
+        long currentGeneration = generation.get();
+
+        value = builder.get().filter(this::isNotEmpty);
+
+        // discard the result if the configuration changed while it was built, the check and the store are guarded
+        // by the lock of the invalidation, so it can not evict the key in between
+        synchronized (invalidationLock) {
+            if (generation.get() == currentGeneration) {
+                cache.put(key, value);
+            }
+        }
+
+        return value;
+    }
+
+    private void invalidate(String changedKey) {
+
+        synchronized (invalidationLock) {
+
+            generation.incrementAndGet();
+
+            if (changedKey == null) {
+                jsonObjects.clear();
+                jsonArrays.clear();
+            } else {
+                jsonObjects.keySet().removeIf(key -> isRelated(key, changedKey));
+                jsonArrays.keySet().removeIf(key -> isRelated(key, changedKey));
+            }
+        }
+    }
+
+    private static boolean isRelated(String key, String changedKey) {
+        return ConfigurationSourceUtils.isInSubtree(changedKey, key) ||
+                ConfigurationSourceUtils.isInSubtree(key, changedKey);
+    }
+
+    private boolean isNotEmpty(JsonStructure structure) {
+        return (structure instanceof JsonObject) ? !((JsonObject) structure).isEmpty() :
+                !((JsonArray) structure).isEmpty();
+    }
+
+    /**
+     * Builds the object in a single traversal of the subtree, every node is visited once and every scalar is parsed
+     * once.
+     */
+    private JsonObject buildJsonObject(String key, List<String> mapKeys) {
 
         JsonObjectBuilder objectBuilder = Json.createObjectBuilder();
 
-        config.getMapKeys(key).ifPresent(mapList -> mapList.forEach(prop -> {
+        for (String prop : mapKeys) {
+
             String nextKey = (key.equals("")) ? prop : key + "." + prop;
 
-            config.getType(nextKey).ifPresent(type -> {
-                switch (type) {
-                    case MAP:
-                        getJsonObject(nextKey).ifPresent(o -> objectBuilder.add(prop, o));
-                        break;
-                    case LIST:
-                        getJsonArray(nextKey).ifPresent(a -> objectBuilder.add(prop, a));
-                        break;
-                    case INTEGER:
-                        config.getInteger(nextKey).ifPresent(value -> objectBuilder.add(prop, value));
-                        break;
-                    case LONG:
-                        config.getLong(nextKey).ifPresent(value -> objectBuilder.add(prop, value));
-                        break;
-                    case DOUBLE:
-                        config.getDouble(nextKey).ifPresent(value -> objectBuilder.add(prop, value));
-                        break;
-                    case FLOAT:
-                        config.getFloat(nextKey).ifPresent(value -> objectBuilder.add(prop, value));
-                        break;
-                    case BOOLEAN:
-                        config.getBoolean(nextKey).ifPresent(value -> objectBuilder.add(prop, value));
-                        break;
-                    case STRING:
-                        config.get(nextKey).ifPresent(s -> {
-                            JsonValue mapped = getMappingIfAvailable(s);
-                            if (mapped != null) {
-                                objectBuilder.add(prop, mapped);
-                            } else {
-                                objectBuilder.add(prop, s);
-                            }
-                        });
-                        break;
+            Optional<Integer> listSize = config.getListSize(nextKey);
+
+            if (listSize.isPresent()) {
+
+                JsonArray jsonArray = buildJsonArray(nextKey, listSize.get());
+
+                if (!jsonArray.isEmpty()) {
+                    objectBuilder.add(prop, jsonArray);
+                }
+
+                continue;
+            }
+
+            Optional<List<String>> nestedMapKeys = config.getMapKeys(nextKey);
+
+            if (nestedMapKeys.isPresent()) {
+
+                JsonObject jsonObject = buildJsonObject(nextKey, nestedMapKeys.get());
+
+                if (!jsonObject.isEmpty()) {
+                    objectBuilder.add(prop, jsonObject);
                 }
-            });
-        }));
 
-        JsonObject jsonObject = objectBuilder.build();
-        if (jsonObject.isEmpty()) {
-            return Optional.empty();
+                continue;
+            }
+
+            config.get(nextKey).ifPresent(value -> objectBuilder.add(prop, toJsonValue(value)));
         }
 
-        return Optional.of(jsonObject);
+        return objectBuilder.build();
     }
 
-    public Optional<JsonArray> getJsonArray(String key) {
+    private JsonArray buildJsonArray(String key, int listSize) {
+
         JsonArrayBuilder arrayBuilder = Json.createArrayBuilder();
 
-        config.getListSize(key).ifPresent(listSize -> {
-            for (int i = 0; i < listSize; i++) {
-                String nextKey = key + "[" + i + "]";
-                config.getType(nextKey).ifPresent(type -> {
-                    switch (type) {
-                        case MAP:
-                            getJsonObject(nextKey).ifPresent(arrayBuilder::add);
-                            break;
-                        case LIST:
-                            getJsonArray(nextKey).ifPresent(arrayBuilder::add);
-                            break;
-                        case INTEGER:
-                            config.getInteger(nextKey).ifPresent(arrayBuilder::add);
-                            break;
-                        case LONG:
-                            config.getLong(nextKey).ifPresent(arrayBuilder::add);
-                            break;
-                        case DOUBLE:
-                            config.getDouble(nextKey).ifPresent(arrayBuilder::add);
-                            break;
-                        case FLOAT:
-                            config.getFloat(nextKey).ifPresent(arrayBuilder::add);
-                            break;
-                        case BOOLEAN:
-                            config.getBoolean(nextKey).ifPresent(arrayBuilder::add);
-                            break;
-                        case STRING:
-                            config.get(nextKey).ifPresent(s -> {
-                                JsonValue mapped = getMappingIfAvailable(s);
-                                if (mapped != null) {
-                                    arrayBuilder.add(mapped);
-                                } else {
-                                    arrayBuilder.add(s);
-                                }
-                            });
-                            break;
-                    }
-                });
+        for (int i = 0; i < listSize; i++) {
+
+            String nextKey = key + "[" + i + "]";
+
+            Optional<Integer> nestedListSize = config.getListSize(nextKey);
+
+            if (nestedListSize.isPresent()) {
+
+                JsonArray jsonArray = buildJsonArray(nextKey, nestedListSize.get());
+
+                if (!jsonArray.isEmpty()) {
+                    arrayBuilder.add(jsonArray);
+                }
+
+                continue;
             }
-        });
 
-        JsonArray jsonArray = arrayBuilder.build();
-        if (jsonArray.isEmpty()) {
-            return Optional.empty();
+            Optional<List<String>> mapKeys = config.getMapKeys(nextKey);
+
+            if (mapKeys.isPresent()) {
+
+                JsonObject jsonObject = buildJsonObject(nextKey, mapKeys.get());
+
+                if (!jsonObject.isEmpty()) {
+                    arrayBuilder.add(jsonObject);
+                }
+
+                continue;
+            }
+
+            config.get(nextKey).ifPresent(value -> arrayBuilder.add(toJsonValue(value)));
         }
 
-        return Optional.of(jsonArray);
+        return arrayBuilder.build();
     }
 
+    /**
+     * Converts the value with the type detected the same way as {@link ConfigurationUtil#getType(String)}.
+     */
+    private JsonValue toJsonValue(String value) {
+
+        if ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
+            return Boolean.parseBoolean(value) ? JsonValue.TRUE : JsonValue.FALSE;
+        }
+
+        try {
+            return Json.createValue(Integer.parseInt(value));
+        } catch (NumberFormatException ignored) {
+        }
+
+        try {
+            return Json.createValue(Long.parseLong(value));
+        } catch (NumberFormatException ignored) {
+        }
+
+        try {
+            float f = Float.parseFloat(value);
+            if (!Float.isInfinite(f)) {
+                return Json.createValue(f);
+            }
+        } catch (NumberFormatException ignored) {
+        }
+
+        try {
+            return Json.createValue(Double.parseDouble(value));
+        } catch (NumberFormatException ignored) {
+        }
+
+        JsonValue mapped = getMappingIfAvailable(value);
+
+        return (mapped != null) ? mapped : Json.createValue(value);
+    }
+
+    /**
+     * Forwards invalidations to a JSON configuration util without keeping it reachable, so utils created by builders
+     * can be collected. The listener removes itself on the first invalidation after its util was collected.
+     */
+    private static final class InvalidationListener implements Consumer<String> {
+
+        private final WeakReference<JsonConfigurationUtil> reference;
+        private final ConfigurationValueCache valueCache;
+
+        private InvalidationListener(JsonConfigurationUtil jsonConfigurationUtil, ConfigurationValueCache valueCache) {
+            this.reference = new WeakReference<>(jsonConfigurationUtil);
+            this.valueCache = valueCache;
+        }
+
+        @Override
+        public void accept(String changedKey) {
+
+            JsonConfigurationUtil jsonConfigurationUtil = reference.get();
+
+            if (jsonConfigurationUtil == null) {
+                valueCache.removeInvalidationListener(this);
+            } else {
+                jsonConfigurationUtil.invalidate(changedKey);
+            }
+        }
+    }
 
     public static final class Builder {
         private String mapToNull;
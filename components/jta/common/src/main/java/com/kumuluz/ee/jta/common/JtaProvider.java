@@ -43,19 +43,33 @@ public abstract class JtaProvider {
             Status.STATUS_PREPARING, Status.STATUS_ROLLING_BACK
     );
 
-    private static JtaProvider instance;
+    private static volatile JtaProvider instance;
 
     public static JtaProvider getInstance() {
-        if (instance == null) {
-            Iterator<JtaProvider> it = ServiceLoader.load(JtaProvider.class).iterator();
 
-            if (!it.hasNext()) {
-                throw new KumuluzServerException("No JTA components were found");
-            }
+        JtaProvider provider = instance;
+
+        if (provider == null) {
+
+            // data sources may be created concurrently
+            synchronized (JtaProvider.class) {
+
+                provider = instance;
 
-            instance = it.next();
+                if (provider == null) {
+                    Iterator<JtaProvider> it = ServiceLoader.load(JtaProvider.class).iterator();
+
+                    if (!it.hasNext()) {
+                        throw new KumuluzServerException("No JTA components were found");
+                    }
+
+                    provider = it.next();
+                    instance = provider;
+                }
+            }
         }
-        return instance;
+
+        return provider;
     }
 
     public abstract UserTransaction getUserTransaction();
@@ -21,14 +21,21 @@
 package com.kumuluz.ee;
 
 import com.kumuluz.ee.common.*;
+import com.kumuluz.ee.common.config.DataSourceConfig;
+import com.kumuluz.ee.common.config.DataSourcePoolConfig;
 import com.kumuluz.ee.common.config.EeConfig;
+import com.kumuluz.ee.common.config.XaDataSourceConfig;
 import com.kumuluz.ee.common.dependencies.*;
 import com.kumuluz.ee.common.exceptions.KumuluzServerException;
 import com.kumuluz.ee.common.filters.PoweredByFilter;
+import com.kumuluz.ee.common.index.EeIndex;
+import com.kumuluz.ee.common.index.EeIndexEntry;
 import com.kumuluz.ee.common.runtime.EeRuntime;
 import com.kumuluz.ee.common.runtime.EeRuntimeComponent;
 import com.kumuluz.ee.common.runtime.EeRuntimeExtension;
 import com.kumuluz.ee.common.runtime.EeRuntimeInternal;
+import com.kumuluz.ee.common.runtime.EeStartupPhase;
+import com.kumuluz.ee.common.runtime.EeStartupTimeline;
 import com.kumuluz.ee.common.utils.PackagingType;
 import com.kumuluz.ee.common.utils.ResourceUtils;
 import com.kumuluz.ee.common.wrapper.ComponentWrapper;
@@ -42,9 +49,18 @@ import com.kumuluz.ee.factories.AgroalDataSourceFactory;
 import com.kumuluz.ee.factories.EeConfigFactory;
 import com.kumuluz.ee.loaders.*;
 import com.kumuluz.ee.logs.impl.JavaUtilDefaultLogConfigurator;
+import com.kumuluz.ee.startup.DataSourceWarmup;
+import com.kumuluz.ee.startup.InitializationGraph;
 import io.agroal.api.AgroalDataSource;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.logging.Handler;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
@@ -62,6 +78,8 @@ public class EeApplication {
 
     private KumuluzServerWrapper server;
 
+    private EeStartupTimeline startupTimeline;
+
     public EeApplication() {
 
         initialize();
@@ -85,6 +103,10 @@ public class EeApplication {
 
     private void initialize() {
 
+        startupTimeline = new EeStartupTimeline();
+
+        EeStartupTimeline.Phase phase = startupTimeline.begin("Logs extension");
+
         // Loading the logs extension and set up logging bridges before any actual logging is done
         Optional<LogsExtension> logsExtensionOptional = LogsExtensionLoader.loadExtension();
 
@@ -105,11 +127,19 @@ public class EeApplication {
             JavaUtilDefaultLogConfigurator.init();
         }
 
+        phase.end();
+
         // Initialize the configuration
+        phase = startupTimeline.begin("Configuration");
+
         ConfigurationImpl configImpl = new ConfigurationImpl();
 
         ConfigurationUtil.initialize(configImpl);
 
+        phase.end();
+
+        phase = startupTimeline.begin("EeConfig");
+
         if (this.eeConfig == null) {
             this.eeConfig = EeConfigFactory.buildEeConfig();
         } else if (!EeConfigFactory.isEeConfigValid(this.eeConfig)) {
@@ -119,6 +149,8 @@ public class EeApplication {
 
         EeConfig.initialize(this.eeConfig);
 
+        phase.end();
+
         // We first set java.util.logging.manager by extension detection and only load the extension
         // after configuration sources have been initialized. This is because the property must be set
         // before any calls are made to LogManager or Logger. Some of the external configuration libraries
@@ -150,24 +182,36 @@ public class EeApplication {
         log.info("Loading available EE components and extensions");
 
         // Loading the kumuluz server and extracting its metadata
+        phase = startupTimeline.begin("Server loading");
+
         KumuluzServer kumuluzServer = ServerLoader.loadServletServer();
         processKumuluzServer(kumuluzServer);
 
-        // Loading all the present components, extracting their metadata and process dependencies
+        phase.end();
+
+        // Loading all the present components and extensions
+        phase = startupTimeline.begin("Component and extension loading");
+
         List<Component> components = ComponentLoader.loadComponents();
+        List<ConfigExtension> configExtensions = ConfigExtensionLoader.loadExtensions();
+        List<Extension> extensions = ExtensionLoader.loadExtensions();
+
+        phase.end();
+
+        // Extracting the metadata of the components and extensions and processing their dependencies
+        phase = startupTimeline.begin("Dependency processing");
+
         List<EeComponentWrapper> eeComponents = processEeComponents(components);
 
-        // Loading the config extensions and extracting its metadata
-        List<ConfigExtension> configExtensions = ConfigExtensionLoader.loadExtensions();
         List<ExtensionWrapper<ConfigExtension>> eeConfigExtensions = processSingleEeExtensions(configExtensions, eeComponents);
 
         List<LogsExtension> logsExtensions = logsExtensionOptional.map(Collections::singletonList).orElseGet(Collections::emptyList);
         List<ExtensionWrapper<LogsExtension>> eeLogsExtensions = processGroupEeExtensions(logsExtensions, eeComponents);
 
-        // Loading the extensions and extracting its metadata
-        List<Extension> extensions = ExtensionLoader.loadExtensions();
         List<ExtensionWrapper<Extension>> eeExtensions = processGroupEeExtensions(extensions, eeComponents);
 
+        phase.end();
+
         log.info("EE Components and extensions loaded");
 
         log.info("Initializing the KumuluzEE runtime");
@@ -196,6 +240,7 @@ public class EeApplication {
                 .map(e -> new EeRuntimeExtension(e.getGroup(), e.getName())).collect(Collectors.toList()));
 
         eeRuntimeInternal.setEeExtensions(eeRuntimeExtensions);
+        eeRuntimeInternal.setStartupTimeline(startupTimeline);
 
         EeRuntime.initialize(eeRuntimeInternal);
 
@@ -204,12 +249,16 @@ public class EeApplication {
         // Initiate the config extensions
         log.info("Initializing config extensions");
 
+        List<ConfigurationSource> extensionSources = new ArrayList<>();
+
         for (ExtensionWrapper<ConfigExtension> extension : eeConfigExtensions) {
 
             log.info("Found config extension implemented by " + extension.getName());
 
             if (extension.getExtension().isEnabled()) {
 
+                phase = startupTimeline.begin("Config extension " + extension.getName());
+
                 extension.getExtension().load();
                 extension.getExtension().init(server, eeConfig);
 
@@ -223,29 +272,47 @@ public class EeApplication {
 
                     if (source != null) {
                         source.init(configImpl.getDispatcher());
-                        configImpl.getConfigurationSources().add(source);
+                        extensionSources.add(source);
                     }
                 }
+
+                phase.end();
             } else {
                 log.info("Config extension " + extension.getName() + " won't be initialized because it's disabled.");
             }
         }
 
-        configImpl.getConfigurationSources().sort(Comparator.comparingInt(ConfigurationSource::getOrdinal).reversed());
+        // values resolved before the config extensions were added may be shadowed by the new sources, adding them
+        // clears the resolved values
+        configImpl.addConfigurationSources(extensionSources);
 
         log.info("Config extensions initialized");
 
+        if (Boolean.parseBoolean(System.getProperty("com.kumuluz.ee.configuration.decoder.preload"))) {
+            ConfigurationUtil.getInstance().preloadDecodedValues();
+        }
+
         for (ExtensionWrapper<LogsExtension> extension : eeLogsExtensions) {
 
             log.info("Found logs extension implemented by " + extension.getName());
 
+            phase = startupTimeline.begin("Logs extension " + extension.getName());
+
             extension.getExtension().init(server, eeConfig);
+
+            phase.end();
         }
 
         // Initiate the server
+        phase = startupTimeline.begin("Server initialization");
+
         server.getServer().setServerConfig(eeConfig.getServer());
         server.getServer().initServer();
 
+        phase.end();
+
+        DataSourceWarmup dataSourceWarmup = null;
+
         // Depending on the server type, initiate server specific functionality
         if (server.getServer() instanceof ServletServer) {
 
@@ -258,20 +325,21 @@ public class EeApplication {
                     .collect(Collectors.toList()));
             allExtensions.addAll(eeLogsExtensions.stream().map(ExtensionWrapper::getExtension)
                     .collect(Collectors.toList()));
+
+            phase = startupTimeline.begin("Web context initialization");
+
             servletServer.initWebContext(collectScanLibraries(allExtensions));
 
+            phase.end();
+
             // Create and register datasources to the underlying server
+            phase = startupTimeline.begin("Data source creation");
+
             boolean jtaPresent = eeRuntimeInternal.getEeComponents().stream().anyMatch(c -> c.getType().equals(EeComponentType.JTA));
 
-            eeConfig.getDatasources().forEach(dsc -> {
-                AgroalDataSource ds = AgroalDataSourceFactory.createDataSource(dsc, jtaPresent);
-                servletServer.registerDataSource(ds, dsc.getJndiName());
-            });
+            dataSourceWarmup = createDataSources(servletServer, jtaPresent);
 
-            eeConfig.getXaDatasources().forEach(xdsc -> {
-                AgroalDataSource xds = AgroalDataSourceFactory.createXaDataSource(xdsc, jtaPresent);
-                servletServer.registerDataSource(xds, xdsc.getJndiName());
-            });
+            phase.end();
 
             // Add the server info headers
             if (eeConfig.getServer().getShowServerInfo()) {
@@ -282,39 +350,295 @@ public class EeApplication {
             }
         }
 
-        log.info("Initializing components");
+        if (Boolean.parseBoolean(System.getProperty("com.kumuluz.ee.startup.parallel"))) {
+
+            initializeInParallel(eeComponents, eeExtensions);
+        } else {
+
+            log.info("Initializing components");
+
+            // Initiate every found component in the order specified by the components dependencies
+            for (EeComponentWrapper cw : eeComponents) {
+
+                log.info("Found EE component " + cw.getType().getName() + " implemented by " + cw.getName());
+
+                phase = startupTimeline.begin("Component " + cw.getType().getName() + " (" + cw.getName() + ")");
+
+                cw.getComponent().init(server, eeConfig);
+                cw.getComponent().load();
+
+                phase.end();
+            }
+
+            log.info("Components initialized");
+
+            // Initiate the other extensions
+            log.info("Initializing extensions");
+
+            for (ExtensionWrapper<Extension> extension : eeExtensions) {
+
+                log.info("Found extension implemented by " + extension.getName());
+
+                if (extension.getExtension().isEnabled()) {
+
+                    phase = startupTimeline.begin("Extension " + extension.getName());
+
+                    extension.getExtension().load();
+                    extension.getExtension().init(server, eeConfig);
+
+                    phase.end();
+                } else {
+                    log.info("Extension " + extension.getName() + " won't be initialized because it's disabled.");
+                }
+            }
+
+            log.info("Extensions Initialized");
+        }
+
+        if (dataSourceWarmup != null) {
+
+            phase = startupTimeline.begin("Data source warm-up");
+
+            dataSourceWarmup.await();
+
+            phase.end();
+        }
+
+        phase = startupTimeline.begin("Server start");
+
+        server.getServer().startServer();
+
+        phase.end();
+
+        startupTimeline.finish();
+
+        log.info("KumuluzEE started successfully");
+
+        logStartupSummary();
+    }
+
+    private void logStartupSummary() {
+
+        List<EeStartupPhase> phases = new ArrayList<>(startupTimeline.getPhases());
+        phases.sort(Comparator.comparingLong(EeStartupPhase::getWallTimeNanos).reversed());
+
+        StringBuilder summary = new StringBuilder(String.format("Startup completed in %.1f ms, phases by duration:",
+                startupTimeline.getTotalWallTimeNanos() / 1e6));
+
+        for (EeStartupPhase startupPhase : phases) {
+
+            summary.append(String.format("%n  %10.1f ms wall", startupPhase.getWallTimeNanos() / 1e6));
+
+            if (startupPhase.getCpuTimeNanos() >= 0) {
+                summary.append(String.format(", %10.1f ms CPU", startupPhase.getCpuTimeNanos() / 1e6));
+            }
+
+            summary.append("  ").append(startupPhase.getName());
+        }
+
+        log.info(summary.toString());
+    }
+
+    /**
+     * Creates the configured data sources concurrently and registers them in the order of their configuration. If
+     * warm-up is enabled, the initial connections of every pool are opened in the background.
+     *
+     * @return warm-up of the created pools or null, if warm-up is not enabled
+     */
+    private DataSourceWarmup createDataSources(ServletServer servletServer, boolean jtaPresent) {
+
+        List<DataSourceConfig> dataSourceConfigs = eeConfig.getDatasources();
+        List<XaDataSourceConfig> xaDataSourceConfigs = eeConfig.getXaDatasources();
+
+        int dataSourceCount = dataSourceConfigs.size() + xaDataSourceConfigs.size();
+
+        if (dataSourceCount == 0) {
+            return null;
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(dataSourceCount, 16), r -> {
+            Thread thread = new Thread(r, "kumuluzee-datasource-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        List<CompletableFuture<AgroalDataSource>> dataSources = new ArrayList<>();
+        List<CompletableFuture<AgroalDataSource>> xaDataSources = new ArrayList<>();
+
+        dataSourceConfigs.forEach(dsc -> dataSources.add(CompletableFuture.supplyAsync(() ->
+                withContextClassLoader(contextClassLoader, () ->
+                        AgroalDataSourceFactory.createDataSource(dsc, jtaPresent)), executor)));
+
+        xaDataSourceConfigs.forEach(xdsc -> xaDataSources.add(CompletableFuture.supplyAsync(() ->
+                withContextClassLoader(contextClassLoader, () ->
+                        AgroalDataSourceFactory.createXaDataSource(xdsc, jtaPresent)), executor)));
+
+        DataSourceWarmup warmup = DataSourceWarmup.isEnabled() ? new DataSourceWarmup(executor) : null;
+
+        try {
+            for (int i = 0; i < dataSourceConfigs.size(); i++) {
+
+                DataSourceConfig dsc = dataSourceConfigs.get(i);
+                AgroalDataSource ds = dataSources.get(i).join();
+
+                servletServer.registerDataSource(ds, dsc.getJndiName());
+
+                if (warmup != null) {
+                    warmUp(warmup, dsc.getJndiName(), ds, dsc.getPool());
+                }
+            }
+
+            for (int i = 0; i < xaDataSourceConfigs.size(); i++) {
+
+                XaDataSourceConfig xdsc = xaDataSourceConfigs.get(i);
+                AgroalDataSource xds = xaDataSources.get(i).join();
+
+                servletServer.registerDataSource(xds, xdsc.getJndiName());
+
+                if (warmup != null) {
+                    warmUp(warmup, xdsc.getJndiName(), xds, xdsc.getPool());
+                }
+            }
+        } catch (CompletionException e) {
+
+            // the startup fails, so the pools of the other data sources are closed, once they are created
+            dataSources.forEach(future -> future.thenAccept(AgroalDataSource::close));
+            xaDataSources.forEach(future -> future.thenAccept(AgroalDataSource::close));
+
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new KumuluzServerException("Failed to create DataSource", e.getCause());
+        } finally {
+            // already submitted warm-up tasks are still executed
+            executor.shutdown();
+        }
+
+        return warmup;
+    }
+
+    private void warmUp(DataSourceWarmup warmup, String name, AgroalDataSource dataSource,
+                        DataSourcePoolConfig poolConfig) {
+
+        int connections = Math.max(Optional.ofNullable(poolConfig.getInitialSize()).orElse(0),
+                Optional.ofNullable(poolConfig.getMinSize()).orElse(0));
+
+        if (poolConfig.getMaxSize() != null) {
+            connections = Math.min(connections, poolConfig.getMaxSize());
+        }
+
+        long validationTimeout = Optional.ofNullable(poolConfig.getValidationTimeout()).orElse(5000L);
+        int validationTimeoutSeconds = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(validationTimeout));
+
+        warmup.warmUp(name, dataSource, connections, validationTimeoutSeconds);
+    }
+
+    private static <T> T withContextClassLoader(ClassLoader classLoader, Supplier<T> supplier) {
+
+        Thread thread = Thread.currentThread();
+        ClassLoader previousClassLoader = thread.getContextClassLoader();
+
+        thread.setContextClassLoader(classLoader);
+
+        try {
+            return supplier.get();
+        } finally {
+            thread.setContextClassLoader(previousClassLoader);
+        }
+    }
+
+    /**
+     * Initializes components and extensions concurrently, ordered by the dependency graph described by their
+     * {@link EeComponentDependency} and {@link EeComponentOptional} annotations. As in sequential initialization,
+     * extensions are only initialized after all components.
+     * <p>
+     * Components and extensions which do not depend on each other are initialized at the same time, so they must be
+     * thread-safe in what they share, e.g. static state or system properties. Registrations with the server are
+     * synchronized, but servlets and filters of independent components are registered in the order their
+     * initialization happens to reach them; a component whose filters must precede the filters of another one has to
+     * declare a dependency on it.
+     */
+    private void initializeInParallel(List<EeComponentWrapper> eeComponents,
+                                      List<ExtensionWrapper<Extension>> eeExtensions) {
+
+        log.info("Initializing components and extensions in parallel");
+
+        InitializationGraph graph = new InitializationGraph();
 
-        // Initiate every found component in the order specified by the components dependencies
         for (EeComponentWrapper cw : eeComponents) {
 
             log.info("Found EE component " + cw.getType().getName() + " implemented by " + cw.getName());
 
-            cw.getComponent().init(server, eeConfig);
-            cw.getComponent().load();
+            graph.addTask(cw.getType().getName(), () -> {
+
+                EeStartupTimeline.Phase phase =
+                        startupTimeline.begin("Component " + cw.getType().getName() + " (" + cw.getName() + ")");
+
+                cw.getComponent().init(server, eeConfig);
+                cw.getComponent().load();
+
+                phase.end();
+            });
         }
 
-        log.info("Components initialized");
+        for (EeComponentWrapper cw : eeComponents) {
 
-        // Initiate the other extensions
-        log.info("Initializing extensions");
+            for (EeComponentDependency dependency : cw.getDependencies()) {
+                graph.addDependency(cw.getType().getName(), dependency.value().getName());
+            }
+
+            for (EeComponentOptional dependency : cw.getOptionalDependencies()) {
+                graph.addDependency(cw.getType().getName(), dependency.value().getName());
+            }
+        }
 
         for (ExtensionWrapper<Extension> extension : eeExtensions) {
 
             log.info("Found extension implemented by " + extension.getName());
 
             if (extension.getExtension().isEnabled()) {
-                extension.getExtension().load();
-                extension.getExtension().init(server, eeConfig);
+
+                String name = "Extension " + extension.getName();
+
+                graph.addTask(name, () -> {
+
+                    EeStartupTimeline.Phase phase = startupTimeline.begin(name);
+
+                    extension.getExtension().load();
+                    extension.getExtension().init(server, eeConfig);
+
+                    phase.end();
+                });
+
+                for (EeComponentWrapper cw : eeComponents) {
+                    graph.addDependency(name, cw.getType().getName());
+                }
             } else {
                 log.info("Extension " + extension.getName() + " won't be initialized because it's disabled.");
             }
         }
 
-        log.info("Extensions Initialized");
+        int threads = Integer.getInteger("com.kumuluz.ee.startup.parallel.threads",
+                Runtime.getRuntime().availableProcessors());
 
-        server.getServer().startServer();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread thread = new Thread(r, "kumuluzee-startup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
 
-        log.info("KumuluzEE started successfully");
+        try {
+            InitializationGraph.Result result = graph.execute(executor);
+
+            log.info("Components and extensions initialized, critical path: " + result);
+        } finally {
+            executor.shutdown();
+        }
     }
 
     private List<String> collectScanLibraries(List<Extension> extensions) {
@@ -357,9 +681,8 @@ public class EeApplication {
                     throw new KumuluzServerException(msg);
                 }
 
-                EeComponentDependency[] dependencies = c.getClass().getDeclaredAnnotationsByType
-                        (EeComponentDependency.class);
-                EeComponentOptional[] optionals = c.getClass().getDeclaredAnnotationsByType(EeComponentOptional.class);
+                EeComponentDependency[] dependencies = getDependencies(c.getClass());
+                EeComponentOptional[] optionals = getOptionalDependencies(c.getClass());
 
                 eeComp.put(def.type(), new EeComponentWrapper(c, def.name(), def.type(), dependencies, optionals));
             }
@@ -473,9 +796,8 @@ public class EeApplication {
                     throw new KumuluzServerException(msg);
                 }
 
-                EeComponentDependency[] dependencies = e.getClass().getDeclaredAnnotationsByType
-                        (EeComponentDependency.class);
-                EeComponentOptional[] optionals = e.getClass().getDeclaredAnnotationsByType(EeComponentOptional.class);
+                EeComponentDependency[] dependencies = getDependencies(e.getClass());
+                EeComponentOptional[] optionals = getOptionalDependencies(e.getClass());
 
                 eeExt.put(def.group(), new ExtensionWrapper<>(e, def.name(), def.group(), dependencies, optionals));
             }
@@ -501,8 +823,8 @@ public class EeApplication {
 
             if (def != null) {
 
-                EeComponentDependency[] dependencies = e.getClass().getDeclaredAnnotationsByType(EeComponentDependency.class);
-                EeComponentOptional[] optionals = e.getClass().getDeclaredAnnotationsByType(EeComponentOptional.class);
+                EeComponentDependency[] dependencies = getDependencies(e.getClass());
+                EeComponentOptional[] optionals = getOptionalDependencies(e.getClass());
 
                 extensionWrappers.add(new ExtensionWrapper<>(e, def.name(), def.group(), dependencies, optionals));
             }
@@ -515,6 +837,16 @@ public class EeApplication {
         return extensionWrappers;
     }
 
+    private EeComponentDependency[] getDependencies(Class<?> type) {
+        return EeIndex.getEntry(type).map(EeIndexEntry::getDependencies)
+                .orElseGet(() -> type.getDeclaredAnnotationsByType(EeComponentDependency.class));
+    }
+
+    private EeComponentOptional[] getOptionalDependencies(Class<?> type) {
+        return EeIndex.getEntry(type).map(EeIndexEntry::getOptionalDependencies)
+                .orElseGet(() -> type.getDeclaredAnnotationsByType(EeComponentOptional.class));
+    }
+
     private <E extends Extension> void processEeExtensionDependencies(List<ExtensionWrapper<E>> extensions, List<EeComponentWrapper>
             components) {
 
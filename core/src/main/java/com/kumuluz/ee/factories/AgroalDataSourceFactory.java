@@ -6,6 +6,7 @@ import com.kumuluz.ee.common.config.XaDataSourceConfig;
 import com.kumuluz.ee.common.exceptions.KumuluzServerException;
 import com.kumuluz.ee.common.utils.StringUtils;
 import com.kumuluz.ee.jta.common.JtaProvider;
+import com.kumuluz.ee.startup.DataSourceWarmup;
 import io.agroal.api.AgroalDataSource;
 import io.agroal.api.configuration.AgroalConnectionFactoryConfiguration.TransactionIsolation;
 import io.agroal.api.configuration.AgroalConnectionPoolConfiguration;
@@ -124,12 +125,13 @@ public class AgroalDataSourceFactory {
         Optional.ofNullable( dscp.getMaxLifetime() ).map(Duration::ofMillis).ifPresent(pool::maxLifetime);
 
         Optional.ofNullable( dscp.getInitialSize() ).ifPresent(v -> {
-            warnMessageAgroalFeature("initialSize", isHikariSelected);
+            // eagerly opened by the data source warm-up, also on HikariCP
+            warnMessageAgroalFeature("initialSize", isHikariSelected && !DataSourceWarmup.isEnabled());
             pool.initialSize(v);
         });
 
         Optional.ofNullable( dscp.getMinSize() ).ifPresent(v -> {
-            warnMessageAgroalFeature("minSize", isHikariSelected);
+            warnMessageAgroalFeature("minSize", isHikariSelected && !DataSourceWarmup.isEnabled());
             pool.minSize(v);
         });
 
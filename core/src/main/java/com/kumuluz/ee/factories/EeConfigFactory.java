@@ -20,6 +20,7 @@
  */
 package com.kumuluz.ee.factories;
 
+import com.kumuluz.ee.common.config.AdmissionConfig;
 import com.kumuluz.ee.common.config.DataSourceConfig;
 import com.kumuluz.ee.common.config.DataSourcePoolConfig;
 import com.kumuluz.ee.common.config.DevConfig;
@@ -76,6 +77,7 @@ public class EeConfigFactory {
             Optional<Boolean> etags = cfg.getBoolean("kumuluzee.server.etags");
             Optional<Integer> minThreads = cfg.getInteger("kumuluzee.server.min-threads");
             Optional<Integer> maxThreads = cfg.getInteger("kumuluzee.server.max-threads");
+            Optional<String> threadMode = cfg.get("kumuluzee.server.thread-mode");
             Optional<Boolean> forceHttps = cfg.getBoolean("kumuluzee.server.force-https");
             Optional<Boolean> showServerInfo = cfg.getBoolean("kumuluzee.server.show-server-info");
             Optional<Boolean> forwardStartupException = cfg.getBoolean("kumuluzee.server.jetty.forward-startup-exception");
@@ -86,6 +88,7 @@ public class EeConfigFactory {
             etags.ifPresent(serverBuilder::etags);
             minThreads.ifPresent(serverBuilder::minThreads);
             maxThreads.ifPresent(serverBuilder::maxThreads);
+            threadMode.ifPresent(serverBuilder::threadMode);
             forceHttps.ifPresent(serverBuilder::forceHttps);
             showServerInfo.ifPresent(serverBuilder::showServerInfo);
             forwardStartupException.ifPresent(serverBuilder::forwardStartupException);
@@ -101,14 +104,23 @@ public class EeConfigFactory {
                 createServerConnectorConfigBuilder("kumuluzee.server.https",
                         ServerConnectorConfig.DEFAULT_HTTPS_PORT);
 
+        ServerConnectorConfig.Builder unixSocketBuilder =
+                createServerConnectorConfigBuilder("kumuluzee.server.unix-socket", null);
+
         serverBuilder.http(httpBuilder);
         serverBuilder.https(httpsBuilder);
+        serverBuilder.unixSocket(unixSocketBuilder);
 
         GzipConfig.Builder gzipBuilder =
                 createGzipConfigBuilder("kumuluzee.server.gzip");
 
         serverBuilder.gzip(gzipBuilder);
 
+        AdmissionConfig.Builder admissionBuilder =
+                createAdmissionConfigBuilder("kumuluzee.server.admission");
+
+        serverBuilder.admission(admissionBuilder);
+
         eeConfigBuilder.server(serverBuilder);
 
         Optional<List<String>> envCfgOpt = cfg.getMapKeys("kumuluzee.env");
@@ -381,6 +393,7 @@ public class EeConfigFactory {
                 eeConfig.getServer().getForceHttps() == null ||
                 eeConfig.getServer().getMinThreads() == null ||
                 eeConfig.getServer().getMaxThreads() == null ||
+                eeConfig.getServer().getThreadMode() == null ||
                 eeConfig.getServer().getShowServerInfo() == null ||
                 eeConfig.getServer().getForwardStartupException() == null ||
                 eeConfig.getServer().getHttp() == null ||
@@ -395,6 +408,11 @@ public class EeConfigFactory {
                                 eeConfig.getServer().getHttps().getRequestHeaderSize() == null ||
                                 eeConfig.getServer().getHttps().getResponseHeaderSize() == null ||
                                 eeConfig.getServer().getHttps().getIdleTimeout() == null)) ||
+                (eeConfig.getServer().getAdmission() != null &&
+                        (eeConfig.getServer().getAdmission().getEnabled() == null ||
+                                eeConfig.getServer().getAdmission().getMaxQueueSize() == null ||
+                                eeConfig.getServer().getAdmission().getQueueTimeout() == null ||
+                                eeConfig.getServer().getAdmission().getRetryAfter() == null)) ||
                 eeConfig.getDatasources().stream().anyMatch(ds ->
                         (ds == null || ds.getPool() == null ||
                                 ds.getPool().getAutoCommit() == null ||
@@ -420,12 +438,20 @@ public class EeConfigFactory {
 
             Optional<Integer> port = cfg.getInteger(prefix + ".port");
             Optional<String> address = cfg.get(prefix + ".address");
+            Optional<String> path = cfg.get(prefix + ".path");
             Optional<Boolean> enabled = cfg.getBoolean(prefix + ".enabled");
             Optional<Boolean> http2 = cfg.getBoolean(prefix + ".http2");
             Optional<Boolean> proxyForwarding = cfg.getBoolean(prefix + ".proxy-forwarding");
             Optional<Integer> requestHeaderSize = cfg.getInteger(prefix + ".request-header-size");
             Optional<Integer> responseHeaderSize = cfg.getInteger(prefix + ".response-header-size");
             Optional<Integer> idleTimeout = cfg.getInteger(prefix + ".idle-timeout");
+            Optional<Integer> acceptors = cfg.getInteger(prefix + ".acceptors");
+            Optional<Integer> selectors = cfg.getInteger(prefix + ".selectors");
+            Optional<Integer> acceptQueueSize = cfg.getInteger(prefix + ".accept-queue-size");
+            Optional<Boolean> reusePort = cfg.getBoolean(prefix + ".reuse-port");
+            Optional<Boolean> tcpNoDelay = cfg.getBoolean(prefix + ".tcp-no-delay");
+            Optional<Integer> soLingerTime = cfg.getInteger(prefix + ".so-linger-time");
+            Optional<Integer> connectors = cfg.getInteger(prefix + ".connectors");
 
             Optional<String> keystorePath = cfg.get(prefix + ".keystore-path");
             Optional<String> keystorePassword = cfg.get(prefix + ".keystore-password");
@@ -436,12 +462,20 @@ public class EeConfigFactory {
 
             port.ifPresent(serverConnectorBuilder::port);
             address.ifPresent(serverConnectorBuilder::address);
+            path.ifPresent(serverConnectorBuilder::path);
             enabled.ifPresent(serverConnectorBuilder::enabled);
             http2.ifPresent(serverConnectorBuilder::http2);
             proxyForwarding.ifPresent(serverConnectorBuilder::proxyForwarding);
             requestHeaderSize.ifPresent(serverConnectorBuilder::requestHeaderSize);
             responseHeaderSize.ifPresent(serverConnectorBuilder::responseHeaderSize);
             idleTimeout.ifPresent(serverConnectorBuilder::idleTimeout);
+            acceptors.ifPresent(serverConnectorBuilder::acceptors);
+            selectors.ifPresent(serverConnectorBuilder::selectors);
+            acceptQueueSize.ifPresent(serverConnectorBuilder::acceptQueueSize);
+            reusePort.ifPresent(serverConnectorBuilder::reusePort);
+            tcpNoDelay.ifPresent(serverConnectorBuilder::tcpNoDelay);
+            soLingerTime.ifPresent(serverConnectorBuilder::soLingerTime);
+            connectors.ifPresent(serverConnectorBuilder::connectors);
 
             keystorePath.ifPresent(serverConnectorBuilder::keystorePath);
             keystorePassword.ifPresent(serverConnectorBuilder::keystorePassword);
@@ -510,6 +544,40 @@ public class EeConfigFactory {
         return gzipBuilder;
     }
 
+    private static AdmissionConfig.Builder createAdmissionConfigBuilder(String prefix) {
+
+        ConfigurationUtil cfg = ConfigurationUtil.getInstance();
+
+        AdmissionConfig.Builder admissionBuilder = new AdmissionConfig.Builder();
+
+        Optional<Boolean> enabled = cfg.getBoolean(prefix + ".enabled");
+        Optional<Integer> maxConcurrentRequests = cfg.getInteger(prefix + ".max-concurrent-requests");
+        Optional<Integer> maxQueueSize = cfg.getInteger(prefix + ".max-queue-size");
+        Optional<Long> queueTimeout = cfg.getLong(prefix + ".queue-timeout");
+        Optional<Integer> retryAfter = cfg.getInteger(prefix + ".retry-after");
+        Optional<String> priorityHeader = cfg.get(prefix + ".priority-header");
+        Optional<List<String>> priorityHeaderTrustedProxies =
+                getConfigList(prefix + ".priority-header-trusted-proxies");
+        Optional<List<String>> highPriorityPaths = getConfigList(prefix + ".high-priority-paths");
+        Optional<List<String>> lowPriorityPaths = getConfigList(prefix + ".low-priority-paths");
+        Optional<List<String>> highPriorityMethods = getConfigList(prefix + ".high-priority-methods");
+        Optional<List<String>> lowPriorityMethods = getConfigList(prefix + ".low-priority-methods");
+
+        enabled.ifPresent(admissionBuilder::enabled);
+        maxConcurrentRequests.ifPresent(admissionBuilder::maxConcurrentRequests);
+        maxQueueSize.ifPresent(admissionBuilder::maxQueueSize);
+        queueTimeout.ifPresent(admissionBuilder::queueTimeout);
+        retryAfter.ifPresent(admissionBuilder::retryAfter);
+        priorityHeader.ifPresent(admissionBuilder::priorityHeader);
+        priorityHeaderTrustedProxies.ifPresent(admissionBuilder::priorityHeaderTrustedProxies);
+        highPriorityPaths.ifPresent(admissionBuilder::highPriorityPaths);
+        lowPriorityPaths.ifPresent(admissionBuilder::lowPriorityPaths);
+        highPriorityMethods.ifPresent(admissionBuilder::highPriorityMethods);
+        lowPriorityMethods.ifPresent(admissionBuilder::lowPriorityMethods);
+
+        return admissionBuilder;
+    }
+
     private static Optional<List<String>> getConfigList(String key) {
         ConfigurationUtil cfg = ConfigurationUtil.getInstance();
 
@@ -25,6 +25,7 @@ import com.kumuluz.ee.common.ServletServer;
 import com.kumuluz.ee.common.config.EeConfig;
 import com.kumuluz.ee.common.dependencies.EeComponentDef;
 import com.kumuluz.ee.common.exceptions.KumuluzServerException;
+import com.kumuluz.ee.common.index.EeIndex;
 import com.kumuluz.ee.common.wrapper.ComponentWrapper;
 import com.kumuluz.ee.common.wrapper.KumuluzServerWrapper;
 
@@ -32,6 +33,7 @@ import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
@@ -77,6 +79,12 @@ public class ComponentLoader {
 
     private static List<Component> scanForAvailableComponents() {
 
+        Optional<List<Component>> indexedComponents = EeIndex.loadServices(EeIndex.Kind.COMPONENT, Component.class);
+
+        if (indexedComponents.isPresent()) {
+            return indexedComponents.get();
+        }
+
         log.finest("Scanning for available components in the runtime");
 
         List<Component> components = new ArrayList<>();
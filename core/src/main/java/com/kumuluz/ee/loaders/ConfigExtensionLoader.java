@@ -24,9 +24,11 @@ import com.kumuluz.ee.common.ConfigExtension;
 import com.kumuluz.ee.common.dependencies.EeExtensionDef;
 import com.kumuluz.ee.common.dependencies.EeExtensionGroup;
 import com.kumuluz.ee.common.exceptions.KumuluzServerException;
+import com.kumuluz.ee.common.index.EeIndex;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.logging.Logger;
 
@@ -78,6 +80,12 @@ public class ConfigExtensionLoader {
 
     private static List<ConfigExtension> scanForAvailableExtensions() {
 
+        Optional<List<ConfigExtension>> indexedExtensions = EeIndex.loadServices(EeIndex.Kind.CONFIG_EXTENSION, ConfigExtension.class);
+
+        if (indexedExtensions.isPresent()) {
+            return indexedExtensions.get();
+        }
+
         List<ConfigExtension> extensions = new ArrayList<>();
 
         ServiceLoader.load(ConfigExtension.class).forEach(extensions::add);
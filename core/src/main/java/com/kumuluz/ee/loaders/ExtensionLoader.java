@@ -24,9 +24,11 @@ import com.kumuluz.ee.common.Extension;
 import com.kumuluz.ee.common.dependencies.EeExtensionDef;
 import com.kumuluz.ee.common.dependencies.EeExtensionGroup;
 import com.kumuluz.ee.common.exceptions.KumuluzServerException;
+import com.kumuluz.ee.common.index.EeIndex;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.logging.Logger;
 
@@ -87,6 +89,12 @@ public class ExtensionLoader {
 
     private static List<Extension> scanForAvailableExtensions() {
 
+        Optional<List<Extension>> indexedExtensions = EeIndex.loadServices(EeIndex.Kind.EXTENSION, Extension.class);
+
+        if (indexedExtensions.isPresent()) {
+            return indexedExtensions.get();
+        }
+
         List<Extension> extensions = new ArrayList<>();
 
         ServiceLoader.load(Extension.class).forEach(extensions::add);
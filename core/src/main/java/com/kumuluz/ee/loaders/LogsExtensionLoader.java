@@ -24,6 +24,7 @@ import com.kumuluz.ee.common.LogsExtension;
 import com.kumuluz.ee.common.dependencies.EeExtensionDef;
 import com.kumuluz.ee.common.dependencies.EeExtensionGroup;
 import com.kumuluz.ee.common.exceptions.KumuluzServerException;
+import com.kumuluz.ee.common.index.EeIndex;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -98,6 +99,12 @@ public class LogsExtensionLoader {
 
     private static List<LogsExtension> scanForAvailableExtensions() {
 
+        Optional<List<LogsExtension>> indexedExtensions = EeIndex.loadServices(EeIndex.Kind.LOGS_EXTENSION, LogsExtension.class);
+
+        if (indexedExtensions.isPresent()) {
+            return indexedExtensions.get();
+        }
+
         List<LogsExtension> extensions = new ArrayList<>();
 
         ServiceLoader.load(LogsExtension.class).forEach(extensions::add);
@@ -23,11 +23,13 @@ package com.kumuluz.ee.loaders;
 import com.kumuluz.ee.common.KumuluzServer;
 import com.kumuluz.ee.common.dependencies.ServerDef;
 import com.kumuluz.ee.common.exceptions.KumuluzServerException;
+import com.kumuluz.ee.common.index.EeIndex;
 import com.kumuluz.ee.common.wrapper.KumuluzServerWrapper;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.logging.Logger;
 
@@ -89,6 +91,14 @@ public class ServerLoader {
 
     private static List<KumuluzServer> scanForAvailableServers() {
 
+        // a server is required, so an index without one is not trusted
+        Optional<List<KumuluzServer>> indexedServers = EeIndex.loadServices(EeIndex.Kind.SERVER, KumuluzServer.class)
+                .filter(servers -> !servers.isEmpty());
+
+        if (indexedServers.isPresent()) {
+            return indexedServers.get();
+        }
+
         log.finest("Scanning for available supported KumuluzEE servers");
 
         List<KumuluzServer> servers = new ArrayList<>();
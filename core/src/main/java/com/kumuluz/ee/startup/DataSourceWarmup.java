@@ -0,0 +1,219 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.startup;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Eagerly opens and validates connections of the data source pools, so the first requests after the server start do
+ * not pay for establishing them. The opened connections are held until the warm-up completes and are then returned
+ * to their pools, which forces the pools to open distinct connections instead of reusing a single one.
+ * <p>
+ * Warm-up is enabled with the system property <tt>com.kumuluz.ee.datasource.warmup</tt>. The property
+ * <tt>com.kumuluz.ee.datasource.warmup.level</tt> sets the fraction of connections (0.0 - 1.0, default 1.0) which have
+ * to be opened before the server is started and <tt>com.kumuluz.ee.datasource.warmup.timeout</tt> the maximum time
+ * to wait for them in milliseconds (default 30000).
+ *
+ * @since 3.10.0
+ */
+public class DataSourceWarmup {
+
+    private static final Logger log = Logger.getLogger(DataSourceWarmup.class.getSimpleName());
+
+    private final ExecutorService executor;
+    private final double level;
+    private final long timeoutMillis;
+
+    private final List<Connection> heldConnections = new ArrayList<>();
+
+    private int requested;
+    private int opened;
+    private int failed;
+    private boolean released;
+
+    public DataSourceWarmup(ExecutorService executor) {
+        this(executor, getLevel(), Long.getLong("com.kumuluz.ee.datasource.warmup.timeout", 30000L));
+    }
+
+    public DataSourceWarmup(ExecutorService executor, double level, long timeoutMillis) {
+        this.executor = executor;
+        this.level = Math.min(1.0, Math.max(0.0, level));
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("com.kumuluz.ee.datasource.warmup");
+    }
+
+    /**
+     * Starts opening connections of the data source in the background.
+     *
+     * @param name                     name of the data source, used in log messages
+     * @param dataSource               data source to warm up
+     * @param connections              number of connections to open
+     * @param validationTimeoutSeconds timeout of the connection validation
+     */
+    public void warmUp(String name, DataSource dataSource, int connections, int validationTimeoutSeconds) {
+
+        if (connections <= 0) {
+            return;
+        }
+
+        synchronized (this) {
+            requested += connections;
+        }
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        for (int i = 0; i < connections; i++) {
+            executor.execute(() -> {
+
+                Thread thread = Thread.currentThread();
+                ClassLoader previousClassLoader = thread.getContextClassLoader();
+
+                thread.setContextClassLoader(contextClassLoader);
+
+                try {
+                    openConnection(name, dataSource, validationTimeoutSeconds);
+                } finally {
+                    thread.setContextClassLoader(previousClassLoader);
+                }
+            });
+        }
+    }
+
+    /**
+     * Waits until the configured fraction of connections is opened, all connections were attempted or the timeout
+     * expires, and returns the held connections to their pools.
+     *
+     * @return true, if the configured fraction of connections was opened
+     */
+    public boolean await() {
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        List<Connection> connections;
+        boolean warm;
+
+        synchronized (this) {
+
+            int required = (int) Math.ceil(requested * level);
+
+            try {
+                while (opened < required && opened + failed < requested) {
+
+                    long remaining = deadline - System.nanoTime();
+
+                    if (remaining <= 0) {
+                        break;
+                    }
+
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            warm = opened >= required;
+
+            if (warm) {
+                log.info("Data source pools warmed up, " + opened + " of " + requested + " connections opened");
+            } else {
+                log.warning("Data source pools did not warm up in " + timeoutMillis + " ms, " + opened + " of " +
+                        requested + " connections opened");
+            }
+
+            released = true;
+            connections = new ArrayList<>(heldConnections);
+            heldConnections.clear();
+        }
+
+        connections.forEach(this::closeConnection);
+
+        return warm;
+    }
+
+    private void openConnection(String name, DataSource dataSource, int validationTimeoutSeconds) {
+
+        Connection connection = null;
+
+        try {
+            connection = dataSource.getConnection();
+
+            if (!connection.isValid(validationTimeoutSeconds)) {
+                throw new SQLException("Connection validation failed");
+            }
+        } catch (SQLException | RuntimeException e) {
+
+            log.log(Level.WARNING, "Unable to open a connection of the data source " + name + " during warm-up", e);
+
+            if (connection != null) {
+                closeConnection(connection);
+            }
+
+            synchronized (this) {
+                failed++;
+                notifyAll();
+            }
+
+            return;
+        }
+
+        synchronized (this) {
+
+            opened++;
+            notifyAll();
+
+            if (!released) {
+                heldConnections.add(connection);
+                return;
+            }
+        }
+
+        closeConnection(connection);
+    }
+
+    private void closeConnection(Connection connection) {
+
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.log(Level.FINE, "Unable to return a warm-up connection to its pool", e);
+        }
+    }
+
+    private static double getLevel() {
+
+        try {
+            return Double.parseDouble(System.getProperty("com.kumuluz.ee.datasource.warmup.level", "1.0"));
+        } catch (NumberFormatException e) {
+            return 1.0;
+        }
+    }
+}
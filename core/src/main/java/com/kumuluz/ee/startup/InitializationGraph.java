@@ -0,0 +1,260 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.startup;
+
+import com.kumuluz.ee.common.exceptions.KumuluzServerException;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Directed acyclic graph of initialization tasks. Each task is started as soon as all of its dependencies have
+ * finished, so independent tasks run concurrently on the given executor.
+ *
+ * @since 3.10.0
+ */
+public class InitializationGraph {
+
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+    /**
+     * Adds a task to the graph.
+     *
+     * @param name unique name of the task
+     * @param task initialization task
+     */
+    public void addTask(String name, Runnable task) {
+
+        if (nodes.containsKey(name)) {
+            throw new IllegalArgumentException("Initialization task " + name + " is already defined.");
+        }
+
+        nodes.put(name, new Node(name, task));
+    }
+
+    /**
+     * Declares that the task has to finish before the dependent task is started. Dependencies on tasks which are not
+     * part of the graph are ignored.
+     *
+     * @param dependent  name of the dependent task
+     * @param dependency name of the task the dependent task depends on
+     */
+    public void addDependency(String dependent, String dependency) {
+
+        Node dependentNode = nodes.get(dependent);
+        Node dependencyNode = nodes.get(dependency);
+
+        if (dependentNode != null && dependencyNode != null && dependentNode != dependencyNode) {
+            dependentNode.dependencies.add(dependencyNode);
+        }
+    }
+
+    /**
+     * Runs all tasks and waits for them to finish. If a task fails, its dependents are not started and the failure is
+     * rethrown once the already started tasks have finished.
+     *
+     * @param executor executor the tasks are run on
+     * @return timings of the executed tasks
+     */
+    public Result execute(ExecutorService executor) {
+
+        List<Node> order = topologicalOrder();
+        Map<Node, CompletableFuture<Void>> futures = new HashMap<>();
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        long start = System.nanoTime();
+
+        for (Node node : order) {
+
+            CompletableFuture<?>[] dependencies = node.dependencies.stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture[]::new);
+
+            futures.put(node, CompletableFuture.allOf(dependencies).thenRunAsync(() -> {
+
+                Thread thread = Thread.currentThread();
+                ClassLoader previousClassLoader = thread.getContextClassLoader();
+
+                thread.setContextClassLoader(contextClassLoader);
+                node.start = System.nanoTime();
+
+                try {
+                    node.task.run();
+                } finally {
+                    node.end = System.nanoTime();
+                    thread.setContextClassLoader(previousClassLoader);
+                }
+            }, executor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+
+            Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new KumuluzServerException(cause.getMessage(), cause);
+        }
+
+        return new Result(order, System.nanoTime() - start);
+    }
+
+    private List<Node> topologicalOrder() {
+
+        List<Node> order = new ArrayList<>(nodes.size());
+        Set<Node> visited = new HashSet<>();
+        Set<Node> inProgress = new LinkedHashSet<>();
+
+        for (Node node : nodes.values()) {
+            visit(node, visited, inProgress, order);
+        }
+
+        return order;
+    }
+
+    private void visit(Node node, Set<Node> visited, Set<Node> inProgress, List<Node> order) {
+
+        if (visited.contains(node)) {
+            return;
+        }
+
+        if (!inProgress.add(node)) {
+            throw new KumuluzServerException("Found a dependency cycle between the initialization tasks " +
+                    inProgress.stream().map(n -> n.name).collect(Collectors.joining(", ")) + ".");
+        }
+
+        for (Node dependency : node.dependencies) {
+            visit(dependency, visited, inProgress, order);
+        }
+
+        inProgress.remove(node);
+        visited.add(node);
+        order.add(node);
+    }
+
+    /**
+     * Timings of an executed initialization graph.
+     */
+    public static class Result {
+
+        private final long wallTimeNanos;
+        private final List<String> criticalPath;
+        private final long criticalPathNanos;
+        private final Map<String, Long> durations = new LinkedHashMap<>();
+
+        private Result(List<Node> order, long wallTimeNanos) {
+
+            this.wallTimeNanos = wallTimeNanos;
+
+            // longest chain of dependent tasks by duration, order lists dependencies before dependents
+            Map<Node, Long> finish = new HashMap<>();
+            Map<Node, Node> predecessor = new HashMap<>();
+            Node last = null;
+
+            for (Node node : order) {
+
+                long duration = node.end - node.start;
+                long dependenciesFinish = 0;
+
+                durations.put(node.name, duration);
+
+                for (Node dependency : node.dependencies) {
+
+                    if (finish.get(dependency) > dependenciesFinish) {
+                        dependenciesFinish = finish.get(dependency);
+                        predecessor.put(node, dependency);
+                    }
+                }
+
+                finish.put(node, dependenciesFinish + duration);
+
+                if (last == null || finish.get(node) > finish.get(last)) {
+                    last = node;
+                }
+            }
+
+            LinkedList<String> path = new LinkedList<>();
+
+            for (Node node = last; node != null; node = predecessor.get(node)) {
+                path.addFirst(node.name);
+            }
+
+            this.criticalPath = Collections.unmodifiableList(path);
+            this.criticalPathNanos = (last == null) ? 0 : finish.get(last);
+        }
+
+        public long getWallTimeMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(wallTimeNanos);
+        }
+
+        /**
+         * @return names of the tasks on the longest chain of dependent tasks
+         */
+        public List<String> getCriticalPath() {
+            return criticalPath;
+        }
+
+        public long getCriticalPathMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(criticalPathNanos);
+        }
+
+        /**
+         * @param name name of the task
+         * @return duration of the task in milliseconds
+         */
+        public long getDurationMillis(String name) {
+            return TimeUnit.NANOSECONDS.toMillis(durations.getOrDefault(name, 0L));
+        }
+
+        @Override
+        public String toString() {
+            return criticalPath.stream()
+                    .map(name -> name + " (" + getDurationMillis(name) + " ms)")
+                    .collect(Collectors.joining(" -> ")) +
+                    ", " + getCriticalPathMillis() + " ms of " + getWallTimeMillis() + " ms";
+        }
+    }
+
+    private static final class Node {
+
+        private final String name;
+        private final Runnable task;
+        private final Set<Node> dependencies = new LinkedHashSet<>();
+
+        private volatile long start;
+        private volatile long end;
+
+        private Node(String name, Runnable task) {
+            this.name = name;
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.test;
+
+import com.kumuluz.ee.common.config.EeConfig;
+import com.kumuluz.ee.common.config.ServerConnectorConfig;
+import com.kumuluz.ee.configuration.ConfigurationSource;
+import com.kumuluz.ee.configuration.sources.EnvironmentConfigurationSource;
+import com.kumuluz.ee.configuration.utils.ConfigurationImpl;
+import com.kumuluz.ee.configuration.utils.ConfigurationUtil;
+import com.kumuluz.ee.factories.EeConfigFactory;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @since 3.10.0
+ */
+public class EeConfigFactoryTest {
+
+    private static ConfigurationImpl configurationImpl;
+    private static ConfigurationSource environmentSource;
+
+    @BeforeClass
+    public static void initializeConfiguration() {
+
+        configurationImpl = new ConfigurationImpl();
+
+        new ArrayList<>(configurationImpl.getConfigurationSources())
+                .forEach(configurationImpl::removeConfigurationSource);
+
+        ConfigurationUtil.initialize(configurationImpl);
+    }
+
+    @Test
+    public void testUnixSocketEnabledFromEnvironment() {
+
+        Map<String, String> env = new HashMap<>();
+        env.put("KUMULUZEE_SERVER_UNIX_SOCKET_ENABLED", "true");
+        env.put("KUMULUZEE_SERVER_UNIX_SOCKET_PATH", "/tmp/kumuluzee.sock");
+        env.put("KUMULUZEE_SERVER_UNIX_SOCKET_HTTP2", "true");
+
+        ServerConnectorConfig unixSocket = buildEeConfig(env).getServer().getUnixSocket();
+
+        Assert.assertEquals(Boolean.TRUE, unixSocket.getEnabled());
+        Assert.assertEquals("/tmp/kumuluzee.sock", unixSocket.getPath());
+        Assert.assertEquals(Boolean.TRUE, unixSocket.getHttp2());
+    }
+
+    @Test
+    public void testUnixSocketEnabledFromLegacyEnvironment() {
+
+        Map<String, String> env = new HashMap<>();
+        env.put("KUMULUZEE_SERVER_UNIXSOCKET_ENABLED", "true");
+        env.put("KUMULUZEE_SERVER_UNIXSOCKET_PATH", "/tmp/kumuluzee.sock");
+
+        ServerConnectorConfig unixSocket = buildEeConfig(env).getServer().getUnixSocket();
+
+        Assert.assertEquals(Boolean.TRUE, unixSocket.getEnabled());
+        Assert.assertEquals("/tmp/kumuluzee.sock", unixSocket.getPath());
+    }
+
+    @Test
+    public void testUnixSocketDisabledByDefault() {
+
+        ServerConnectorConfig unixSocket = buildEeConfig(new HashMap<>()).getServer().getUnixSocket();
+
+        Assert.assertFalse(Boolean.TRUE.equals(unixSocket.getEnabled()));
+    }
+
+    @Test
+    public void testServerSettingsFromEnvironment() {
+
+        Map<String, String> env = new HashMap<>();
+        env.put("KUMULUZEE_SERVER_HTTP_PORT", "8081");
+        env.put("KUMULUZEE_SERVER_BASEURL", "http://localhost:8081");
+        env.put("KUMULUZEE_SERVER_MINTHREADS", "7");
+        env.put("KUMULUZEE_SERVER_MAX_THREADS", "70");
+
+        EeConfig eeConfig = buildEeConfig(env);
+
+        Assert.assertEquals(Integer.valueOf(8081), eeConfig.getServer().getHttp().getPort());
+        Assert.assertEquals("http://localhost:8081", eeConfig.getServer().getBaseUrl());
+        Assert.assertEquals(Integer.valueOf(7), eeConfig.getServer().getMinThreads());
+        Assert.assertEquals(Integer.valueOf(70), eeConfig.getServer().getMaxThreads());
+    }
+
+    @Test
+    public void testDataSourcesFromLegacyEnvironment() {
+
+        Map<String, String> env = new HashMap<>();
+        env.put("KUMULUZEE_DATASOURCES0_JNDINAME", "jdbc/first");
+        env.put("KUMULUZEE_DATASOURCES0_CONNECTIONURL", "jdbc:h2:mem:first");
+        env.put("KUMULUZEE_DATASOURCES1_JNDINAME", "jdbc/second");
+
+        EeConfig eeConfig = buildEeConfig(env);
+
+        Assert.assertEquals(2, eeConfig.getDatasources().size());
+        Assert.assertEquals("jdbc/first", eeConfig.getDatasources().get(0).getJndiName());
+        Assert.assertEquals("jdbc:h2:mem:first", eeConfig.getDatasources().get(0).getConnectionUrl());
+        Assert.assertEquals("jdbc/second", eeConfig.getDatasources().get(1).getJndiName());
+    }
+
+    @Test
+    public void testDataSourcesFromEnvironment() {
+
+        Map<String, String> env = new HashMap<>();
+        env.put("KUMULUZEE_DATASOURCES_0__JNDI_NAME", "jdbc/first");
+        env.put("KUMULUZEE_DATASOURCES_0__CONNECTION_URL", "jdbc:h2:mem:first");
+        env.put("KUMULUZEE_DATASOURCES_0__POOL_MAX_SIZE", "5");
+
+        EeConfig eeConfig = buildEeConfig(env);
+
+        Assert.assertEquals(1, eeConfig.getDatasources().size());
+        Assert.assertEquals("jdbc/first", eeConfig.getDatasources().get(0).getJndiName());
+        Assert.assertEquals("jdbc:h2:mem:first", eeConfig.getDatasources().get(0).getConnectionUrl());
+        Assert.assertEquals(Integer.valueOf(5), eeConfig.getDatasources().get(0).getPool().getMaxSize());
+    }
+
+    @Test
+    public void testXaDataSourcesAndMailSessionsFromEnvironment() {
+
+        Map<String, String> env = new HashMap<>();
+        env.put("KUMULUZEE_XA_DATASOURCES_0__JNDI_NAME", "jdbc/xa");
+        env.put("KUMULUZEE_XA_DATASOURCES_0__XA_DATASOURCE_CLASS", "org.h2.jdbcx.JdbcDataSource");
+        env.put("KUMULUZEE_MAIL_SESSIONS_0__JNDI_NAME", "mail/default");
+
+        EeConfig eeConfig = buildEeConfig(env);
+
+        Assert.assertEquals(1, eeConfig.getXaDatasources().size());
+        Assert.assertEquals("jdbc/xa", eeConfig.getXaDatasources().get(0).getJndiName());
+        Assert.assertEquals("org.h2.jdbcx.JdbcDataSource",
+                eeConfig.getXaDatasources().get(0).getXaDatasourceClass());
+
+        Assert.assertEquals(1, eeConfig.getMailSessions().size());
+        Assert.assertEquals("mail/default", eeConfig.getMailSessions().get(0).getJndiName());
+    }
+
+    @Test
+    public void testDefaultsWithoutEnvironment() {
+
+        EeConfig eeConfig = buildEeConfig(new HashMap<>());
+
+        Assert.assertTrue(eeConfig.getDatasources().isEmpty());
+        Assert.assertTrue(eeConfig.getXaDatasources().isEmpty());
+        Assert.assertTrue(eeConfig.getMailSessions().isEmpty());
+    }
+
+    private static EeConfig buildEeConfig(Map<String, String> env) {
+
+        if (environmentSource != null) {
+            configurationImpl.removeConfigurationSource(environmentSource);
+        }
+
+        environmentSource = new EnvironmentConfigurationSource(env);
+        configurationImpl.addConfigurationSource(environmentSource);
+
+        return EeConfigFactory.buildEeConfig();
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.test;
+
+import com.kumuluz.ee.common.exceptions.KumuluzServerException;
+import com.kumuluz.ee.startup.InitializationGraph;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @since 3.10.0
+ */
+public class InitializationGraphTest {
+
+    private ExecutorService executor;
+    private List<String> executed;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        executed = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testDependenciesFinishBeforeDependents() {
+
+        InitializationGraph graph = new InitializationGraph();
+
+        // added before their dependencies, so the order is not the insertion order
+        graph.addTask("d", record("d"));
+        graph.addTask("c", record("c"));
+        graph.addTask("a", record("a"));
+        graph.addTask("b", record("b"));
+
+        graph.addDependency("d", "c");
+        graph.addDependency("c", "a");
+        graph.addDependency("c", "b");
+
+        graph.execute(executor);
+
+        Assert.assertEquals(4, executed.size());
+        Assert.assertTrue(executed.indexOf("a") < executed.indexOf("c"));
+        Assert.assertTrue(executed.indexOf("b") < executed.indexOf("c"));
+        Assert.assertTrue(executed.indexOf("c") < executed.indexOf("d"));
+    }
+
+    @Test
+    public void testIndependentTasksRunConcurrently() {
+
+        CountDownLatch started = new CountDownLatch(2);
+
+        Runnable awaitOther = () -> {
+            started.countDown();
+
+            try {
+                if (!started.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Tasks were not run concurrently.");
+                }
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+
+        InitializationGraph graph = new InitializationGraph();
+        graph.addTask("a", awaitOther);
+        graph.addTask("b", awaitOther);
+
+        graph.execute(executor);
+
+        Assert.assertEquals(0, started.getCount());
+    }
+
+    @Test
+    public void testIgnoresDependenciesOnUnknownTasks() {
+
+        InitializationGraph graph = new InitializationGraph();
+        graph.addTask("a", record("a"));
+        graph.addDependency("a", "missing");
+        graph.addDependency("a", "a");
+
+        graph.execute(executor);
+
+        Assert.assertEquals(Collections.singletonList("a"), executed);
+    }
+
+    @Test
+    public void testFailureSkipsDependents() {
+
+        IllegalStateException failure = new IllegalStateException("failed");
+
+        InitializationGraph graph = new InitializationGraph();
+        graph.addTask("a", () -> {
+            throw failure;
+        });
+        graph.addTask("b", record("b"));
+        graph.addTask("c", record("c"));
+        graph.addDependency("b", "a");
+
+        try {
+            graph.execute(executor);
+            Assert.fail("The failure of the task was not rethrown.");
+        } catch (IllegalStateException e) {
+            Assert.assertSame(failure, e);
+        }
+
+        Assert.assertFalse(executed.contains("b"));
+        Assert.assertTrue(executed.contains("c"));
+    }
+
+    @Test
+    public void testDetectsCycles() {
+
+        InitializationGraph graph = new InitializationGraph();
+        graph.addTask("a", record("a"));
+        graph.addTask("b", record("b"));
+        graph.addTask("c", record("c"));
+        graph.addDependency("a", "b");
+        graph.addDependency("b", "c");
+        graph.addDependency("c", "a");
+
+        try {
+            graph.execute(executor);
+            Assert.fail("The dependency cycle was not detected.");
+        } catch (KumuluzServerException e) {
+            Assert.assertTrue(e.getMessage().contains("cycle"));
+        }
+
+        Assert.assertTrue(executed.isEmpty());
+    }
+
+    @Test
+    public void testRejectsDuplicateTasks() {
+
+        InitializationGraph graph = new InitializationGraph();
+        graph.addTask("a", record("a"));
+
+        try {
+            graph.addTask("a", record("a"));
+            Assert.fail("The duplicate task was accepted.");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("a"));
+        }
+    }
+
+    @Test
+    public void testCriticalPathFollowsLongestChain() {
+
+        InitializationGraph graph = new InitializationGraph();
+        graph.addTask("slow", sleep(100));
+        graph.addTask("after-slow", sleep(50));
+        graph.addTask("fast", sleep(0));
+        graph.addTask("after-fast", sleep(0));
+        graph.addDependency("after-slow", "slow");
+        graph.addDependency("after-fast", "fast");
+
+        InitializationGraph.Result result = graph.execute(executor);
+
+        Assert.assertEquals(Arrays.asList("slow", "after-slow"), result.getCriticalPath());
+        Assert.assertTrue(result.getCriticalPathMillis() >= 150);
+        Assert.assertTrue(result.getDurationMillis("slow") >= 100);
+    }
+
+    private Runnable record(String name) {
+        return () -> executed.add(name);
+    }
+
+    private static Runnable sleep(long millis) {
+        return () -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+}
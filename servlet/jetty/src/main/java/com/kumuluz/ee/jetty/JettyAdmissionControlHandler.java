@@ -0,0 +1,513 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+*/
+package com.kumuluz.ee.jetty;
+
+import com.kumuluz.ee.common.config.AdmissionConfig;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Handler which limits the number of requests handled concurrently. Requests above the limit are suspended, without
+ * holding a server thread, and admitted by their priority once a running request completes. Requests are rejected
+ * with <tt>503 Service Unavailable</tt> and a <tt>Retry-After</tt> header when the queue is full or when they are not
+ * admitted before the queue timeout expires. When the queue is full, a request of a higher priority takes the place
+ * of the most recently queued request of the lowest priority, which is rejected instead.
+ * <p>
+ * The priority of a request is taken from the priority header, if configured and present, then from the path and
+ * finally from the method of the request. Requests which match none of them have the normal priority. Since clients
+ * can set the priority header themselves, a client could claim the high priority and push the requests of others out
+ * of the queue. The header should only be configured when a trusted proxy in front of the server sets or strips it,
+ * and the addresses of such proxies should be configured, so that the header is ignored on requests from anywhere
+ * else.
+ * <p>
+ * A request counts against the limit while it is handled by a server thread. Asynchronous requests (asynchronous
+ * servlets, suspended JAX-RS responses) are not counted while they are suspended by the application, so work they do
+ * outside of the request thread is not limited.
+ *
+ * @since 3.10.0
+ */
+public class JettyAdmissionControlHandler extends HandlerWrapper {
+
+    public enum Priority {
+
+        HIGH, NORMAL, LOW;
+
+        /**
+         * @return priority with the given name or empty, if there is none
+         */
+        public static Optional<Priority> fromString(String value) {
+
+            if (value == null) {
+                return Optional.empty();
+            }
+
+            try {
+                return Optional.of(valueOf(value.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private static final String WAITER_ATTRIBUTE = JettyAdmissionControlHandler.class.getName() + ".waiter";
+
+    private static final int WAITING = 0;
+    private static final int ADMITTED = 1;
+    private static final int REJECTED = 2;
+
+    private final int maxConcurrentRequests;
+    private final int maxQueueSize;
+    private final long queueTimeoutMillis;
+    private final String retryAfter;
+
+    private final String priorityHeader;
+    private final Set<String> priorityHeaderTrustedProxies;
+    private final List<String> highPriorityPaths;
+    private final List<String> lowPriorityPaths;
+    private final Set<String> highPriorityMethods;
+    private final Set<String> lowPriorityMethods;
+
+    private final List<ArrayDeque<Waiter>> queues = new ArrayList<>();
+
+    // guarded by queues
+    private int inFlightRequests;
+    private int queuedRequests;
+
+    private final AtomicLong admittedCount = new AtomicLong();
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong timedOutCount = new AtomicLong();
+
+    /**
+     * @param admissionConfig              configuration of the admission control
+     * @param defaultMaxConcurrentRequests maximum number of concurrent requests, if it is not configured
+     */
+    public JettyAdmissionControlHandler(AdmissionConfig admissionConfig, int defaultMaxConcurrentRequests) {
+
+        this.maxConcurrentRequests = Math.max(1, (admissionConfig.getMaxConcurrentRequests() != null) ?
+                admissionConfig.getMaxConcurrentRequests() : defaultMaxConcurrentRequests);
+        this.maxQueueSize = Math.max(0, admissionConfig.getMaxQueueSize());
+        this.queueTimeoutMillis = Math.max(1, admissionConfig.getQueueTimeout());
+        this.retryAfter = String.valueOf(admissionConfig.getRetryAfter());
+
+        this.priorityHeader = admissionConfig.getPriorityHeader();
+        this.priorityHeaderTrustedProxies = (admissionConfig.getPriorityHeaderTrustedProxies() != null) ?
+                new HashSet<>(admissionConfig.getPriorityHeaderTrustedProxies()) : null;
+        this.highPriorityPaths = toList(admissionConfig.getHighPriorityPaths());
+        this.lowPriorityPaths = toList(admissionConfig.getLowPriorityPaths());
+        this.highPriorityMethods = toMethods(admissionConfig.getHighPriorityMethods());
+        this.lowPriorityMethods = toMethods(admissionConfig.getLowPriorityMethods());
+
+        for (int i = 0; i < Priority.values().length; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * @return number of requests currently being handled
+     */
+    public int getInFlightRequests() {
+        synchronized (queues) {
+            return inFlightRequests;
+        }
+    }
+
+    /**
+     * @return number of requests currently waiting for admission
+     */
+    public int getQueuedRequests() {
+        synchronized (queues) {
+            return queuedRequests;
+        }
+    }
+
+    /**
+     * @return number of requests of the given priority currently waiting for admission
+     */
+    public int getQueuedRequests(Priority priority) {
+        synchronized (queues) {
+            return queues.get(priority.ordinal()).size();
+        }
+    }
+
+    /**
+     * @return total number of admitted requests
+     */
+    public long getAdmittedCount() {
+        return admittedCount.get();
+    }
+
+    /**
+     * @return total number of requests which had to wait for admission
+     */
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    /**
+     * @return total number of rejected requests, including the timed out ones
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * @return total number of requests rejected because they were not admitted before the queue timeout expired
+     */
+    public long getTimedOutCount() {
+        return timedOutCount.get();
+    }
+
+    @Override
+    public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, ServletException {
+
+        Waiter resumed = (Waiter) request.getAttribute(WAITER_ATTRIBUTE);
+
+        if (resumed != null && request.getDispatcherType() == DispatcherType.ASYNC) {
+
+            request.removeAttribute(WAITER_ATTRIBUTE);
+
+            if (resumed.state.get() == ADMITTED) {
+
+                resumed.started = true;
+
+                // the request is handled as if it was never suspended, so the filters mapped to requests apply
+                baseRequest.setDispatcherType(DispatcherType.REQUEST);
+
+                handleAdmitted(target, baseRequest, request, response);
+            } else {
+                reject(baseRequest, response);
+            }
+
+            return;
+        }
+
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            // continuation of an admitted request
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+
+        Priority priority = getPriority(target, request);
+
+        boolean admitted = false;
+        boolean queued = false;
+        Waiter evicted = null;
+
+        synchronized (queues) {
+
+            if (inFlightRequests < maxConcurrentRequests) {
+
+                inFlightRequests++;
+                admitted = true;
+            } else if (queuedRequests < maxQueueSize || (evicted = evict(priority)) != null) {
+
+                AsyncContext asyncContext = baseRequest.startAsync();
+                asyncContext.setTimeout(queueTimeoutMillis);
+
+                Waiter waiter = new Waiter(asyncContext, priority);
+
+                asyncContext.addListener(waiter);
+                request.setAttribute(WAITER_ATTRIBUTE, waiter);
+
+                queues.get(priority.ordinal()).addLast(waiter);
+                queuedRequests++;
+                queued = true;
+            }
+        }
+
+        if (evicted != null) {
+            evicted.dispatch();
+        }
+
+        if (admitted) {
+            handleAdmitted(target, baseRequest, request, response);
+        } else if (queued) {
+            queuedCount.incrementAndGet();
+        } else {
+            reject(baseRequest, response);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+
+        List<Waiter> waiters = new ArrayList<>();
+
+        synchronized (queues) {
+
+            for (ArrayDeque<Waiter> queue : queues) {
+
+                for (Waiter waiter : queue) {
+                    if (waiter.state.compareAndSet(WAITING, REJECTED)) {
+                        waiters.add(waiter);
+                    }
+                }
+
+                queue.clear();
+            }
+
+            queuedRequests = 0;
+        }
+
+        waiters.forEach(Waiter::dispatch);
+
+        super.doStop();
+    }
+
+    private void handleAdmitted(String target, Request baseRequest, HttpServletRequest request,
+                                HttpServletResponse response) throws IOException, ServletException {
+
+        admittedCount.incrementAndGet();
+
+        try {
+            super.handle(target, baseRequest, request, response);
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Passes the permit of a completed request to the next queued request, or returns it if none is queued.
+     */
+    private void release() {
+
+        Waiter next;
+
+        synchronized (queues) {
+
+            while (true) {
+
+                next = null;
+
+                for (ArrayDeque<Waiter> queue : queues) {
+                    next = queue.pollFirst();
+
+                    if (next != null) {
+                        break;
+                    }
+                }
+
+                if (next == null) {
+                    inFlightRequests--;
+                    break;
+                }
+
+                queuedRequests--;
+
+                if (next.state.compareAndSet(WAITING, ADMITTED)) {
+                    break;
+                }
+            }
+        }
+
+        if (next != null) {
+            next.dispatch();
+        }
+    }
+
+    /**
+     * Removes the most recently queued request with a priority lower than the given one. Must be called while holding
+     * the lock of the queues.
+     *
+     * @return removed request or null, if there is none
+     */
+    private Waiter evict(Priority priority) {
+
+        for (int i = queues.size() - 1; i > priority.ordinal(); i--) {
+
+            Waiter waiter;
+
+            while ((waiter = queues.get(i).pollLast()) != null) {
+
+                queuedRequests--;
+
+                if (waiter.state.compareAndSet(WAITING, REJECTED)) {
+                    return waiter;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private void reject(Request baseRequest, HttpServletResponse response) {
+
+        rejectedCount.incrementAndGet();
+
+        baseRequest.setHandled(true);
+
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", retryAfter);
+        response.setContentLength(0);
+    }
+
+    private Priority getPriority(String target, HttpServletRequest request) {
+
+        if (priorityHeader != null && (priorityHeaderTrustedProxies == null ||
+                priorityHeaderTrustedProxies.contains(request.getRemoteAddr()))) {
+
+            Optional<Priority> priority = Priority.fromString(request.getHeader(priorityHeader));
+
+            if (priority.isPresent()) {
+                return priority.get();
+            }
+        }
+
+        if (target != null) {
+
+            if (highPriorityPaths.stream().anyMatch(target::startsWith)) {
+                return Priority.HIGH;
+            }
+
+            if (lowPriorityPaths.stream().anyMatch(target::startsWith)) {
+                return Priority.LOW;
+            }
+        }
+
+        String method = request.getMethod();
+
+        if (highPriorityMethods.contains(method)) {
+            return Priority.HIGH;
+        }
+
+        if (lowPriorityMethods.contains(method)) {
+            return Priority.LOW;
+        }
+
+        return Priority.NORMAL;
+    }
+
+    private static List<String> toList(List<String> values) {
+        return (values == null) ? Collections.emptyList() : values;
+    }
+
+    private static Set<String> toMethods(List<String> methods) {
+
+        Set<String> methodSet = new HashSet<>();
+
+        if (methods != null) {
+            methods.forEach(method -> methodSet.add(method.trim().toUpperCase(Locale.ROOT)));
+        }
+
+        return methodSet;
+    }
+
+    /**
+     * Suspended request waiting for admission. The state changes exactly once, from waiting to admitted or rejected,
+     * and the request is dispatched exactly once after that, either by the thread which changed the state or by the
+     * expiring async context.
+     */
+    private class Waiter implements AsyncListener {
+
+        private final AsyncContext asyncContext;
+        private final Priority priority;
+
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private final AtomicBoolean dispatched = new AtomicBoolean();
+
+        private volatile boolean started;
+
+        private Waiter(AsyncContext asyncContext, Priority priority) {
+            this.asyncContext = asyncContext;
+            this.priority = priority;
+        }
+
+        private void dispatch() {
+
+            if (dispatched.compareAndSet(false, true)) {
+                asyncContext.dispatch();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+
+            if (state.compareAndSet(WAITING, REJECTED)) {
+
+                synchronized (queues) {
+                    if (queues.get(priority.ordinal()).remove(this)) {
+                        queuedRequests--;
+                    }
+                }
+
+                timedOutCount.incrementAndGet();
+            }
+
+            // the async context has to be dispatched before the timeout handling returns
+            dispatch();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+
+            if (state.compareAndSet(WAITING, REJECTED)) {
+                synchronized (queues) {
+                    if (queues.get(priority.ordinal()).remove(this)) {
+                        queuedRequests--;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+
+            // the request was admitted, but never handled
+            if (state.get() == ADMITTED && !started) {
+                release();
+            }
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
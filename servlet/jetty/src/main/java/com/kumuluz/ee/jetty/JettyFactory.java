@@ -32,6 +32,8 @@ import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
 import org.eclipse.jetty.plus.webapp.EnvConfiguration;
 import org.eclipse.jetty.plus.webapp.PlusConfiguration;
 import org.eclipse.jetty.server.*;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.component.LifeCycle;
 import org.eclipse.jetty.util.log.JavaUtilLog;
 import org.eclipse.jetty.util.log.Log;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
@@ -50,6 +52,9 @@ import java.util.stream.Collectors;
  */
 public class JettyFactory {
 
+    static final String HTTP_CONNECTOR_NAME = "http";
+    static final String HTTPS_CONNECTOR_NAME = "https";
+
     private Logger log = Logger.getLogger(JettyFactory.class.getSimpleName());
 
     private ServerConfig serverConfig;
@@ -63,7 +68,19 @@ public class JettyFactory {
 
         Log.setLog(new JavaUtilLog());
 
-        Server server = new Server(createThreadPool());
+        ThreadPool threadPool = createThreadPool();
+
+        Server server = new Server(threadPool);
+
+        if (threadPool instanceof JettyVirtualThreadPool) {
+            server.addLifeCycleListener(new AbstractLifeCycle.AbstractLifeCycleListener() {
+
+                @Override
+                public void lifeCycleStarted(LifeCycle event) {
+                    ((JettyVirtualThreadPool) threadPool).serverStarted();
+                }
+            });
+        }
 
         server.addBean(createClassList());
         server.setStopAtShutdown(true);
@@ -79,6 +96,23 @@ public class JettyFactory {
         threadPool.setMinThreads(serverConfig.getMinThreads());
         threadPool.setMaxThreads(serverConfig.getMaxThreads());
 
+        if (ServerConfig.THREAD_MODE_VIRTUAL.equalsIgnoreCase(serverConfig.getThreadMode())) {
+
+            if (JettyVirtualThreadPool.isSupported()) {
+
+                log.info("Starting KumuluzEE on Jetty with virtual threads, acceptors and selectors use " +
+                        serverConfig.getMinThreads() + " minimum and " + serverConfig.getMaxThreads() +
+                        " maximum platform threads");
+
+                return new JettyVirtualThreadPool(threadPool, () -> JettyVirtualThreadPool.createVirtualThreadExecutor()
+                        .orElseThrow(() -> new IllegalStateException("Virtual threads are not supported by the JVM")));
+            }
+
+            log.warning("Virtual threads are not supported by the JVM, falling back to platform threads.");
+        } else if (!ServerConfig.THREAD_MODE_PLATFORM.equalsIgnoreCase(serverConfig.getThreadMode())) {
+            log.warning("Unknown thread mode " + serverConfig.getThreadMode() + ", using platform threads.");
+        }
+
         log.info("Starting KumuluzEE on Jetty with " + serverConfig.getMinThreads() + " minimum " +
                 "and " + serverConfig.getMaxThreads() + " maximum threads");
 
@@ -89,11 +123,15 @@ public class JettyFactory {
 
         ServerConnectorConfig httpConfig = serverConfig.getHttp();
         ServerConnectorConfig httpsConfig = serverConfig.getHttps();
+        ServerConnectorConfig unixSocketConfig = serverConfig.getUnixSocket();
+
+        boolean unixSocketEnabled = unixSocketConfig != null && Boolean.TRUE.equals(unixSocketConfig.getEnabled());
 
-        List<ServerConnector> connectors = new ArrayList<>();
+        List<Connector> connectors = new ArrayList<>();
 
-        if (Boolean.FALSE.equals(httpConfig.getEnabled()) && (httpsConfig == null || Boolean.FALSE.equals(httpsConfig.getEnabled()))) {
-            throw new IllegalStateException("Both the HTTP and HTTPS connectors can not be disabled. Please enable at least one.");
+        if (Boolean.FALSE.equals(httpConfig.getEnabled()) && (httpsConfig == null || Boolean.FALSE.equals(httpsConfig.getEnabled())) &&
+                !unixSocketEnabled) {
+            throw new IllegalStateException("The HTTP, HTTPS and unix socket connectors can not all be disabled. Please enable at least one.");
         }
 
         if (serverConfig.getForceHttps() && (httpsConfig == null || !Boolean.TRUE.equals(httpsConfig.getEnabled()))) {
@@ -117,26 +155,29 @@ public class JettyFactory {
                         httpsConfig.getPort() == null ? ServerConnectorConfig.DEFAULT_HTTPS_PORT : httpsConfig.getPort());
             }
 
-            ServerConnector httpConnector;
+            int connectorCount = getConnectorCount(httpConfig, HTTP_CONNECTOR_NAME);
 
-            HttpConnectionFactory http = new HttpConnectionFactory(httpConfiguration);
+            for (int i = 0; i < connectorCount; i++) {
 
-            if (httpConfig.getHttp2()) {
+                ServerConnector httpConnector;
 
-                HTTP2CServerConnectionFactory http2c = new HTTP2CServerConnectionFactory(httpConfiguration);
+                HttpConnectionFactory http = new HttpConnectionFactory(httpConfiguration);
 
-                httpConnector = new ServerConnector(server, http, http2c);
-            } else {
+                if (httpConfig.getHttp2()) {
 
-                httpConnector = new ServerConnector(server, http);
-            }
+                    HTTP2CServerConnectionFactory http2c = new HTTP2CServerConnectionFactory(httpConfiguration);
 
-            httpConnector.setPort(httpConfig.getPort() == null ? ServerConnectorConfig.DEFAULT_HTTP_PORT : httpConfig.getPort());
-            httpConnector.setHost(httpConfig.getAddress());
+                    httpConnector = createConnector(server, httpConfig, connectorCount, http, http2c);
+                } else {
 
-            httpConnector.setIdleTimeout(httpConfig.getIdleTimeout());
+                    httpConnector = createConnector(server, httpConfig, connectorCount, http);
+                }
 
-            connectors.add(httpConnector);
+                httpConnector.setName(HTTP_CONNECTOR_NAME);
+                httpConnector.setPort(httpConfig.getPort() == null ? ServerConnectorConfig.DEFAULT_HTTP_PORT : httpConfig.getPort());
+
+                connectors.add(httpConnector);
+            }
         }
 
         if (httpsConfig != null && httpsConfig.getEnabled() != null && httpsConfig.getEnabled()) {
@@ -153,8 +194,6 @@ public class JettyFactory {
                 throw new IllegalStateException("Cannot create SSL connector; key password not specified.");
             }
 
-            ServerConnector httpsConnector;
-
             HttpConfiguration httpsConfiguration = new HttpConfiguration();
             httpsConfiguration.setRequestHeaderSize(httpsConfig.getRequestHeaderSize());
             httpsConfiguration.setResponseHeaderSize(httpsConfig.getResponseHeaderSize());
@@ -165,8 +204,6 @@ public class JettyFactory {
                 httpsConfiguration.addCustomizer(new ForwardedRequestCustomizer());
             }
 
-            HttpConnectionFactory http = new HttpConnectionFactory(httpsConfiguration);
-
             SslContextFactory sslContextFactory = new SslContextFactory();
             sslContextFactory.setKeyStorePath(httpsConfig.getKeystorePath());
             sslContextFactory.setKeyStorePassword(httpsConfig.getKeystorePassword());
@@ -194,38 +231,119 @@ public class JettyFactory {
 
                 sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
                 sslContextFactory.setUseCipherSuitesOrder(true);
+            }
+
+            int connectorCount = getConnectorCount(httpsConfig, HTTPS_CONNECTOR_NAME);
+
+            for (int i = 0; i < connectorCount; i++) {
 
-                HTTP2ServerConnectionFactory h2 = new HTTP2ServerConnectionFactory(httpsConfiguration);
+                ServerConnector httpsConnector;
 
-                ALPNServerConnectionFactory alpn = new ALPNServerConnectionFactory();
-                alpn.setDefaultProtocol(HttpVersion.HTTP_1_1.toString());
+                HttpConnectionFactory http = new HttpConnectionFactory(httpsConfiguration);
 
-                SslConnectionFactory ssl = new SslConnectionFactory(sslContextFactory, alpn.getProtocol());
+                if (httpsConfig.getHttp2()) {
 
-                httpsConnector = new ServerConnector(server, ssl, alpn, h2, http);
-            } else {
+                    HTTP2ServerConnectionFactory h2 = new HTTP2ServerConnectionFactory(httpsConfiguration);
 
-                SslConnectionFactory ssl = new SslConnectionFactory(sslContextFactory, http.getProtocol());
+                    ALPNServerConnectionFactory alpn = new ALPNServerConnectionFactory();
+                    alpn.setDefaultProtocol(HttpVersion.HTTP_1_1.toString());
 
-                httpsConnector = new ServerConnector(server, ssl, http);
+                    SslConnectionFactory ssl = new SslConnectionFactory(sslContextFactory, alpn.getProtocol());
+
+                    httpsConnector = createConnector(server, httpsConfig, connectorCount, ssl, alpn, h2, http);
+                } else {
+
+                    SslConnectionFactory ssl = new SslConnectionFactory(sslContextFactory, http.getProtocol());
+
+                    httpsConnector = createConnector(server, httpsConfig, connectorCount, ssl, http);
+                }
+
+                httpsConnector.setName(HTTPS_CONNECTOR_NAME);
+                httpsConnector.setPort(httpsConfig.getPort() == null ? ServerConnectorConfig.DEFAULT_HTTPS_PORT : httpsConfig.getPort());
+
+                connectors.add(httpsConnector);
             }
+        }
 
-            httpsConnector.setPort(httpsConfig.getPort() == null ? ServerConnectorConfig.DEFAULT_HTTPS_PORT : httpsConfig.getPort());
-            httpsConnector.setHost(httpsConfig.getAddress());
+        if (unixSocketEnabled) {
 
-            httpsConnector.setIdleTimeout(httpsConfig.getIdleTimeout());
+            if (!isUnixSocketConnectorAvailable()) {
+                throw new IllegalStateException("Cannot create unix socket connector; add the " +
+                        "org.eclipse.jetty:jetty-unixsocket dependency.");
+            }
 
-            connectors.add(httpsConnector);
+            connectors.add(JettyUnixSocketConnectorFactory.create(server, unixSocketConfig,
+                    serverConfig.getShowServerInfo()));
         }
 
         String ports = connectors.stream()
+                .filter(connector -> connector instanceof ServerConnector)
+                .map(connector -> (ServerConnector) connector)
                 .map(connector ->
                         String.format("%d [%s]", connector.getPort(), String.join(", ", connector.getProtocols())))
                 .collect(Collectors.joining(", "));
 
-        log.info(String.format("Starting KumuluzEE on port(s): %s", ports));
+        if (!ports.isEmpty()) {
+            log.info(String.format("Starting KumuluzEE on port(s): %s", ports));
+        }
+
+        if (unixSocketEnabled) {
+            log.info(String.format("Starting KumuluzEE on unix socket: %s", unixSocketConfig.getPath()));
+        }
+
+        return connectors.toArray(new Connector[connectors.size()]);
+    }
+
+    private boolean isUnixSocketConnectorAvailable() {
+
+        try {
+            Class.forName("org.eclipse.jetty.unixsocket.UnixSocketConnector", false, getClass().getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private int getConnectorCount(ServerConnectorConfig connectorConfig, String connectorName) {
+
+        int connectorCount = (connectorConfig.getConnectors() == null) ?
+                1 : Math.max(1, connectorConfig.getConnectors());
+
+        if (connectorCount > 1 && !JettyServerConnector.getReusePortOption().isPresent()) {
+
+            log.warning("SO_REUSEPORT is not supported by the JVM or the platform, starting a single " + connectorName +
+                    " connector instead of " + connectorCount + ".");
+
+            return 1;
+        }
+
+        return connectorCount;
+    }
+
+    private ServerConnector createConnector(Server server, ServerConnectorConfig connectorConfig, int connectorCount,
+                                            ConnectionFactory... factories) {
+
+        JettyServerConnector connector = new JettyServerConnector(server,
+                connectorConfig.getAcceptors() == null ? -1 : connectorConfig.getAcceptors(),
+                connectorConfig.getSelectors() == null ? -1 : connectorConfig.getSelectors(),
+                factories);
+
+        connector.setHost(connectorConfig.getAddress());
+        connector.setIdleTimeout(connectorConfig.getIdleTimeout());
+
+        if (connectorConfig.getAcceptQueueSize() != null) {
+            connector.setAcceptQueueSize(connectorConfig.getAcceptQueueSize());
+        }
+
+        // connectors sharing a port have to be bound with SO_REUSEPORT
+        connector.setReusePort(connectorCount > 1 || Boolean.TRUE.equals(connectorConfig.getReusePort()));
+        connector.setAcceptedTcpNoDelay(!Boolean.FALSE.equals(connectorConfig.getTcpNoDelay()));
+
+        if (connectorConfig.getSoLingerTime() != null) {
+            connector.setAcceptedSoLingerSeconds(connectorConfig.getSoLingerTime());
+        }
 
-        return connectors.toArray(new ServerConnector[connectors.size()]);
+        return connector;
     }
 
     private Configuration.ClassList createClassList() {
@@ -0,0 +1,248 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.jetty;
+
+import com.kumuluz.ee.configuration.ConfigurationListener;
+import com.kumuluz.ee.configuration.utils.ConfigurationUtil;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Applies changes of the thread pool bounds and of the connector idle timeouts to a running Jetty server. Changes are
+ * received from the configuration sources (e.g. a watched configuration file or a config extension), logged and
+ * recorded, see {@link #getAppliedChanges()}. Settings which are only used when a connector is opened, such as the
+ * accept queue size, are not applied at runtime.
+ *
+ * @since 3.10.0
+ */
+public class JettyRuntimeConfigurator {
+
+    private static final String SERVER_PREFIX = "kumuluzee.server.";
+    private static final int MAX_RECORDED_CHANGES = 100;
+
+    private static final Logger log = Logger.getLogger(JettyRuntimeConfigurator.class.getSimpleName());
+
+    private final Server server;
+    private final Deque<Change> appliedChanges = new ArrayDeque<>();
+
+    public JettyRuntimeConfigurator(Server server) {
+        this.server = server;
+    }
+
+    /**
+     * Subscribes to changes of the supported configuration keys.
+     */
+    public void subscribe() {
+
+        ConfigurationUtil configurationUtil = ConfigurationUtil.getInstance();
+        ConfigurationListener listener = this::onChange;
+
+        configurationUtil.subscribeKey(SERVER_PREFIX + "min-threads", listener);
+        configurationUtil.subscribeKey(SERVER_PREFIX + "max-threads", listener);
+
+        for (String connectorName : new String[]{JettyFactory.HTTP_CONNECTOR_NAME, JettyFactory.HTTPS_CONNECTOR_NAME}) {
+            configurationUtil.subscribeKey(SERVER_PREFIX + connectorName + ".idle-timeout", listener);
+        }
+    }
+
+    /**
+     * @return recently applied changes, oldest first
+     */
+    public synchronized List<Change> getAppliedChanges() {
+        return new ArrayList<>(appliedChanges);
+    }
+
+    private synchronized void onChange(String key, String value) {
+
+        if (value == null) {
+            log.info("Configuration key " + key + " was removed, keeping the current value.");
+            return;
+        }
+
+        int intValue;
+
+        try {
+            intValue = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warning("Ignoring the new value of " + key + ", '" + value + "' is not a number.");
+            return;
+        }
+
+        String setting = key.substring(SERVER_PREFIX.length());
+
+        if (setting.equals("min-threads") || setting.equals("max-threads")) {
+            updateThreadPool(key);
+        } else {
+
+            int separator = setting.indexOf('.');
+
+            updateConnector(key, setting.substring(0, separator), setting.substring(separator + 1), intValue);
+        }
+    }
+
+    private void updateThreadPool(String key) {
+
+        ThreadPool threadPool = server.getThreadPool();
+
+        if (threadPool instanceof JettyVirtualThreadPool) {
+            threadPool = ((JettyVirtualThreadPool) threadPool).getPlatformThreadPool();
+        }
+
+        if (!(threadPool instanceof QueuedThreadPool)) {
+            log.warning("Ignoring the new value of " + key + ", the thread pool can not be resized.");
+            return;
+        }
+
+        QueuedThreadPool queuedThreadPool = (QueuedThreadPool) threadPool;
+
+        int minThreads = queuedThreadPool.getMinThreads();
+        int maxThreads = queuedThreadPool.getMaxThreads();
+
+        // both bounds are read, so that a change of one bound is validated against the configured value of the other
+        ConfigurationUtil configurationUtil = ConfigurationUtil.getInstance();
+        int newMinThreads = configurationUtil.getInteger(SERVER_PREFIX + "min-threads").orElse(minThreads);
+        int newMaxThreads = configurationUtil.getInteger(SERVER_PREFIX + "max-threads").orElse(maxThreads);
+
+        if (newMinThreads <= 0 || newMaxThreads < newMinThreads) {
+            log.warning("Ignoring the new value of " + key + ", the configured thread pool bounds (" + newMinThreads +
+                    " minimum and " + newMaxThreads + " maximum threads) are not valid.");
+            return;
+        }
+
+        // the pool clamps the other bound if the minimum would exceed the maximum, so the maximum is raised first
+        // and lowered last
+        if (newMaxThreads >= maxThreads) {
+            queuedThreadPool.setMaxThreads(newMaxThreads);
+            queuedThreadPool.setMinThreads(newMinThreads);
+        } else {
+            queuedThreadPool.setMinThreads(newMinThreads);
+            queuedThreadPool.setMaxThreads(newMaxThreads);
+        }
+
+        if (newMinThreads != minThreads) {
+            record(SERVER_PREFIX + "min-threads", minThreads, newMinThreads);
+        }
+
+        if (newMaxThreads != maxThreads) {
+            record(SERVER_PREFIX + "max-threads", maxThreads, newMaxThreads);
+        }
+    }
+
+    private void updateConnector(String key, String connectorName, String setting, int value) {
+
+        List<ServerConnector> connectors = new ArrayList<>();
+
+        // multiple connectors with the same name share a port
+        for (Connector serverConnector : server.getConnectors()) {
+
+            if (serverConnector instanceof ServerConnector && connectorName.equals(serverConnector.getName())) {
+                connectors.add((ServerConnector) serverConnector);
+            }
+        }
+
+        if (connectors.isEmpty()) {
+            log.warning("Ignoring the new value of " + key + ", the " + connectorName + " connector is not enabled.");
+            return;
+        }
+
+        if (value < 0) {
+            log.warning("Ignoring the new value of " + key + ", " + value + " is negative.");
+            return;
+        }
+
+        for (ServerConnector connector : connectors) {
+            updateConnector(key, connector, setting, value);
+        }
+    }
+
+    private void updateConnector(String key, ServerConnector connector, String setting, int value) {
+
+        if (setting.equals("idle-timeout")) {
+
+            // applies to connections accepted after the change
+            long idleTimeout = connector.getIdleTimeout();
+            connector.setIdleTimeout(value);
+            record(key, idleTimeout, value);
+        }
+    }
+
+    private void record(String key, long oldValue, long newValue) {
+
+        log.info("Applied configuration change of " + key + " from " + oldValue + " to " + newValue + ".");
+
+        if (appliedChanges.size() == MAX_RECORDED_CHANGES) {
+            appliedChanges.removeFirst();
+        }
+
+        appliedChanges.addLast(new Change(key, oldValue, newValue, System.currentTimeMillis()));
+    }
+
+    /**
+     * Configuration change applied to the running server.
+     */
+    public static final class Change {
+
+        private final String key;
+        private final long oldValue;
+        private final long newValue;
+        private final long timestamp;
+
+        private Change(String key, long oldValue, long newValue, long timestamp) {
+            this.key = key;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+            this.timestamp = timestamp;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getOldValue() {
+            return oldValue;
+        }
+
+        public long getNewValue() {
+            return newValue;
+        }
+
+        /**
+         * @return time the change was applied, in milliseconds since the epoch
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public String toString() {
+            return key + ": " + oldValue + " -> " + newValue;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.jetty;
+
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+
+import java.io.IOException;
+import java.net.BindException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Server connector which can bind its socket with <tt>SO_REUSEPORT</tt>, so multiple connectors can accept
+ * connections on the same port and the kernel spreads the accepted connections among them, and which sets
+ * <tt>SO_LINGER</tt> on accepted connections.
+ *
+ * @since 3.10.0
+ */
+public class JettyServerConnector extends ServerConnector {
+
+    private static final Logger log = Logger.getLogger(JettyServerConnector.class.getSimpleName());
+
+    private boolean reusePort;
+    private int acceptedSoLingerSeconds = -1;
+
+    public JettyServerConnector(Server server, int acceptors, int selectors, ConnectionFactory... factories) {
+        super(server, acceptors, selectors, factories);
+    }
+
+    /**
+     * @return <tt>SO_REUSEPORT</tt> option or empty, if the JDK or the platform does not support it
+     */
+    public static Optional<SocketOption<Boolean>> getReusePortOption() {
+        return ReusePortOptionHolder.REUSE_PORT_OPTION;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<SocketOption<Boolean>> detectReusePortOption() {
+
+        SocketOption<Boolean> reusePortOption;
+
+        try {
+            // available since Java 9
+            reusePortOption = (SocketOption<Boolean>) StandardSocketOptions.class.getField("SO_REUSEPORT").get(null);
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+
+        try (ServerSocketChannel channel = ServerSocketChannel.open()) {
+            return channel.supportedOptions().contains(reusePortOption) ?
+                    Optional.of(reusePortOption) : Optional.empty();
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    public boolean isReusePort() {
+        return reusePort;
+    }
+
+    public void setReusePort(boolean reusePort) {
+        this.reusePort = reusePort;
+    }
+
+    /**
+     * Not to be confused with the deprecated {@link ServerConnector#getSoLingerTime()}, which is measured in
+     * milliseconds.
+     *
+     * @return <tt>SO_LINGER</tt> of accepted connections in seconds or -1, if linger is disabled
+     */
+    public int getAcceptedSoLingerSeconds() {
+        return acceptedSoLingerSeconds;
+    }
+
+    public void setAcceptedSoLingerSeconds(int acceptedSoLingerSeconds) {
+        this.acceptedSoLingerSeconds = acceptedSoLingerSeconds;
+    }
+
+    @Override
+    protected ServerSocketChannel openAcceptChannel() throws IOException {
+
+        if (!reusePort) {
+            return super.openAcceptChannel();
+        }
+
+        SocketOption<Boolean> reusePortOption = getReusePortOption()
+                .orElseThrow(() -> new IOException("SO_REUSEPORT is not supported on this platform"));
+
+        InetSocketAddress bindAddress = (getHost() == null) ?
+                new InetSocketAddress(getPort()) : new InetSocketAddress(getHost(), getPort());
+
+        ServerSocketChannel serverChannel = ServerSocketChannel.open();
+
+        try {
+            serverChannel.setOption(reusePortOption, true);
+            serverChannel.socket().setReuseAddress(getReuseAddress());
+            serverChannel.socket().bind(bindAddress, getAcceptQueueSize());
+        } catch (IOException e) {
+
+            serverChannel.close();
+
+            if (e instanceof BindException) {
+                throw new IOException("Failed to bind to " + bindAddress, e);
+            }
+
+            throw e;
+        }
+
+        return serverChannel;
+    }
+
+    @Override
+    protected void configure(Socket socket) {
+
+        super.configure(socket);
+
+        if (acceptedSoLingerSeconds >= 0) {
+            try {
+                socket.setSoLinger(true, acceptedSoLingerSeconds);
+            } catch (SocketException e) {
+                log.log(Level.FINE, "Unable to set SO_LINGER on the accepted connection", e);
+            }
+        }
+    }
+
+    /**
+     * Detects the support of <tt>SO_REUSEPORT</tt> once, since it requires opening a channel.
+     */
+    private static final class ReusePortOptionHolder {
+
+        private static final Optional<SocketOption<Boolean>> REUSE_PORT_OPTION = detectReusePortOption();
+    }
+}
@@ -22,6 +22,7 @@ package com.kumuluz.ee.jetty;
 
 import com.kumuluz.ee.common.ServletServer;
 import com.kumuluz.ee.common.attributes.ClasspathAttributes;
+import com.kumuluz.ee.common.config.AdmissionConfig;
 import com.kumuluz.ee.common.config.EeConfig;
 import com.kumuluz.ee.common.config.GzipConfig;
 import com.kumuluz.ee.common.config.ServerConfig;
@@ -53,6 +54,9 @@ import java.util.logging.Logger;
 import java.util.regex.Pattern;
 
 /**
+ * Registrations of servlets, filters, listeners and resources are synchronized, since components may register them
+ * concurrently when they are initialized in parallel.
+ *
  * @author Tilen Faganel
  * @since 1.0.0
  */
@@ -67,10 +71,25 @@ public class JettyServletServer implements ServletServer {
 
     private ServerConfig serverConfig;
 
+    private JettyRuntimeConfigurator runtimeConfigurator;
+
+    private JettyAdmissionControlHandler admissionControlHandler;
+
     @Override
     public void initServer() {
 
         server = createJettyFactory().create();
+
+        runtimeConfigurator = new JettyRuntimeConfigurator(server);
+        runtimeConfigurator.subscribe();
+    }
+
+    /**
+     * @return configurator which applies configuration changes to the running server
+     */
+    public JettyRuntimeConfigurator getRuntimeConfigurator() {
+
+        return runtimeConfigurator;
     }
 
     @Override
@@ -185,8 +204,12 @@ public class JettyServletServer implements ServletServer {
         log.info("Starting KumuluzEE with context root '" + serverConfig.getContextPath() + "'");
 
         GzipConfig gzipConfig = serverConfig.getGzip();
+        AdmissionConfig admissionConfig = serverConfig.getAdmission();
+
+        boolean gzipEnabled = gzipConfig != null && gzipConfig.getEnabled();
+        boolean admissionEnabled = admissionConfig != null && admissionConfig.getEnabled();
 
-        if (serverConfig.getForceHttps() || (gzipConfig != null && gzipConfig.getEnabled())) {
+        if (serverConfig.getForceHttps() || gzipEnabled || admissionEnabled) {
 
             final ArrayList<Handler> handlers = new ArrayList<>();
 
@@ -195,8 +218,10 @@ public class JettyServletServer implements ServletServer {
                 handlers.add(new SecuredRedirectHandler());
             }
 
+            Handler appHandler = appContext;
+
             // Set the gzip handler in case the use gzip option is selected
-            if(gzipConfig != null && gzipConfig.getEnabled()) {
+            if(gzipEnabled) {
                 GzipHandler gzipHandler = new GzipHandler();
 
                 if(gzipConfig.getMinGzipSize() != null)
@@ -214,12 +239,35 @@ public class JettyServletServer implements ServletServer {
                 if(gzipConfig.getIncludedPaths() != null)
                     gzipHandler.setIncludedPaths(gzipConfig.getIncludedPaths().toArray(new String[0]));
 
-                gzipHandler.setHandler(appContext);
-                handlers.add(gzipHandler);
-            } else {
-                handlers.add(appContext);
+                gzipHandler.setHandler(appHandler);
+                appHandler = gzipHandler;
+            }
+
+            // Set the admission control handler in front of the application, so rejected requests are cheap
+            if (admissionEnabled) {
+
+                // the maximum number of threads does not bound the virtual threads handling requests
+                int defaultMaxConcurrentRequests = (server.getThreadPool() instanceof JettyVirtualThreadPool) ?
+                        Integer.MAX_VALUE : serverConfig.getMaxThreads();
+
+                admissionControlHandler = new JettyAdmissionControlHandler(admissionConfig,
+                        defaultMaxConcurrentRequests);
+
+                admissionControlHandler.setHandler(appHandler);
+                appHandler = admissionControlHandler;
+
+                if (admissionControlHandler.getMaxConcurrentRequests() == Integer.MAX_VALUE) {
+                    log.info("Admission control enabled without a limit of concurrent requests, set " +
+                            "kumuluzee.server.admission.max-concurrent-requests to limit them");
+                } else {
+                    log.info("Admission control enabled with at most " +
+                            admissionControlHandler.getMaxConcurrentRequests() + " concurrent and " +
+                            admissionControlHandler.getMaxQueueSize() + " queued requests");
+                }
             }
 
+            handlers.add(appHandler);
+
             HandlerList handlerList = new HandlerList();
             handlerList.setHandlers(handlers.toArray(new Handler[0]));
 
@@ -230,6 +278,14 @@ public class JettyServletServer implements ServletServer {
         }
     }
 
+    /**
+     * @return admission control handler or empty, if admission control is not enabled
+     */
+    public Optional<JettyAdmissionControlHandler> getAdmissionControlHandler() {
+
+        return Optional.ofNullable(admissionControlHandler);
+    }
+
     @Override
     public ServerConfig getServerConfig() {
 
@@ -256,8 +312,8 @@ public class JettyServletServer implements ServletServer {
     }
 
     @Override
-    public void registerServlet(Class<? extends Servlet> servletClass, String mapping, Map<String, String>
-            parameters, int initOrder) {
+    public synchronized void registerServlet(Class<? extends Servlet> servletClass, String mapping,
+                                             Map<String, String> parameters, int initOrder) {
 
         if (server == null)
             throw new IllegalStateException("Jetty has to be initialized before adding a servlet ");
@@ -279,7 +335,7 @@ public class JettyServletServer implements ServletServer {
     }
 
     @Override
-    public void registerListener(EventListener listener) {
+    public synchronized void registerListener(EventListener listener) {
 
         if (server == null)
             throw new IllegalStateException("Jetty has to be initialized before adding a listener");
@@ -309,8 +365,8 @@ public class JettyServletServer implements ServletServer {
     }
 
     @Override
-    public void registerFilter(Class<? extends Filter> filterClass, String pathSpec, EnumSet<DispatcherType> dispatches, Map<String,
-            String> parameters) {
+    public synchronized void registerFilter(Class<? extends Filter> filterClass, String pathSpec,
+                                            EnumSet<DispatcherType> dispatches, Map<String, String> parameters) {
 
         if (server == null)
             throw new IllegalStateException("Jetty has to be initialized before adding a servlet ");
@@ -329,7 +385,7 @@ public class JettyServletServer implements ServletServer {
     }
 
     @Override
-    public void registerDataSource(DataSource ds, String jndiName) {
+    public synchronized void registerDataSource(DataSource ds, String jndiName) {
 
         try {
             Resource resource = new Resource(jndiName, ds);
@@ -341,7 +397,7 @@ public class JettyServletServer implements ServletServer {
     }
 
     @Override
-    public List<ServletWrapper> getRegisteredServlets() {
+    public synchronized List<ServletWrapper> getRegisteredServlets() {
 
         List<ServletWrapper> servlets = new ArrayList<>();
 
@@ -352,7 +408,7 @@ public class JettyServletServer implements ServletServer {
     }
 
     @Override
-    public void registerResource(Object o, String jndiName) {
+    public synchronized void registerResource(Object o, String jndiName) {
 
         try {
             Resource resource = new Resource(jndiName, o);
@@ -364,7 +420,7 @@ public class JettyServletServer implements ServletServer {
     }
 
     @Override
-    public void registerTransactionManager(UserTransaction userTransaction) {
+    public synchronized void registerTransactionManager(UserTransaction userTransaction) {
         try {
             new Transaction(userTransaction);
         } catch (NamingException e) {
@@ -0,0 +1,129 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.jetty;
+
+import com.kumuluz.ee.common.config.ServerConnectorConfig;
+import com.kumuluz.ee.common.utils.StringUtils;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.*;
+import jnr.unixsocket.UnixSocketAddress;
+import jnr.unixsocket.UnixSocketChannel;
+import org.eclipse.jetty.unixsocket.UnixSocketConnector;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Creates the connector listening on a unix domain socket. The connector is provided by the optional
+ * <tt>jetty-unixsocket</tt> dependency, so this class may only be loaded if the dependency is present.
+ *
+ * @since 3.10.0
+ */
+final class JettyUnixSocketConnectorFactory {
+
+    static final String UNIX_SOCKET_CONNECTOR_NAME = "unix-socket";
+
+    private static final Logger log = Logger.getLogger(JettyUnixSocketConnectorFactory.class.getSimpleName());
+
+    private JettyUnixSocketConnectorFactory() {
+    }
+
+    static Connector create(Server server, ServerConnectorConfig unixSocketConfig, boolean showServerInfo) {
+
+        if (StringUtils.isNullOrEmpty(unixSocketConfig.getPath())) {
+            throw new IllegalStateException("Cannot create unix socket connector; socket path not specified.");
+        }
+
+        HttpConfiguration httpConfiguration = new HttpConfiguration();
+        httpConfiguration.setRequestHeaderSize(unixSocketConfig.getRequestHeaderSize());
+        httpConfiguration.setResponseHeaderSize(unixSocketConfig.getResponseHeaderSize());
+        httpConfiguration.setSendServerVersion(showServerInfo);
+
+        if (Boolean.TRUE.equals(unixSocketConfig.getProxyForwarding())) {
+            httpConfiguration.addCustomizer(new ForwardedRequestCustomizer());
+        }
+
+        HttpConnectionFactory http = new HttpConnectionFactory(httpConfiguration);
+
+        int selectors = unixSocketConfig.getSelectors() == null ? -1 : unixSocketConfig.getSelectors();
+
+        UnixSocketConnector connector;
+
+        if (unixSocketConfig.getHttp2()) {
+            connector = new UnixSocketConnector(server, selectors, http,
+                    new HTTP2CServerConnectionFactory(httpConfiguration));
+        } else {
+            connector = new UnixSocketConnector(server, selectors, http);
+        }
+
+        connector.setName(UNIX_SOCKET_CONNECTOR_NAME);
+        connector.setUnixSocket(unixSocketConfig.getPath());
+        connector.setIdleTimeout(unixSocketConfig.getIdleTimeout());
+
+        if (unixSocketConfig.getAcceptQueueSize() != null) {
+            connector.setAcceptQueueSize(unixSocketConfig.getAcceptQueueSize());
+        }
+
+        removeStaleSocket(Paths.get(unixSocketConfig.getPath()));
+
+        return connector;
+    }
+
+    /**
+     * Removes the socket file left behind by a previous process, which would prevent binding to the path. The file
+     * is only removed if nothing accepts connections on it, so a socket of a running process is never unlinked.
+     */
+    private static void removeStaleSocket(Path socketPath) {
+
+        if (!Files.exists(socketPath) || Files.isRegularFile(socketPath) || Files.isDirectory(socketPath)) {
+            return;
+        }
+
+        if (!isConnectionRefused(socketPath)) {
+            log.warning("The unix socket " + socketPath + " is in use or could not be checked and will not be " +
+                    "removed.");
+            return;
+        }
+
+        try {
+            Files.delete(socketPath);
+            log.info("Removed the stale unix socket " + socketPath + ".");
+        } catch (IOException e) {
+            log.warning("Unable to remove the stale unix socket " + socketPath + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean isConnectionRefused(Path socketPath) {
+
+        try (UnixSocketChannel ignored = UnixSocketChannel.open(new UnixSocketAddress(socketPath.toFile()))) {
+            return false;
+        } catch (IOException e) {
+            String message = e.getMessage();
+
+            return message != null && (message.contains("ECONNREFUSED") ||
+                    message.toLowerCase(Locale.ROOT).contains("connection refused"));
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ *  Copyright (c) 2014-2019 Kumuluz and/or its affiliates
+ *  and other contributors as indicated by the @author tags and
+ *  the contributor list.
+ *
+ *  Licensed under the MIT License (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  https://opensource.org/licenses/MIT
+ *
+ *  The software is provided "AS IS", WITHOUT WARRANTY OF ANY KIND, express or
+ *  implied, including but not limited to the warranties of merchantability,
+ *  fitness for a particular purpose and noninfringement. in no event shall the
+ *  authors or copyright holders be liable for any claim, damages or other
+ *  liability, whether in an action of contract, tort or otherwise, arising from,
+ *  out of or in connection with the software or the use or other dealings in the
+ *  software. See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.kumuluz.ee.jetty;
+
+import org.eclipse.jetty.util.component.ContainerLifeCycle;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Jetty thread pool which runs tasks on virtual threads once the server is started. Tasks executed while the server
+ * is starting, which include the long running acceptors and selectors of the connectors, are run on a small pool of
+ * platform threads, bounded by the configured minimum and maximum threads.
+ * <p>
+ * The executor of the virtual threads is created on every start of the pool and shut down when the pool is stopped, so
+ * the pool can be restarted. Virtual threads are only available on JDK 21 and later, see
+ * {@link #createVirtualThreadExecutor()}.
+ *
+ * @since 3.10.0
+ */
+public class JettyVirtualThreadPool extends ContainerLifeCycle implements ThreadPool {
+
+    private final QueuedThreadPool platformThreadPool;
+    private final Supplier<ExecutorService> virtualThreadExecutorFactory;
+
+    private final AtomicInteger virtualThreads = new AtomicInteger();
+
+    private volatile ExecutorService virtualThreadExecutor;
+    private volatile boolean serverStarted;
+
+    /**
+     * @param platformThreadPool           pool of the platform threads used while the server is starting
+     * @param virtualThreadExecutorFactory creates the executor of the virtual threads on every start of the pool
+     */
+    public JettyVirtualThreadPool(QueuedThreadPool platformThreadPool,
+                                  Supplier<ExecutorService> virtualThreadExecutorFactory) {
+
+        this.platformThreadPool = platformThreadPool;
+        this.virtualThreadExecutorFactory = virtualThreadExecutorFactory;
+
+        addBean(platformThreadPool);
+    }
+
+    /**
+     * @return true if the JDK supports virtual threads
+     */
+    public static boolean isSupported() {
+
+        try {
+            Thread.class.getMethod("ofVirtual");
+            Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return executor which starts a new virtual thread for every task or empty, if the JDK does not support virtual
+     * threads
+     */
+    public static Optional<ExecutorService> createVirtualThreadExecutor() {
+
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class)
+                    .invoke(builder, "kumuluzee-virtual-", 0L);
+
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor",
+                    ThreadFactory.class);
+
+            return Optional.of((ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Marks the end of the server start, after which all tasks are run on virtual threads.
+     */
+    public void serverStarted() {
+        serverStarted = true;
+    }
+
+    public QueuedThreadPool getPlatformThreadPool() {
+        return platformThreadPool;
+    }
+
+    /**
+     * @return number of virtual threads currently running tasks
+     */
+    public int getVirtualThreads() {
+        return virtualThreads.get();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+
+        ExecutorService executor = virtualThreadExecutor;
+
+        if (!serverStarted || executor == null) {
+            platformThreadPool.execute(task);
+            return;
+        }
+
+        executor.execute(() -> {
+
+            virtualThreads.incrementAndGet();
+
+            try {
+                task.run();
+            } finally {
+                virtualThreads.decrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public void join() throws InterruptedException {
+
+        platformThreadPool.join();
+
+        ExecutorService executor = virtualThreadExecutor;
+
+        while (executor != null && !executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            // wait for the running tasks
+        }
+    }
+
+    /**
+     * @return number of platform threads, virtual threads are reported by {@link #getVirtualThreads()}
+     */
+    @Override
+    public int getThreads() {
+        return platformThreadPool.getThreads();
+    }
+
+    /**
+     * @return number of idle platform threads, virtual threads only exist while they run a task and are never idle
+     */
+    @Override
+    public int getIdleThreads() {
+        return platformThreadPool.getIdleThreads();
+    }
+
+    /**
+     * @return false, virtual threads are created for every task
+     */
+    @Override
+    public boolean isLowOnThreads() {
+        return false;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+
+        virtualThreadExecutor = virtualThreadExecutorFactory.get();
+
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+
+        serverStarted = false;
+
+        super.doStop();
+
+        ExecutorService executor = virtualThreadExecutor;
+
+        if (executor != null) {
+
+            executor.shutdown();
+
+            if (!executor.awaitTermination(getStopTimeout(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        }
+    }
+}